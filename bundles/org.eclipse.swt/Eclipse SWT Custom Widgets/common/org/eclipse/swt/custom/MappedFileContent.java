@@ -0,0 +1,595 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.custom;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+import java.util.*;
+import java.util.List;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.widgets.*;
+
+/**
+ * A read-only <code>StyledTextContent</code> showing a UTF-8 encoded file
+ * that may be larger than the heap.
+ * <p>
+ * The file is memory-mapped and never read into the heap as a whole.  A
+ * background thread indexes the lines of the file and the content grows as
+ * the index is published on the user-interface thread of the display, so
+ * the first lines can be shown right away.  Each publication is reported to
+ * the <code>TextChangeListener</code>s as text inserted at the end of the
+ * content, with a <code>null</code> <code>newText</code>.
+ * </p><p>
+ * Lines are decoded when they are asked for, and only a bounded number of
+ * decoded characters is kept.  Text ranges within very long lines are
+ * decoded without decoding the whole line.  The line index costs four bytes
+ * per line.  Since
+ * offsets are <code>int</code> values, only the lines within the first
+ * <code>Integer.MAX_VALUE</code> characters of the file are shown.
+ * </p><p>
+ * The content cannot be modified, <code>setText</code> and
+ * <code>replaceTextRange</code> fail.  It should be shown in a
+ * <code>StyledText</code> created with the <code>SWT.READ_ONLY</code> style.
+ * Call <code>dispose()</code> to stop the indexing and release the file.
+ * </p>
+ *
+ * @see StyledText#setContent(StyledTextContent)
+ * @since 3.126
+ */
+public class MappedFileContent implements StyledTextContent {
+	private final static String LineDelimiter = System.lineSeparator();
+	static final int REGION_SHIFT = 30;	// map the file in regions of 1 GB
+	static final int REGION_MASK = (1 << REGION_SHIFT) - 1;
+	static final int CHECKPOINT_SHIFT = 6;	// remember the byte offset of every 64th line
+	static final int CACHE_SIZE = 1 << 22;	// the number of decoded characters to keep
+	static final int LONG_LINE = 1 << 16;	// lines with more characters are not kept
+	static final int LINE_COST = 32;	// the size of a kept line in characters, in addition to its length
+	static final int DECODE_WINDOW = 1 << 14;	// the number of bytes decoded at once in long lines
+	static final int FIRST_BATCH_SIZE = 1024;	// the number of lines to publish first
+	static final long BATCH_INTERVAL = 100_000_000;	// the time between two publications in nanoseconds
+
+	final Display display;
+	FileChannel channel;
+	MappedByteBuffer[] regions;
+	long fileSize;
+	volatile boolean disposed;
+	List<StyledTextListener> textListeners = new ArrayList<>(); // stores text listeners for event sending
+
+	// the published index, only accessed on the user-interface thread
+	int[] lineStarts = new int[64];	// the character offset of each line
+	int lineCount = 1;
+	long[] checkpoints = new long[16];	// the byte offset of every 64th line
+	int checkpointCount = 1;
+	int charCount;
+	long byteCount;
+	Map<Integer, String> lines = new LinkedHashMap<>(16, 0.75f, true);	// the decoded lines, least recently used first
+	int cachedChars;	// the size of the decoded lines, see LINE_COST
+
+	/**
+	 * Lines indexed by the background thread and not yet published.
+	 */
+	static final class Batch {
+		int[] lineStarts = new int[256];
+		int lineCount;
+		long[] checkpoints = new long[16];
+		int checkpointCount;
+		int charCount;
+		long byteCount;
+
+		void addLine(int charOffset) {
+			if (lineCount == lineStarts.length) {
+				lineStarts = Arrays.copyOf(lineStarts, lineCount * 2);
+			}
+			lineStarts[lineCount++] = charOffset;
+		}
+
+		void addCheckpoint(long byteOffset) {
+			if (checkpointCount == checkpoints.length) {
+				checkpoints = Arrays.copyOf(checkpoints, checkpointCount * 2);
+			}
+			checkpoints[checkpointCount++] = byteOffset;
+		}
+	}
+
+/**
+ * Maps the given file and starts indexing its lines.
+ *
+ * @param display the display used to publish the line index
+ * @param fileName the name of the UTF-8 encoded file
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the display or the file name is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_DEVICE_DISPOSED - if the display has been disposed</li>
+ *    <li>ERROR_IO - if an IO error occurs while opening the file</li>
+ * </ul>
+ */
+public MappedFileContent(Display display, String fileName) {
+	if (display == null || fileName == null) error(SWT.ERROR_NULL_ARGUMENT);
+	if (display.isDisposed()) error(SWT.ERROR_DEVICE_DISPOSED);
+	this.display = display;
+	try {
+		channel = FileChannel.open(new File(fileName).toPath());
+		fileSize = channel.size();
+		regions = new MappedByteBuffer[(int) ((fileSize + REGION_MASK) >>> REGION_SHIFT)];
+		for (int i = 0; i < regions.length; i++) {
+			long start = (long) i << REGION_SHIFT;
+			regions[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(fileSize - start, 1L << REGION_SHIFT));
+		}
+	} catch (IOException e) {
+		SWT.error(SWT.ERROR_IO, e);
+	}
+	Thread thread = new Thread(this::indexLines, "SWT MappedFileContent indexer"); //$NON-NLS-1$
+	thread.setDaemon(true);
+	thread.start();
+}
+/**
+ * Adds a <code>TextChangeListener</code> listening for
+ * <code>TextChangingEvent</code> and <code>TextChangedEvent</code>. A
+ * <code>TextChangingEvent</code> is sent before changes to the text occur.
+ * A <code>TextChangedEvent</code> is sent after changes to the text
+ * occurred.
+ *
+ * @param listener the listener
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT when listener is null</li>
+ * </ul>
+ */
+@Override
+public void addTextChangeListener(TextChangeListener listener) {
+	if (listener == null) error(SWT.ERROR_NULL_ARGUMENT);
+	StyledTextListener typedListener = new StyledTextListener(listener);
+	textListeners.add(typedListener);
+}
+byte byteAt(long offset) {
+	return regions[(int) (offset >>> REGION_SHIFT)].get((int) (offset & REGION_MASK));
+}
+/**
+ * Copies <code>length</code> bytes of the file from the given byte offset.
+ */
+void read(long start, byte[] bytes, int index, int length) {
+	long end = start + length;
+	while (start < end) {
+		MappedByteBuffer region = regions[(int) (start >>> REGION_SHIFT)];
+		int offset = (int) (start & REGION_MASK);
+		int count = (int) Math.min(end - start, region.limit() - offset);
+		region.get(offset, bytes, index, count);
+		index += count;
+		start += count;
+	}
+}
+/**
+ * Adds the line to the decoded lines, removing the least recently used
+ * lines when they take more than <code>CACHE_SIZE</code> characters.
+ */
+void cacheLine(int index, String line) {
+	if (line.length() > LONG_LINE) return;
+	lines.put(index, line);
+	cachedChars += line.length() + LINE_COST;
+	Iterator<String> iterator = lines.values().iterator();
+	while (cachedChars > CACHE_SIZE) {
+		cachedChars -= iterator.next().length() + LINE_COST;
+		iterator.remove();
+	}
+}
+/**
+ * Returns the characters of the given byte range.
+ */
+String decode(long start, long end) {
+	byte[] bytes = new byte[(int) (end - start)];
+	read(start, bytes, 0, bytes.length);
+	return new String(bytes, StandardCharsets.UTF_8);
+}
+/**
+ * Decodes the given byte range in windows of <code>DECODE_WINDOW</code>
+ * bytes and appends the characters <code>from</code> to <code>to</code> to
+ * the buffer, if any.  Answers the number of characters decoded, which is
+ * at least <code>to</code> unless the range has fewer characters.
+ */
+long decode(long start, long end, long from, long to, StringBuilder buffer) {
+	CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+		.onMalformedInput(CodingErrorAction.REPLACE)
+		.onUnmappableCharacter(CodingErrorAction.REPLACE);
+	ByteBuffer in = ByteBuffer.allocate(DECODE_WINDOW);
+	CharBuffer out = CharBuffer.allocate(DECODE_WINDOW);
+	long count = 0;
+	boolean endOfInput = false;
+	while (!endOfInput && count < to) {
+		int length = (int) Math.min(end - start, in.remaining());
+		read(start, in.array(), in.position(), length);
+		in.position(in.position() + length);
+		start += length;
+		endOfInput = start == end;
+		in.flip();
+		decoder.decode(in, out, endOfInput);
+		if (endOfInput) decoder.flush(out);
+		in.compact();
+		out.flip();
+		int decoded = out.remaining();
+		if (buffer != null && count + decoded > from) {
+			buffer.append(out, (int) Math.max(from - count, 0), (int) Math.min(to - count, decoded));
+		}
+		count += decoded;
+		out.clear();
+	}
+	return count;
+}
+/**
+ * Stops indexing and closes the file.  The content must not be
+ * used afterwards.
+ */
+public void dispose() {
+	if (disposed) return;
+	disposed = true;
+	try {
+		channel.close();
+	} catch (IOException e) {
+	}
+	lines.clear();
+	cachedChars = 0;
+}
+/**
+ * Reports an SWT error.
+ *
+ * @param code the error code
+ */
+void error (int code) {
+	SWT.error(code);
+}
+/**
+ * @return the number of characters indexed so far
+ */
+@Override
+public int getCharCount() {
+	return charCount;
+}
+/**
+ * Returns the line at the given index, including its delimiter.
+ */
+String getFullLine(int index) {
+	String line = lines.get(index);
+	if (line == null) {
+		long start = getLineByteOffset(index);
+		line = decode(start, getLineByteEnd(index, start));
+		cacheLine(index, line);
+	}
+	return line;
+}
+/**
+ * Returns the byte offset of the line at the given index.
+ */
+long getLineByteOffset(int index) {
+	return skipLines(checkpoints[index >>> CHECKPOINT_SHIFT], index & ((1 << CHECKPOINT_SHIFT) - 1));
+}
+/**
+ * Returns the byte offset following the line at the given index and
+ * byte offset, including its delimiter.
+ */
+long getLineByteEnd(int index, long start) {
+	return index + 1 < lineCount ? skipLines(start, 1) : byteCount;
+}
+/**
+ * Returns the line at <code>index</code> without delimiters.
+ *
+ * @param index	the index of the line to return
+ * @return the line text without delimiters
+ * @exception IllegalArgumentException <ul>
+ *   <li>ERROR_INVALID_ARGUMENT when index is out of range</li>
+ * </ul>
+ */
+@Override
+public String getLine(int index) {
+	if ((index >= lineCount) || (index < 0)) error(SWT.ERROR_INVALID_ARGUMENT);
+	String line = getFullLine(index);
+	int length = line.length();
+	while ((length - 1 >= 0) && isDelimiter(line.charAt(length - 1))) {
+		length--;
+	}
+	return line.substring(0, length);
+}
+/**
+ * Returns the line at the given offset.
+ *
+ * @param offset offset of the line to return, an offset of
+ * 	<code>getCharCount()</code> answers the last line
+ * @return the line index
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_INVALID_ARGUMENT when offset is out of range</li>
+ * </ul>
+ */
+@Override
+public int getLineAtOffset(int offset) {
+	if ((offset > charCount) || (offset < 0)) error(SWT.ERROR_INVALID_ARGUMENT);
+	int index = Arrays.binarySearch(lineStarts, 0, lineCount, offset);
+	return index >= 0 ? index : -index - 2;
+}
+/**
+ * @return the number of lines indexed so far
+ */
+@Override
+public int getLineCount() {
+	return lineCount;
+}
+/**
+ * Returns the line delimiter that should be used by the StyledText
+ * widget when inserting new lines.
+ *
+ * @return the platform line delimiter as specified in the line.separator
+ * 	system property.
+ */
+@Override
+public String getLineDelimiter() {
+	return LineDelimiter;
+}
+/**
+ * Returns the offset of the given line.
+ *
+ * @param lineIndex index of line
+ * @return the starting offset of the line
+ * @exception IllegalArgumentException <ul>
+ *   <li>ERROR_INVALID_ARGUMENT when lineIndex is out of range</li>
+ * </ul>
+ */
+@Override
+public int getOffsetAtLine(int lineIndex) {
+	if ((lineIndex >= lineCount) || (lineIndex < 0)) error(SWT.ERROR_INVALID_ARGUMENT);
+	return lineStarts[lineIndex];
+}
+/**
+ * Returns a string representing the content at the given range.
+ *
+ * @param start the start offset of the text to return
+ * @param length the length of the text to return
+ * @return the text at the given range
+ */
+@Override
+public String getTextRange(int start, int length) {
+	if (length == 0) return "";
+	int end = start + length;
+	int index = getLineAtOffset(start);
+	StringBuilder buffer = new StringBuilder(length);
+	while (index < lineCount && lineStarts[index] < end) {
+		int lineStart = lineStarts[index];
+		int lineEnd = index + 1 < lineCount ? lineStarts[index + 1] : charCount;
+		int from = Math.max(start - lineStart, 0), to = Math.min(end, lineEnd) - lineStart;
+		if (lineEnd - lineStart <= LONG_LINE || lines.containsKey(index)) {
+			buffer.append(getFullLine(index), from, to);
+		} else {
+			long byteStart = getLineByteOffset(index);
+			decode(byteStart, getLineByteEnd(index, byteStart), from, to, buffer);
+		}
+		index++;
+	}
+	return buffer.toString();
+}
+/**
+ * Runs in the background thread, indexes the lines of the file and
+ * publishes them in batches.
+ */
+void indexLines() {
+	Batch batch = new Batch();
+	boolean published = false;
+	long lastPublish = System.nanoTime();
+	int line = 0, charOffset = 0;
+	long lineStart = 0, chars = 0;
+	/*
+	* Count the characters of well-formed UTF-8 without decoding.  Lines
+	* with malformed or unusual sequences are decoded to count them the
+	* way the decoder does.
+	*/
+	int pending = 0;
+	boolean decode = false;
+	long position = 0;
+	while (position < fileSize) {
+		if (disposed) return;
+		MappedByteBuffer region = regions[(int) (position >>> REGION_SHIFT)];
+		long base = position & ~(long) REGION_MASK;
+		int limit = region.limit();
+		for (int index = (int) (position - base); index < limit; index++) {
+			int b = region.get(index) & 0xFF;
+			if (b >= 0x80) {
+				if (b < 0xC0) {
+					if (pending == 0) decode = true; else pending--;
+				} else {
+					if (pending != 0) decode = true;
+					if (b < 0xE0) {
+						pending = 1;
+						chars++;
+						if (b < 0xC2) decode = true;
+					} else if (b < 0xF0) {
+						pending = 2;
+						chars++;
+						if (b == 0xE0 || b == 0xED) decode = true;
+					} else {
+						pending = 3;
+						chars += 2;
+						if (b == 0xF0 || b >= 0xF4) decode = true;
+					}
+				}
+				continue;
+			}
+			if (pending != 0) {
+				decode = true;
+				pending = 0;
+			}
+			if (b != SWT.LF && b != SWT.CR) {
+				chars++;
+				continue;
+			}
+			long contentEnd = base + index;
+			long next = contentEnd + 1;
+			if (b == SWT.CR && next < fileSize && byteAt(next) == SWT.LF) next++;
+			if (decode) chars = decode(lineStart, contentEnd, 0, Long.MAX_VALUE, null);
+			chars += next - contentEnd;
+			if (charOffset + chars > Integer.MAX_VALUE) {
+				publish(batch);
+				return;
+			}
+			charOffset += chars;
+			line++;
+			batch.addLine(charOffset);
+			if ((line & ((1 << CHECKPOINT_SHIFT) - 1)) == 0) batch.addCheckpoint(next);
+			batch.charCount = charOffset;
+			batch.byteCount = next;
+			lineStart = next;
+			chars = 0;
+			decode = false;
+			if (published ? (line & 0xFF) == 0 && System.nanoTime() - lastPublish >= BATCH_INTERVAL : batch.lineCount >= FIRST_BATCH_SIZE) {
+				if (!publish(batch)) return;
+				batch = new Batch();
+				published = true;
+				lastPublish = System.nanoTime();
+			}
+			// skip the LF of a CR/LF, it may be in the next region
+			index = (int) (next - base) - 1;
+		}
+		position = Math.max(base + limit, lineStart);
+	}
+	if (decode || pending != 0) chars = decode(lineStart, fileSize, 0, Long.MAX_VALUE, null);
+	if (charOffset + chars <= Integer.MAX_VALUE) {
+		batch.charCount = (int) (charOffset + chars);
+		batch.byteCount = fileSize;
+	}
+	publish(batch);
+}
+/**
+ * Returns whether or not the given character is a line delimiter.  Both CR and LF
+ * are valid line delimiters.
+ *
+ * @param ch the character to test
+ * @return true if ch is a delimiter, false otherwise
+ */
+boolean isDelimiter(char ch) {
+	return ch == SWT.CR || ch == SWT.LF;
+}
+/**
+ * Hands the batch to the user-interface thread.  Answers <code>false</code>
+ * if the display has been disposed.
+ */
+boolean publish(Batch batch) {
+	try {
+		display.asyncExec(() -> {
+			if (!disposed) update(batch);
+		});
+		return true;
+	} catch (SWTException e) {
+		return false;
+	}
+}
+/**
+ * Removes the specified <code>TextChangeListener</code>.
+ *
+ * @param listener the listener which should no longer be notified
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT when listener is null</li>
+ * </ul>
+ */
+@Override
+public void removeTextChangeListener(TextChangeListener listener) {
+	if (listener == null) error(SWT.ERROR_NULL_ARGUMENT);
+	for (int i = 0; i < textListeners.size(); i++) {
+		TypedListener typedListener = textListeners.get(i);
+		if (typedListener.getEventListener () == listener) {
+			textListeners.remove(i);
+			break;
+		}
+	}
+}
+/**
+ * The content is read-only.
+ *
+ * @exception SWTError <ul>
+ *   <li>ERROR_NOT_IMPLEMENTED always</li>
+ * </ul>
+ */
+@Override
+public void replaceTextRange(int start, int replaceLength, String text) {
+	error(SWT.ERROR_NOT_IMPLEMENTED);
+}
+/**
+ * Sends the text listeners the TextChanged event.
+ */
+void sendTextEvent(StyledTextEvent event) {
+	for (StyledTextListener textListener : textListeners) {
+		textListener.handleEvent(event);
+	}
+}
+/**
+ * The content is read-only.
+ *
+ * @exception SWTError <ul>
+ *   <li>ERROR_NOT_IMPLEMENTED always</li>
+ * </ul>
+ */
+@Override
+public void setText(String text) {
+	error(SWT.ERROR_NOT_IMPLEMENTED);
+}
+/**
+ * Returns the byte offset following <code>count</code> line delimiters
+ * from the given byte offset.
+ */
+long skipLines(long offset, int count) {
+	while (count > 0) {
+		byte b = byteAt(offset++);
+		if (b == SWT.LF) {
+			count--;
+		} else if (b == SWT.CR) {
+			if (offset < byteCount && byteAt(offset) == SWT.LF) offset++;
+			count--;
+		}
+	}
+	return offset;
+}
+/**
+ * Publishes a batch of indexed lines as text appended to the content.
+ */
+void update(Batch batch) {
+	StyledTextEvent event = new StyledTextEvent(this);
+	event.type = ST.TextChanging;
+	event.start = charCount;
+	event.replaceLineCount = 0;
+	event.newLineCount = batch.lineCount;
+	event.replaceCharCount = 0;
+	event.newCharCount = batch.charCount - charCount;
+	sendTextEvent(event);
+
+	int newLineCount = lineCount + batch.lineCount;
+	if (newLineCount > lineStarts.length) {
+		lineStarts = Arrays.copyOf(lineStarts, Math.max(newLineCount, lineStarts.length * 2));
+	}
+	System.arraycopy(batch.lineStarts, 0, lineStarts, lineCount, batch.lineCount);
+	int newCheckpointCount = checkpointCount + batch.checkpointCount;
+	if (newCheckpointCount > checkpoints.length) {
+		checkpoints = Arrays.copyOf(checkpoints, Math.max(newCheckpointCount, checkpoints.length * 2));
+	}
+	System.arraycopy(batch.checkpoints, 0, checkpoints, checkpointCount, batch.checkpointCount);
+	checkpointCount = newCheckpointCount;
+	// the last line may have grown
+	String last = lines.remove(lineCount - 1);
+	if (last != null) cachedChars -= last.length() + LINE_COST;
+	lineCount = newLineCount;
+	charCount = batch.charCount;
+	byteCount = batch.byteCount;
+
+	event = new StyledTextEvent(this);
+	event.type = ST.TextChanged;
+	sendTextEvent(event);
+}
+}
@@ -0,0 +1,678 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.custom;
+
+import java.util.*;
+import java.util.List;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.widgets.*;
+
+/**
+ * A <code>StyledTextContent</code> for very large documents.
+ * <p>
+ * The text passed to <code>setText</code> is kept as is and never copied.
+ * Inserted text is appended to a second buffer, and the document is described
+ * by a balanced tree of pieces referring to ranges of these two buffers.  Each
+ * buffer keeps the offsets of its line delimiters in a single <code>int</code>
+ * array, so the line index costs four bytes per line.
+ * </p><p>
+ * <code>getLine</code>, <code>getLineAtOffset</code>, <code>getOffsetAtLine</code>
+ * and <code>replaceTextRange</code> take logarithmic time in the number of
+ * pieces and lines, independent of the size of the document.  Text appended
+ * at the end of the document, or typed at the same position, extends the
+ * last piece instead of creating a new one.
+ * </p><p>
+ * Line delimiters are counted in the text they were inserted with.  A CR and
+ * a LF that only become adjacent through an edit remain two line delimiters,
+ * which keeps the line counts reported in <code>TextChangingEvent</code>
+ * exact.
+ * </p>
+ * <p>
+ * Example:
+ * </p>
+ * <pre><code>
+ * StyledText text = new StyledText(parent, SWT.MULTI | SWT.V_SCROLL);
+ * text.setContent(new PieceTableContent());
+ * text.setText(log);
+ * </code></pre>
+ *
+ * @see StyledText#setContent(StyledTextContent)
+ * @since 3.126
+ */
+public class PieceTableContent implements StyledTextContent {
+	private final static String LineDelimiter = System.lineSeparator();
+
+	List<StyledTextListener> textListeners = new ArrayList<>(); // stores text listeners for event sending
+	Buffer original;	// the text set with setText
+	Buffer added;	// the text inserted since then
+	Piece root;	// the pieces of the document in text order
+	int seed = 0x2545F491;	// the state of the piece priority generator
+
+	/**
+	 * A text buffer and the offsets following each of its line delimiters.
+	 * A CR that is immediately followed by a LF in the buffer is not a
+	 * line delimiter by itself.
+	 */
+	static final class Buffer {
+		final CharSequence text;
+		int[] lineEnds = new int[16];
+		int lineEndCount;
+
+		Buffer(CharSequence text) {
+			this.text = text;
+			indexLines(0);
+		}
+
+		/**
+		 * Appends to the buffer of inserted text and indexes the new lines.
+		 */
+		void append(String string) {
+			StringBuilder builder = (StringBuilder) text;
+			int start = builder.length();
+			if (start > 0 && builder.charAt(start - 1) == SWT.CR && string.charAt(0) == SWT.LF) {
+				// the CR at the end of the buffer becomes the first half of a CR/LF
+				lineEndCount--;
+			}
+			builder.append(string);
+			indexLines(start);
+		}
+
+		void indexLines(int start) {
+			int length = text.length();
+			for (int i = start; i < length; i++) {
+				char ch = text.charAt(i);
+				if (ch == SWT.CR) {
+					if (i + 1 < length && text.charAt(i + 1) == SWT.LF) {
+						i++;
+					}
+					addLineEnd(i + 1);
+				} else if (ch == SWT.LF) {
+					addLineEnd(i + 1);
+				}
+			}
+		}
+
+		void addLineEnd(int offset) {
+			if (lineEndCount == lineEnds.length) {
+				lineEnds = Arrays.copyOf(lineEnds, lineEndCount * 2);
+			}
+			lineEnds[lineEndCount++] = offset;
+		}
+
+		/**
+		 * Returns the index of the first line end after <code>offset</code>.
+		 */
+		int lineEndIndex(int offset) {
+			int low = 0, high = lineEndCount;
+			while (low < high) {
+				int index = (low + high) >>> 1;
+				if (lineEnds[index] <= offset) {
+					low = index + 1;
+				} else {
+					high = index;
+				}
+			}
+			return low;
+		}
+
+		/**
+		 * Returns whether the range ending at <code>end</code> ends with the
+		 * CR of a CR/LF in the buffer.  The range then has a line delimiter
+		 * the buffer index does not know about.
+		 */
+		boolean endsWithSplitCRLF(int end) {
+			return end < text.length() && text.charAt(end) == SWT.LF && text.charAt(end - 1) == SWT.CR;
+		}
+
+		/**
+		 * Returns the number of line delimiters in the given range.
+		 */
+		int lineCount(int start, int end) {
+			if (start == end) return 0;
+			int count = lineEndIndex(end) - lineEndIndex(start);
+			if (endsWithSplitCRLF(end)) count++;
+			return count;
+		}
+
+		/**
+		 * Returns the offset following the <code>n</code>th line delimiter
+		 * of the given range, counting from one.
+		 */
+		int lineEnd(int start, int end, int n) {
+			int index = lineEndIndex(start) + n - 1;
+			if (index < lineEndIndex(end)) return lineEnds[index];
+			return end;
+		}
+	}
+
+	/**
+	 * A range of one of the buffers and a node of the piece tree.  The tree
+	 * is a treap ordered by text position, each node holds the character and
+	 * line delimiter count of its subtree.
+	 */
+	static final class Piece {
+		final Buffer buffer;
+		final int priority;
+		int start, length, lineCount;
+		Piece left, right;
+		int totalLength, totalLineCount;
+
+		Piece(Buffer buffer, int start, int length, int priority) {
+			this.buffer = buffer;
+			this.start = start;
+			this.priority = priority;
+			setLength(length);
+		}
+
+		void setLength(int length) {
+			this.length = length;
+			lineCount = buffer.lineCount(start, start + length);
+			update();
+		}
+
+		void update() {
+			totalLength = length;
+			totalLineCount = lineCount;
+			if (left != null) {
+				totalLength += left.totalLength;
+				totalLineCount += left.totalLineCount;
+			}
+			if (right != null) {
+				totalLength += right.totalLength;
+				totalLineCount += right.totalLineCount;
+			}
+		}
+	}
+
+/**
+ * Creates a new, empty content.  A <code>StyledTextContent</code> will always
+ * have at least one empty line.
+ */
+public PieceTableContent() {
+	setText("");
+}
+/**
+ * Adds a <code>TextChangeListener</code> listening for
+ * <code>TextChangingEvent</code> and <code>TextChangedEvent</code>. A
+ * <code>TextChangingEvent</code> is sent before changes to the text occur.
+ * A <code>TextChangedEvent</code> is sent after changes to the text
+ * occurred.
+ *
+ * @param listener the listener
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT when listener is null</li>
+ * </ul>
+ */
+@Override
+public void addTextChangeListener(TextChangeListener listener) {
+	if (listener == null) error(SWT.ERROR_NULL_ARGUMENT);
+	StyledTextListener typedListener = new StyledTextListener(listener);
+	textListeners.add(typedListener);
+}
+/**
+ * Appends the text in <code>range</code> of the given subtree to <code>buffer</code>.
+ */
+void appendText(Piece node, int offset, int start, int end, StringBuilder buffer) {
+	while (node != null) {
+		int leftLength = node.left != null ? node.left.totalLength : 0;
+		int nodeStart = offset + leftLength;
+		int nodeEnd = nodeStart + node.length;
+		if (start < nodeStart) {
+			appendText(node.left, offset, start, end, buffer);
+		}
+		if (start < nodeEnd && end > nodeStart) {
+			int from = Math.max(start, nodeStart) - nodeStart + node.start;
+			int to = Math.min(end, nodeEnd) - nodeStart + node.start;
+			buffer.append(node.buffer.text, from, to);
+		}
+		if (end <= nodeEnd) return;
+		offset = nodeEnd;
+		node = node.right;
+	}
+}
+/**
+ * Reports an SWT error.
+ *
+ * @param code the error code
+ */
+void error (int code) {
+	SWT.error(code);
+}
+/**
+ * @return the number of characters in the content
+ */
+@Override
+public int getCharCount() {
+	return root != null ? root.totalLength : 0;
+}
+/**
+ * Returns the line at <code>index</code> without delimiters.
+ *
+ * @param index	the index of the line to return
+ * @return the line text without delimiters
+ * @exception IllegalArgumentException <ul>
+ *   <li>ERROR_INVALID_ARGUMENT when index is out of range</li>
+ * </ul>
+ */
+@Override
+public String getLine(int index) {
+	int lineCount = getLineCount();
+	if ((index >= lineCount) || (index < 0)) error(SWT.ERROR_INVALID_ARGUMENT);
+	if (index > 0 && index + 1 < lineCount) {
+		// find the piece holding the delimiters before and after the line
+		int delimiter = index + 1;
+		Piece node = root;
+		while (true) {
+			if (node.left != null) {
+				if (delimiter <= node.left.totalLineCount) {
+					node = node.left;
+					continue;
+				}
+				delimiter -= node.left.totalLineCount;
+			}
+			if (delimiter <= node.lineCount) break;
+			delimiter -= node.lineCount;
+			node = node.right;
+		}
+		if (delimiter > 1) {
+			Buffer buffer = node.buffer;
+			int end = node.start + node.length;
+			int from = buffer.lineEnd(node.start, end, delimiter - 1);
+			int to = buffer.lineEnd(node.start, end, delimiter);
+			while (to > from && isDelimiter(buffer.text.charAt(to - 1))) {
+				to--;
+			}
+			return buffer.text.subSequence(from, to).toString();
+		}
+	}
+	int start = getOffsetAtLine(index);
+	int end = index + 1 < lineCount ? getOffsetAtLine(index + 1) : getCharCount();
+	if (start == end) return "";
+	StringBuilder buffer = new StringBuilder(end - start);
+	appendText(root, 0, start, end, buffer);
+	int length = buffer.length();
+	while ((length - 1 >= 0) && isDelimiter(buffer.charAt(length - 1))) {
+		length--;
+	}
+	buffer.setLength(length);
+	return buffer.toString();
+}
+/**
+ * Returns the line at the given offset.
+ *
+ * @param offset offset of the line to return, an offset of
+ * 	<code>getCharCount()</code> answers the last line
+ * @return the line index
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_INVALID_ARGUMENT when offset is out of range</li>
+ * </ul>
+ */
+@Override
+public int getLineAtOffset(int offset) {
+	if ((offset > getCharCount()) || (offset < 0)) error(SWT.ERROR_INVALID_ARGUMENT);
+	int line = 0;
+	Piece node = root;
+	while (node != null) {
+		int leftLength = 0;
+		if (node.left != null) {
+			if (offset < node.left.totalLength) {
+				node = node.left;
+				continue;
+			}
+			leftLength = node.left.totalLength;
+			line += node.left.totalLineCount;
+		}
+		offset -= leftLength;
+		if (offset < node.length) {
+			Buffer buffer = node.buffer;
+			return line + buffer.lineEndIndex(node.start + offset) - buffer.lineEndIndex(node.start);
+		}
+		offset -= node.length;
+		line += node.lineCount;
+		node = node.right;
+	}
+	return line;
+}
+/**
+ * @return the number of lines in the content
+ */
+@Override
+public int getLineCount() {
+	return (root != null ? root.totalLineCount : 0) + 1;
+}
+/**
+ * Returns the line delimiter that should be used by the StyledText
+ * widget when inserting new lines.
+ *
+ * @return the platform line delimiter as specified in the line.separator
+ * 	system property.
+ */
+@Override
+public String getLineDelimiter() {
+	return LineDelimiter;
+}
+/**
+ * Returns the offset of the given line.
+ *
+ * @param lineIndex index of line
+ * @return the starting offset of the line.  When there are not any lines,
+ * 	getOffsetAtLine(0) is a valid call that should answer 0.
+ * @exception IllegalArgumentException <ul>
+ *   <li>ERROR_INVALID_ARGUMENT when lineIndex is out of range</li>
+ * </ul>
+ */
+@Override
+public int getOffsetAtLine(int lineIndex) {
+	if (lineIndex == 0) return 0;
+	if ((lineIndex >= getLineCount()) || (lineIndex < 0)) error(SWT.ERROR_INVALID_ARGUMENT);
+	int offset = 0;
+	Piece node = root;
+	while (true) {
+		if (node.left != null) {
+			if (lineIndex <= node.left.totalLineCount) {
+				node = node.left;
+				continue;
+			}
+			lineIndex -= node.left.totalLineCount;
+			offset += node.left.totalLength;
+		}
+		if (lineIndex <= node.lineCount) {
+			return offset + node.buffer.lineEnd(node.start, node.start + node.length, lineIndex) - node.start;
+		}
+		lineIndex -= node.lineCount;
+		offset += node.length;
+		node = node.right;
+	}
+}
+/**
+ * Returns a string representing the content at the given range.
+ *
+ * @param start the start offset of the text to return
+ * @param length the length of the text to return
+ * @return the text at the given range
+ */
+@Override
+public String getTextRange(int start, int length) {
+	if (length == 0) return "";
+	int end = start + length;
+	Piece node = root;
+	int offset = start;
+	while (node != null) {
+		int leftLength = node.left != null ? node.left.totalLength : 0;
+		if (offset < leftLength) {
+			node = node.left;
+		} else if (offset - leftLength < node.length) {
+			offset -= leftLength;
+			if (offset + length <= node.length) {
+				// the range is a single piece
+				int from = node.start + offset;
+				return node.buffer.text.subSequence(from, from + length).toString();
+			}
+			break;
+		} else {
+			offset -= leftLength + node.length;
+			node = node.right;
+		}
+	}
+	StringBuilder buffer = new StringBuilder(length);
+	appendText(root, 0, start, end, buffer);
+	return buffer.toString();
+}
+/**
+ * Returns whether or not the given character is a line delimiter.  Both CR and LF
+ * are valid line delimiters.
+ *
+ * @param ch the character to test
+ * @return true if ch is a delimiter, false otherwise
+ */
+boolean isDelimiter(char ch) {
+	return ch == SWT.CR || ch == SWT.LF;
+}
+private boolean isInsideCRLF(int pos) {
+	if (pos == 0) return false;
+	if (pos == getCharCount()) return false;
+	String text = getTextRange(pos - 1, 2);
+	if (text.charAt(0) != SWT.CR || text.charAt(1) != SWT.LF) return false;
+	/*
+	 * A CR and a LF that became adjacent through an edit are
+	 * separate line delimiters and may be separated again.
+	 */
+	return getLineAtOffset(pos - 1) == getLineAtOffset(pos);
+}
+/**
+ * Returns the number of lines that are in the specified text.
+ *
+ * @param text the text to lineate
+ * @return number of lines in the text
+ */
+int lineCount(String text) {
+	int lineCount = 0;
+	int length = text.length();
+	for (int i = 0; i < length; i++) {
+		char ch = text.charAt(i);
+		if (ch == SWT.CR) {
+			if (i + 1 < length && text.charAt(i + 1) == SWT.LF) {
+				i++;
+			}
+			lineCount++;
+		} else if (ch == SWT.LF) {
+			lineCount++;
+		}
+	}
+	return lineCount;
+}
+/**
+ * Joins two trees, all pieces of <code>left</code> preceding those of <code>right</code>.
+ */
+Piece merge(Piece left, Piece right) {
+	if (left == null) return right;
+	if (right == null) return left;
+	if (left.priority >= right.priority) {
+		left.right = merge(left.right, right);
+		left.update();
+		return left;
+	}
+	right.left = merge(left, right.left);
+	right.update();
+	return right;
+}
+Piece newPiece(Buffer buffer, int start, int length) {
+	// xorshift, the priorities only need to be well distributed
+	seed ^= seed << 13;
+	seed ^= seed >>> 17;
+	seed ^= seed << 5;
+	return new Piece(buffer, start, length, seed);
+}
+/**
+ * Removes the specified <code>TextChangeListener</code>.
+ *
+ * @param listener the listener which should no longer be notified
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT when listener is null</li>
+ * </ul>
+ */
+@Override
+public void removeTextChangeListener(TextChangeListener listener) {
+	if (listener == null) error(SWT.ERROR_NULL_ARGUMENT);
+	for (int i = 0; i < textListeners.size(); i++) {
+		TypedListener typedListener = textListeners.get(i);
+		if (typedListener.getEventListener () == listener) {
+			textListeners.remove(i);
+			break;
+		}
+	}
+}
+/**
+ * Replaces the text with <code>newText</code> starting at position <code>start</code>
+ * for a length of <code>replaceLength</code>.  Notifies the appropriate listeners.
+ * <p>
+ * When sending the TextChangingEvent, <code>newLineCount</code> is the number of
+ * lines that are going to be inserted and <code>replaceLineCount</code> is
+ * the number of lines that are going to be deleted, based on the change
+ * that occurs visually.  For example:
+ * </p>
+ * <ul>
+ * <li>(replaceText,newText) ==&gt; (replaceLineCount,newLineCount)
+ * <li>("","\n") ==&gt; (0,1)
+ * <li>("\n\n","a") ==&gt; (2,0)
+ * </ul>
+ *
+ * @param start	start offset of text to replace
+ * @param replaceLength length of text to replace
+ * @param newText text to replace the range with
+ *
+ * @exception SWTException <ul>
+ *   <li>ERROR_INVALID_ARGUMENT when the text change results in a multi byte
+ *      line delimiter being split or partially deleted.  Splitting a line
+ *      delimiter by inserting text between the CR and LF characters of the
+ *      \r\n delimiter or deleting part of this line delimiter is not supported</li>
+ * </ul>
+ */
+@Override
+public void replaceTextRange(int start, int replaceLength, String newText) {
+	// check for invalid replace operations
+	validateReplace(start, replaceLength);
+
+	// inform listeners
+	StyledTextEvent event = new StyledTextEvent(this);
+	event.type = ST.TextChanging;
+	event.start = start;
+	event.replaceLineCount = replaceLength == 0 ? 0 : getLineAtOffset(start + replaceLength) - getLineAtOffset(start);
+	event.text = newText;
+	event.newLineCount = lineCount(newText);
+	event.replaceCharCount = replaceLength;
+	event.newCharCount = newText.length();
+	sendTextEvent(event);
+
+	Piece[] result = new Piece[2];
+	split(root, start, result);
+	Piece head = result[0];
+	split(result[1], replaceLength, result);
+	Piece tail = result[1];
+	if (!newText.isEmpty()) {
+		int offset = added.text.length();
+		Piece last = head;
+		while (last != null && last.right != null) last = last.right;
+		if (last != null && last.buffer == added && last.start + last.length == offset
+			&& !(added.text.charAt(offset - 1) == SWT.CR && newText.charAt(0) == SWT.LF)) {
+			// typing or appending, grow the piece that ends at the insertion point
+			added.append(newText);
+			head = extendLast(head, newText.length());
+		} else {
+			added.append(newText);
+			head = merge(head, newPiece(added, offset, newText.length()));
+		}
+	}
+	root = merge(head, tail);
+
+	// inform listeners
+	event = new StyledTextEvent(this);
+	event.type = ST.TextChanged;
+	sendTextEvent(event);
+}
+/**
+ * Grows the last piece of the given tree by <code>length</code> characters.
+ */
+Piece extendLast(Piece node, int length) {
+	if (node.right != null) {
+		node.right = extendLast(node.right, length);
+		node.update();
+	} else {
+		node.setLength(node.length + length);
+	}
+	return node;
+}
+/**
+ * Sends the text listeners the TextChanged event.
+ */
+void sendTextEvent(StyledTextEvent event) {
+	for (StyledTextListener textListener : textListeners) {
+		textListener.handleEvent(event);
+	}
+}
+/**
+ * Sets the content to text.  The string is referenced, not copied.
+ *
+ * @param text the text
+ */
+@Override
+public void setText(String text) {
+	original = new Buffer(text);
+	added = new Buffer(new StringBuilder());
+	root = text.isEmpty() ? null : newPiece(original, 0, text.length());
+	StyledTextEvent event = new StyledTextEvent(this);
+	event.type = ST.TextSet;
+	event.text = "";
+	sendTextEvent(event);
+}
+/**
+ * Splits the given tree at <code>offset</code>, storing the pieces before the
+ * offset in <code>result[0]</code> and the others in <code>result[1]</code>.
+ */
+void split(Piece node, int offset, Piece[] result) {
+	if (node == null) {
+		result[0] = result[1] = null;
+		return;
+	}
+	int leftLength = node.left != null ? node.left.totalLength : 0;
+	if (offset <= leftLength) {
+		split(node.left, offset, result);
+		node.left = result[1];
+		node.update();
+		result[1] = node;
+	} else if (offset >= leftLength + node.length) {
+		split(node.right, offset - leftLength - node.length, result);
+		node.right = result[0];
+		node.update();
+		result[0] = node;
+	} else {
+		int length = offset - leftLength;
+		Piece piece = newPiece(node.buffer, node.start + length, node.length - length);
+		Piece right = node.right;
+		node.right = null;
+		node.setLength(length);
+		result[0] = node;
+		result[1] = merge(piece, right);
+	}
+}
+/**
+ * Validates the replace operation.  The \r\n line delimiter may not be
+ * split or partially deleted.
+ *
+ * @param start start offset of text to replace
+ * @param replaceLength length of text to replace
+ */
+private void validateReplace(int start, int replaceLength) {
+	if (replaceLength == 0) {
+		// inserting text, see if the \r\n line delimiter is being split
+		if (isInsideCRLF(start)) {
+			String message = " [0: start=" + start + " len=" + replaceLength + "]";
+			SWT.error(SWT.ERROR_INVALID_ARGUMENT, null, message);
+		}
+	} else {
+		// deleting text, see if part of a \r\n line delimiter is being deleted
+		if (isInsideCRLF(start)) {
+			String message = " [1: start=" + start + " len=" + replaceLength + "]";
+			SWT.error(SWT.ERROR_INVALID_ARGUMENT, null, message);
+		}
+
+		if (isInsideCRLF(start + replaceLength)) {
+			String message = " [2: start=" + start + " len=" + replaceLength + "]";
+			SWT.error(SWT.ERROR_INVALID_ARGUMENT, null, message);
+		}
+	}
+}
+}
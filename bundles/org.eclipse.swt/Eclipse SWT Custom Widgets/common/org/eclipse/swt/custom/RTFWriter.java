@@ -61,7 +61,7 @@ class RTFWriter extends StyledTextWriterBase {
 	@Override
 	void writeHeader() {
 		StringBuilder header = new StringBuilder();
-		FontData fontData = styledText.getFont().getFontData()[0];
+		FontData fontData = fontTable.get(0).getFontData()[0];
 		header.append("{\\rtf1\\ansi");
 		// specify code page, necessary for copy to work in bidi
 		// systems that don't support Unicode RTF.
@@ -19,6 +19,8 @@ package org.eclipse.swt.custom;
 
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
 import java.util.stream.*;
 
 import org.eclipse.swt.*;
@@ -151,6 +153,7 @@ public class StyledText extends Canvas {
 	/** True iff the widget is in the midst of being enabled or disabled */
 	boolean insideSetEnableCall;
 	Clipboard clipboard;
+	int richTextCopyLimit = 8 * 1024 * 1024;	// length of the longest selection copied as RTF and HTML, see setRichTextCopyLimit
 	int clickCount;
 	int autoScrollDirection = SWT.NULL;	// the direction of autoscrolling (up, down, right, left)
 	int autoScrollDistance = 0;
@@ -176,6 +179,11 @@ public class StyledText extends Canvas {
 	int indent, wrapIndent;
 	int lineSpacing;
 	int alignmentMargin;
+	StyledTextStyleProvider styleProvider;
+	Executor styleProviderExecutor;
+	int styleVersion;					// incremented when styles being computed by the style provider become stale
+	int styleDirtyStart = -1, styleDirtyEnd;	// range of the text whose styles have to be requested from the style provider
+	boolean styleRequestPending;		// styles are being computed by the style provider
 	int newOrientation = SWT.NONE;
 	int accCaretOffset;
 	Accessible acc;
@@ -682,6 +690,86 @@ public class StyledText extends Canvas {
 	}
 	}
 
+	/**
+	 * The RTF and HTML of a copied range of the text. The text and the styles
+	 * of the copied lines are taken when the text is copied, each format is
+	 * only built from them when it is requested from the clipboard.
+	 */
+	final class RichTextCopy {
+		final String text;					// the text of the copied lines
+		final int textOffset;				// offset of the text in the content
+		final int[] lineOffsets, lineLengths;
+		final StyledTextWriterBase.LineStyle[] lineStyles;
+		final boolean endsWithLineDelimiter;
+		RTFWriter rtfWriter;				// null once the RTF has been built
+		HTMLWriter htmlWriter;				// null once the HTML has been built
+		String rtfText, htmlText;
+
+		RichTextCopy(int start, int length) {
+			// the writers take the colors and the font of the widget
+			rtfWriter = new RTFWriter(StyledText.this, start, length);
+			htmlWriter = new HTMLWriter(StyledText.this, start, length, content);
+			int end = start + length;
+			int startLine = content.getLineAtOffset(start);
+			int endLine = content.getLineAtOffset(end);
+			int lineCount = endLine - startLine + 1;
+			lineOffsets = new int[lineCount];
+			lineLengths = new int[lineCount];
+			lineStyles = new StyledTextWriterBase.LineStyle[lineCount];
+			for (int i = 0; i < lineCount; i++) {
+				int lineOffset = content.getOffsetAtLine(startLine + i);
+				String line = content.getLine(startLine + i);
+				lineOffsets[i] = lineOffset;
+				lineLengths[i] = line.length();
+				lineStyles[i] = new StyledTextWriterBase.LineStyle(StyledText.this, line, lineOffset);
+			}
+			int endLineEnd = lineOffsets[lineCount - 1] + lineLengths[lineCount - 1];
+			textOffset = lineOffsets[0];
+			text = content.getTextRange(textOffset, endLineEnd - textOffset);
+			endsWithLineDelimiter = end > endLineEnd;
+		}
+		String getRTFText() {
+			if (rtfWriter != null) {
+				RTFWriter writer = rtfWriter;
+				rtfWriter = null;
+				rtfText = build(writer);
+			}
+			return rtfText;
+		}
+		String getHTMLText() {
+			if (htmlWriter != null) {
+				HTMLWriter writer = htmlWriter;
+				htmlWriter = null;
+				htmlText = build(writer);
+			}
+			return htmlText;
+		}
+		/**
+		 * Writes the copied lines like <code>getPlatformDelimitedText</code>.
+		 */
+		String build(StyledTextWriterBase writer) {
+			try {
+				for (int i = 0; i < lineStyles.length; i++) {
+					int lineStart = lineOffsets[i] - textOffset;
+					String line = text.substring(lineStart, lineStart + lineLengths[i]);
+					writer.writeStyledLine(line, lineOffsets[i], lineStyles[i]);
+					if (i < lineStyles.length - 1 || endsWithLineDelimiter) {
+						writer.writeLineDelimiter(PlatformLineDelimiter);
+					}
+				}
+				writer.close();
+				return writer.toString();
+			} catch (OutOfMemoryError e) {
+				// RTF and HTML may be larger than the text by a factor > 15,
+				// the plain text is still on the clipboard
+				return null;
+			} catch (SWTException e) {
+				// a font of the styles has been disposed since the copy
+				return null;
+			}
+		}
+	}
+
 /**
  * Constructs a new instance of this class given its parent
  * and a style value describing its behavior and appearance.
@@ -3498,6 +3586,58 @@ public int getKeyBinding(int key) {
 	Integer action = keyActionMap.get(key);
 	return action == null ? SWT.NULL : action.intValue();
 }
+/**
+ * Returns the number of times a line layout was found in the layout cache
+ * and could be reused without laying out the line again.
+ *
+ * @return the number of layout cache hits
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #getLayoutCacheMisses()
+ * @see #setLayoutCacheSize(int)
+ * @since 3.126
+ */
+public long getLayoutCacheHits() {
+	checkWidget();
+	return renderer.layoutCacheHits;
+}
+/**
+ * Returns the number of times a line had to be laid out because its
+ * layout was not in the layout cache or was no longer valid.
+ *
+ * @return the number of layout cache misses
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #getLayoutCacheHits()
+ * @see #setLayoutCacheSize(int)
+ * @since 3.126
+ */
+public long getLayoutCacheMisses() {
+	checkWidget();
+	return renderer.layoutCacheMisses;
+}
+/**
+ * Returns the maximum number of line layouts kept in the layout cache.
+ *
+ * @return the size of the layout cache
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #setLayoutCacheSize(int)
+ * @since 3.126
+ */
+public int getLayoutCacheSize() {
+	checkWidget();
+	return renderer.layoutCacheSize;
+}
 /**
  * Gets the number of characters.
  *
@@ -4344,6 +4484,24 @@ public int[] getRanges(int start, int length) {
 	}
 	return new int[0];
 }
+/**
+ * Returns the length of the longest selection that is copied to the
+ * clipboard as RTF and HTML in addition to plain text.
+ *
+ * @return the length, or a negative value if there is no limit
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #setRichTextCopyLimit(int)
+ * @since 3.126
+ */
+public int getRichTextCopyLimit() {
+	checkWidget();
+	return richTextCopyLimit;
+}
 /**
  * Returns the right margin.
  *
@@ -4614,6 +4772,23 @@ int [] getBidiSegmentsCompatibility(String line, int lineOffset) {
 	System.arraycopy (offsets, 0, result, 0, count);
 	return result;
 }
+/**
+ * Returns the style provider of the widget.
+ *
+ * @return the style provider or <code>null</code> if none is set
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #setStyleProvider(StyledTextStyleProvider, Executor)
+ * @since 3.126
+ */
+public StyledTextStyleProvider getStyleProvider() {
+	checkWidget();
+	return styleProvider;
+}
 /**
  * Returns the style range at the given offset.
  * <p>
@@ -6082,6 +6257,7 @@ void handleTextChanged(TextChangedEvent event) {
 	lastCharCount += lastTextChangeNewCharCount;
 	lastCharCount -= lastTextChangeReplaceCharCount;
 	setAlignment();
+	updateStyleRequest(lastTextChangeStart, lastTextChangeReplaceCharCount, lastTextChangeNewCharCount);
 }
 /**
  * Updates the screen to reflect a pending content change.
@@ -7792,6 +7968,12 @@ void reset() {
 	resetCache(0, 0);
 	setCaretLocations();
 	super.redraw();
+	if (styleProvider != null) {
+		styleVersion++;
+		styleDirtyStart = 0;
+		styleDirtyEnd = content.getCharCount();
+		requestStyles();
+	}
 }
 void resetBidiData() {
 	caretDirection = SWT.NULL;
@@ -8061,6 +8243,54 @@ void sendSelectionEvent() {
 	event.y = selection[selection.length - 1].y;
 	notifyListeners(SWT.Selection, event);
 }
+/**
+ * Requests the styles of the changed text from the style provider, unless
+ * a request is already pending. The request is sent after the pending events
+ * have been processed, so that it includes all their changes.
+ */
+void requestStyles() {
+	if (styleProvider == null || styleRequestPending || styleDirtyStart == -1) return;
+	styleRequestPending = true;
+	getDisplay().asyncExec(this::sendStyleRequest);
+}
+/**
+ * Sends the lines of the range of the text whose styles have to be requested
+ * to the style provider. The styles are set by <code>setProvidedStyles</code>.
+ */
+void sendStyleRequest() {
+	if (isDisposed()) return;
+	if (styleProvider == null || styleDirtyStart == -1) {
+		styleRequestPending = false;
+		return;
+	}
+	int firstLine = content.getLineAtOffset(styleDirtyStart);
+	int lastLine = content.getLineAtOffset(styleDirtyEnd);
+	int start = content.getOffsetAtLine(firstLine);
+	int end = lastLine + 1 < content.getLineCount() ? content.getOffsetAtLine(lastLine + 1) : content.getCharCount();
+	String text = content.getTextRange(start, end - start);
+	StyledTextStyleProvider provider = styleProvider;
+	int version = styleVersion;
+	Display display = getDisplay();
+	try {
+		styleProviderExecutor.execute(() -> {
+			StyleRange[] styles = null;
+			boolean computed = false;
+			try {
+				styles = provider.getStyleRanges(text, start);
+				computed = true;
+			} finally {
+				StyleRange[] result = styles;
+				boolean success = computed;
+				if (!display.isDisposed()) {
+					display.asyncExec(() -> setProvidedStyles(version, start, end - start, result, success));
+				}
+			}
+		});
+	} catch (RuntimeException e) {
+		styleRequestPending = false;
+		throw e;
+	}
+}
 int sendTextEvent(int left, int right, int lineIndex, String text, boolean fillWithSpaces) {
 	int lineWidth = 0, start, end;
 	StringBuilder buffer = new StringBuilder();
@@ -8610,37 +8840,16 @@ void setClipboardContent(int start, int length, int clipboardType) throws SWTErr
 	TextTransfer plainTextTransfer = TextTransfer.getInstance();
 	TextWriter plainTextWriter = new TextWriter(start, length);
 	String plainText = getPlatformDelimitedText(plainTextWriter);
-	Object[] data;
-	Transfer[] types;
-	if (clipboardType == DND.SELECTION_CLIPBOARD) {
-		data = new Object[]{plainText};
-		types = new Transfer[]{plainTextTransfer};
-	} else {
-		try {
-			RTFTransfer rtfTransfer = RTFTransfer.getInstance();
-			RTFWriter rtfWriter = new RTFWriter(this, start, length);
-			String rtfText = getPlatformDelimitedText(rtfWriter);
-
-			HTMLTransfer htmlTransfer = HTMLTransfer.getInstance();
-			HTMLWriter htmlWriter = new HTMLWriter(this, start, length, content);
-			String htmlText = getPlatformDelimitedText(htmlWriter);
-			htmlText = "" +htmlText; //cause extra memory pressure to fail fast instead of failing in HTMLTransfer.javaToNative()
-			data = new Object[]{rtfText, htmlText, plainText};
-			types = new Transfer[]{rtfTransfer, htmlTransfer, plainTextTransfer};
-		} catch (OutOfMemoryError oome) {
-			// Adding RTF and HTML text may increase size by factor > 15
-			// fall back: copy plain text
-			data = new Object[] { plainText };
-			types = new Transfer[] { plainTextTransfer };
-			clipboard.setContents(data, types, clipboardType);
-			OutOfMemoryError customOome = new OutOfMemoryError(
-					"Out of Memory: Copied only plain text (" + plainText.lines().count() + " lines).");
-			customOome.initCause(oome);
-			// Still throw as it is likely that other threads silently failed too, but at least copied text is not lost
-			throw customOome;
-		}
-	}
-	clipboard.setContents(data, types, clipboardType);
+	if (clipboardType == DND.SELECTION_CLIPBOARD || (richTextCopyLimit >= 0 && length > richTextCopyLimit)) {
+		clipboard.setContents(new Object[]{plainText}, new Transfer[]{plainTextTransfer}, clipboardType);
+		return;
+	}
+	// RTF and HTML may be larger than the text by a factor > 15,
+	// only build them if another application asks for them
+	RichTextCopy copy = new RichTextCopy(start, length);
+	Supplier<?>[] providers = {copy::getRTFText, copy::getHTMLText, () -> plainText};
+	Transfer[] types = {RTFTransfer.getInstance(), HTMLTransfer.getInstance(), plainTextTransfer};
+	clipboard.setContentProviders(providers, types, clipboardType);
 }
 /**
  * Sets the content implementation to use for text storage.
@@ -9003,6 +9212,35 @@ public void setKeyBinding(int key, int action) {
 		}
 	}
 }
+/**
+ * Sets the maximum number of line layouts kept in the layout cache.
+ * <p>
+ * Laying out a line is expensive, so the widget keeps the layouts of
+ * the most recently used lines, whether they are visible or not. When the
+ * cache is full the least recently used layout is discarded. A larger
+ * cache helps when scrolling back and forth over the same lines or when
+ * editing at distant places of the document, at the cost of memory.
+ * A size of 0 disables the cache. The default size is 300.
+ * </p>
+ *
+ * @param size the maximum number of cached line layouts
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ * @exception IllegalArgumentException <ul>
+ *   <li>ERROR_INVALID_ARGUMENT when size is negative</li>
+ * </ul>
+ *
+ * @see #getLayoutCacheHits()
+ * @see #getLayoutCacheMisses()
+ * @since 3.126
+ */
+public void setLayoutCacheSize(int size) {
+	checkWidget();
+	if (size < 0) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+	renderer.setLayoutCacheSize(size);
+}
 /**
  * Sets the left margin.
  *
@@ -9629,6 +9867,31 @@ public void setOrientation(int orientation) {
 		resetBidiData();
 	}
 }
+/**
+ * Sets the length of the longest selection that is copied to the clipboard
+ * as RTF and HTML in addition to plain text. Longer selections are only
+ * copied as plain text. The default is 8 * 1024 * 1024 characters.
+ * <p>
+ * The RTF and HTML of a selection can be many times larger than its text.
+ * They are only built when another application requests them from the
+ * clipboard, from the text and the styles the selection had when it was
+ * copied.
+ * </p>
+ *
+ * @param limit the length, 0 to always copy plain text only, or a negative value for no limit
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #copy()
+ * @since 3.126
+ */
+public void setRichTextCopyLimit(int limit) {
+	checkWidget();
+	richTextCopyLimit = limit;
+}
 /**
  * Sets the right margin.
  *
@@ -10019,6 +10282,74 @@ public void setSelectionRanges(int[] ranges) {
 	setCaretLocations();
 }
 
+/**
+ * Sets the styles computed by the style provider for the given range, unless
+ * the text has changed since they were requested.
+ *
+ * @param version the style version when the styles were requested
+ * @param start offset of the first character of the requested lines
+ * @param length length of the requested lines
+ * @param styles the styles returned by the style provider
+ * @param computed <code>false</code> if the style provider has failed
+ */
+void setProvidedStyles(int version, int start, int length, StyleRange[] styles, boolean computed) {
+	if (isDisposed()) return;
+	styleRequestPending = false;
+	if (version != styleVersion) {
+		// the styles are stale, request the changed range again
+		requestStyles();
+		return;
+	}
+	styleDirtyStart = -1;
+	if (computed && !isListening(ST.LineGetStyle)) {
+		setStyleRanges(start, length, null, styles, false);
+	}
+}
+/**
+ * Sets the style provider of the widget, which computes the styles of the
+ * text on the given executor. The styles of the whole text are requested
+ * when the provider or the text is set, and the styles of the changed lines
+ * are requested when the text is modified. Styles that become stale because
+ * the text has changed before they are set are discarded.
+ * <p>
+ * The styles of all changes made while a request is processed are
+ * requested together and set with a single redraw of the changed lines.
+ * Existing styles are kept until the new styles of their lines are set,
+ * and when the style provider is removed.
+ * </p><p>
+ * Should not be used if a LineStyleListener has been set since the
+ * listener maintains the styles.
+ * </p>
+ *
+ * @param provider the style provider, or <code>null</code> to stop computing styles
+ * @param executor the executor that calls the style provider, may be <code>null</code>
+ *        when the provider is <code>null</code>
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the provider is not null and the executor is null</li>
+ * </ul>
+ *
+ * @see StyledTextStyleProvider
+ * @since 3.126
+ */
+public void setStyleProvider(StyledTextStyleProvider provider, Executor executor) {
+	checkWidget();
+	if (provider != null && executor == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	styleProvider = provider;
+	styleProviderExecutor = executor;
+	styleVersion++;
+	if (provider == null) {
+		styleDirtyStart = -1;
+	} else {
+		styleDirtyStart = 0;
+		styleDirtyEnd = content.getCharCount();
+		requestStyles();
+	}
+}
 /**
  * Adds the specified style.
  * <p>
@@ -10852,5 +11183,33 @@ void updateSelection(int startOffset, int replacedLength, int newLength) {
 		.toArray(), true, false);
 	setCaretLocations();
 }
+/**
+ * Adds a text change to the range of the text whose styles have to be
+ * requested from the style provider and requests them.
+ *
+ * @param start offset of the text change
+ * @param replaceCharCount length of text that has been replaced
+ * @param newCharCount length of new text
+ */
+void updateStyleRequest(int start, int replaceCharCount, int newCharCount) {
+	if (styleProvider == null) return;
+	styleVersion++;
+	int replaceEnd = start + replaceCharCount, newEnd = start + newCharCount;
+	if (styleDirtyStart == -1) {
+		styleDirtyStart = start;
+		styleDirtyEnd = newEnd;
+	} else {
+		// move the pending range with the text after the change and clamp
+		// the offsets inside the replaced text to the end of the new text
+		int offset = newCharCount - replaceCharCount;
+		if (styleDirtyStart >= replaceEnd) styleDirtyStart += offset;
+		else if (styleDirtyStart > start) styleDirtyStart = newEnd;
+		if (styleDirtyEnd >= replaceEnd) styleDirtyEnd += offset;
+		else if (styleDirtyEnd > start) styleDirtyEnd = newEnd;
+		styleDirtyStart = Math.min(styleDirtyStart, start);
+		styleDirtyEnd = Math.max(styleDirtyEnd, newEnd);
+	}
+	requestStyles();
+}
 
 }
@@ -48,7 +48,11 @@ class StyledTextRenderer {
 
 	/* Line data */
 	int topIndex = -1;
-	TextLayout[] layouts;
+	Map<Integer, TextLayout> layouts;
+	int layoutCacheSize = CACHE_SIZE;
+	/* cached layouts that have been returned by getTextLayout() and not yet passed to disposeTextLayout() */
+	final Map<TextLayout, Integer> layoutUses = new IdentityHashMap<>();
+	long layoutCacheHits, layoutCacheMisses;
 	int lineCount;
 	LineSizeInfo[] lineSizes;
 	LineInfo[] lines;
@@ -56,7 +60,9 @@ class StyledTextRenderer {
 	int maxWidthLineIndex;
 	float averageLineHeight;
 	int linesInAverageLineHeight;
-	boolean idleRunning;
+	int idleLine;
+	Runnable idleRunnable;
+	boolean idleMeasuring;
 
 	/* Bullet */
 	Bullet[] bullets;
@@ -65,18 +71,42 @@ class StyledTextRenderer {
 
 	/* Style data */
 	int[] ranges;
+	/*
+	 * Pending shift of the range starts. The starts at and after rangeShiftIndex
+	 * are stored relative to rangeShiftOffset, so that an edit only updates the
+	 * starts between the previous edit and itself instead of all the following
+	 * ones. Use getRangeStart() to read a start.
+	 */
+	int rangeShiftIndex, rangeShiftOffset;
 	int styleCount;
 	StyleRange[] styles;
-	StyleRange[] stylesSet;
-	int stylesSetCount = 0;
+	Map<StyleKey, StyleRange> stylesSet;
 	boolean hasLinks, fixedPitch;
 	final static int BULLET_MARGIN = 8;
 
 	final static boolean COMPACT_STYLES = true;
 	final static boolean MERGE_STYLES = true;
 
+	/* Hashes the styles by their attributes, see StyleRange#similarTo() */
+	static final class StyleKey {
+		final StyleRange style;
+
+		StyleKey(StyleRange style) {
+			this.style = style;
+		}
+		@Override
+		public boolean equals(Object object) {
+			return object instanceof StyleKey key && style.similarTo(key.style);
+		}
+		@Override
+		public int hashCode() {
+			return style.hashCode();
+		}
+	}
+
 	final static int GROW = 32;
 	final static int IDLE_TIME = 50;
+	final static int IDLE_SCROLLBAR_TIME = 500;
 	final static int CACHE_SIZE = 300;
 
 	final static int BACKGROUND = 1 << 0;
@@ -337,37 +367,71 @@ void calculateClientArea () {
 		y += lineSizes[index++].height;
 	}
 }
+/**
+ * Measures the lines of the document in the background, in slices of
+ * IDLE_TIME milliseconds. The lines in the client area are measured first,
+ * then the remaining lines are measured in order starting at idleLine; all
+ * lines before idleLine are known to be measured. Until a line is measured
+ * its size is estimated, see getHeight(). The scroll bars are updated from
+ * time to time while measuring and once all lines have been measured.
+ */
 void calculateIdle () {
-	if (idleRunning) return;
+	if (idleRunnable != null) return;
 	Runnable runnable = new Runnable() {
+		long scrollBarTime = System.currentTimeMillis();
 		@Override
 		public void run() {
-			if (styledText == null) return;
-			int i;
+			if (idleRunnable != this) return;
+			if (styledText == null) {
+				idleRunnable = null;
+				return;
+			}
 			long start = System.currentTimeMillis();
-			for (i = 0; i < lineCount; i++) {
-				LineSizeInfo line = getLineSize(i);
-				if (line.needsRecalculateSize()) {
-					calculate(i, 1);
-					if (System.currentTimeMillis() - start > IDLE_TIME) break;
+			calculateClientArea();
+			idleMeasuring = true;
+			try {
+				while (idleLine < lineCount) {
+					LineSizeInfo line = getLineSize(idleLine);
+					if (line.needsRecalculateSize()) {
+						calculate(idleLine, 1);
+						if (System.currentTimeMillis() - start > IDLE_TIME) break;
+					}
+					idleLine++;
 				}
+			} finally {
+				idleMeasuring = false;
 			}
-			if (i < lineCount) {
+			if (idleLine < lineCount) {
+				if (start - scrollBarTime > IDLE_SCROLLBAR_TIME) {
+					scrollBarTime = start;
+					updateScrollBars();
+				}
 				Display display = styledText.getDisplay();
 				display.asyncExec(this);
 			} else {
-				idleRunning = false;
-				styledText.setScrollBars(true);
-				ScrollBar bar = styledText.getVerticalBar();
-				if (bar != null) {
-					bar.setSelection(styledText.getVerticalScrollOffset());
-				}
+				idleRunnable = null;
+				updateScrollBars();
+			}
+		}
+		void updateScrollBars() {
+			styledText.setScrollBars(true);
+			ScrollBar bar = styledText.getVerticalBar();
+			if (bar != null) {
+				bar.setSelection(styledText.getVerticalScrollOffset());
 			}
 		}
 	};
+	idleRunnable = runnable;
 	Display display = styledText.getDisplay();
 	display.asyncExec(runnable);
-	idleRunning = true;
+}
+/**
+ * Stops measuring lines in the background. A pending slice of work is
+ * discarded when it runs.
+ */
+void cancelIdle () {
+	idleRunnable = null;
+	idleLine = 0;
 }
 void clearLineBackground(int startLine, int count) {
 	if (lines == null) return;
@@ -390,7 +454,20 @@ void clearLineStyle(int startLine, int count) {
 		}
 	}
 }
+/**
+ * Applies the pending shift to the range starts, making them all absolute.
+ */
+void applyRangeShift() {
+	if (rangeShiftOffset != 0) {
+		for (int i = rangeShiftIndex, rangeCount = styleCount << 1; i < rangeCount; i += 2) {
+			ranges[i] += rangeShiftOffset;
+		}
+		rangeShiftOffset = 0;
+	}
+	rangeShiftIndex = 0;
+}
 void copyInto(StyledTextRenderer renderer) {
+	applyRangeShift();
 	if (ranges != null) {
 		int[] newRanges = renderer.ranges = new int[styleCount << 1];
 		System.arraycopy(ranges, 0, newRanges, 0, newRanges.length);
@@ -421,13 +498,21 @@ void dispose() {
 	styledText = null;
 }
 void disposeTextLayout (TextLayout layout) {
-	if (layouts != null) {
-		for (TextLayout l : layouts) {
-			if (l == layout) return;
-		}
+	Integer uses = layoutUses.remove(layout);
+	if (uses != null && uses.intValue() > 1) {
+		layoutUses.put(layout, uses.intValue() - 1);
+		return;
 	}
+	if (layouts != null && layouts.containsValue(layout)) return;
 	layout.dispose();
 }
+/*
+ * Disposes a layout that has been removed from the cache, unless a caller is
+ * still using it. disposeTextLayout() disposes it once the last caller is done.
+ */
+void evictTextLayout(TextLayout layout) {
+	if (!layoutUses.containsKey(layout)) layout.dispose();
+}
 void drawBullet(Bullet bullet, GC gc, int paintX, int paintY, int index, int lineAscent, int lineDescent) {
 	StyleRange style = bullet.style;
 	GlyphMetrics metrics = style.metrics;
@@ -669,7 +754,8 @@ int getHeight () {
 		int height = line.height;
 		if (line.needsRecalculateHeight()) {
 			if (width > 0) {
-				int length = content.getLine(i).length();
+				int end = i + 1 < lineCount ? content.getOffsetAtLine(i + 1) : content.getCharCount();
+				int length = end - content.getOffsetAtLine(i);
 				height = ((length * averageCharWidth / width) + 1) * defaultLineHeight;
 			} else {
 				height = defaultLineHeight;
@@ -708,7 +794,7 @@ boolean hasLink(int offset) {
 			int rangeCount = styleCount << 1;
 			int index = getRangeIndex(offset, -1, rangeCount);
 			if (index >= rangeCount) return false;
-			int rangeStart = ranges[index];
+			int rangeStart = getRangeStart(index);
 			int rangeLength = ranges[index + 1];
 			StyleRange rangeStyle = styles[index >> 1];
 			if (rangeStart <= offset && offset < rangeStart + rangeLength && rangeStyle.underline && rangeStyle.underlineStyle == SWT.UNDERLINE_LINK) {
@@ -870,7 +956,7 @@ int getRangeIndex(int offset, int low, int high) {
 	if (ranges != null)  {
 		while (high - low > 2) {
 			int index = ((high + low) / 2) / 2 * 2;
-			int end = ranges[index] + ranges[index + 1];
+			int end = getRangeStart(index) + ranges[index + 1];
 			if (end > offset) {
 				high = index;
 			} else {
@@ -890,6 +976,13 @@ int getRangeIndex(int offset, int low, int high) {
 	}
 	return high;
 }
+/**
+ * Returns the start of the range at the index in <code>ranges</code>,
+ * taking the pending shift into account.
+ */
+int getRangeStart(int index) {
+	return index < rangeShiftIndex ? ranges[index] : ranges[index] + rangeShiftOffset;
+}
 int[] getRanges(int start, int length) {
 	if (length == 0) return null;
 	int[] newRanges;
@@ -898,11 +991,14 @@ int[] getRanges(int start, int length) {
 		int rangeCount = styleCount << 1;
 		int rangeStart = getRangeIndex(start, -1, rangeCount);
 		if (rangeStart >= rangeCount) return null;
-		if (ranges[rangeStart] > end) return null;
+		if (getRangeStart(rangeStart) > end) return null;
 		int rangeEnd = Math.min(rangeCount - 2, getRangeIndex(end, rangeStart - 1, rangeCount));
-		if (ranges[rangeEnd] > end) rangeEnd = Math.max(rangeStart, rangeEnd - 2);
+		if (getRangeStart(rangeEnd) > end) rangeEnd = Math.max(rangeStart, rangeEnd - 2);
 		newRanges = new int[rangeEnd - rangeStart + 2];
-		System.arraycopy(ranges, rangeStart, newRanges, 0, newRanges.length);
+		for (int i = rangeStart, j = 0; i <= rangeEnd; i += 2, j += 2) {
+			newRanges[j] = getRangeStart(i);
+			newRanges[j + 1] = ranges[i + 1];
+		}
 	} else {
 		int rangeStart = getRangeIndex(start, -1, styleCount);
 		if (rangeStart >= styleCount) return null;
@@ -933,14 +1029,14 @@ StyleRange[] getStyleRanges(int start, int length, boolean includeRanges) {
 		int rangeCount = styleCount << 1;
 		int rangeStart = getRangeIndex(start, -1, rangeCount);
 		if (rangeStart >= rangeCount) return null;
-		if (ranges[rangeStart] > end) return null;
+		if (getRangeStart(rangeStart) > end) return null;
 		int rangeEnd = Math.min(rangeCount - 2, getRangeIndex(end, rangeStart - 1, rangeCount));
-		if (ranges[rangeEnd] > end) rangeEnd = Math.max(rangeStart, rangeEnd - 2);
+		if (getRangeStart(rangeEnd) > end) rangeEnd = Math.max(rangeStart, rangeEnd - 2);
 		newStyles = new StyleRange[((rangeEnd - rangeStart) >> 1) + 1];
 		if (includeRanges) {
 			for (int i = rangeStart, j = 0; i <= rangeEnd; i += 2, j++) {
 				newStyles[j] = (StyleRange)styles[i >> 1].clone();
-				newStyles[j].start = ranges[i];
+				newStyles[j].start = getRangeStart(i);
 				newStyles[j].length = ranges[i + 1];
 			}
 		} else {
@@ -1020,12 +1116,8 @@ boolean isSameLineSpacing(int lineIndex, int newLineSpacing) {
 	if (layouts == null) {
 		return false;
 	}
-	int layoutIndex = lineIndex - topIndex;
-	if (0 <= layoutIndex && layoutIndex < layouts.length) {
-		TextLayout layout = layouts[layoutIndex];
-		return layout != null && !layout.isDisposed() && layout.getSpacing() == newLineSpacing;
-	}
-	return false;
+	TextLayout layout = layouts.get(lineIndex);
+	return layout != null && !layout.isDisposed() && layout.getSpacing() == newLineSpacing;
 }
 
 private static final class StyleEntry {
@@ -1044,21 +1136,8 @@ TextLayout getTextLayout(int lineIndex, int orientation, int width, int lineSpac
 	TextLayout layout = null;
 	if (styledText != null) {
 		int topIndex = styledText.topIndex > 0 ? styledText.topIndex - 1 : 0;
-		if (layouts == null || topIndex != this.topIndex) {
-			TextLayout[] newLayouts = new TextLayout[CACHE_SIZE];
-			if (layouts != null) {
-				for (int i = 0; i < layouts.length; i++) {
-					if (layouts[i] != null) {
-						int layoutIndex = (i + this.topIndex) - topIndex;
-						if (0 <= layoutIndex && layoutIndex < newLayouts.length) {
-							newLayouts[layoutIndex] = layouts[i];
-						} else {
-							layouts[i].dispose();
-						}
-					}
-				}
-			}
-			if (bullets != null && bulletsIndices != null && topIndex != this.topIndex) {
+		if (topIndex != this.topIndex) {
+			if (bullets != null && bulletsIndices != null) {
 				int delta = topIndex - this.topIndex;
 				if (delta > 0) {
 					if (delta < bullets.length) {
@@ -1077,22 +1156,36 @@ TextLayout getTextLayout(int lineIndex, int orientation, int width, int lineSpac
 				}
 			}
 			this.topIndex = topIndex;
-			layouts = newLayouts;
-		}
-		if (layouts != null) {
-			int layoutIndex = lineIndex - topIndex;
-			if (0 <= layoutIndex && layoutIndex < layouts.length) {
-				layout = layouts[layoutIndex];
-				if (layout != null) {
-					// Bug 520374: lineIndex can be >= linesSize.length
-					if(lineIndex < lineSizes.length && getLineSize(lineIndex).canLayout()) {
-						return layout;
+		}
+		if (layouts == null) {
+			layouts = new LinkedHashMap<>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Integer, TextLayout> eldest) {
+					if (size() > layoutCacheSize) {
+						evictTextLayout(eldest.getValue());
+						return true;
 					}
-				} else {
-					layout = layouts[layoutIndex] = new TextLayout(device);
+					return false;
 				}
+			};
+		}
+		layout = layouts.get(lineIndex);
+		if (layout != null) {
+			// Bug 520374: lineIndex can be >= linesSize.length
+			if(lineIndex < lineSizes.length && getLineSize(lineIndex).canLayout()) {
+				layoutCacheHits++;
+				layoutUses.merge(layout, 1, Integer::sum);
+				return layout;
 			}
+			layoutUses.merge(layout, 1, Integer::sum);
+		} else if (layoutCacheSize > 0 && !idleMeasuring) {
+			layout = new TextLayout(device);
+			layoutUses.put(layout, 1);
+			layouts.put(lineIndex, layout);
 		}
+		layoutCacheMisses++;
 	}
 	if (layout == null) layout = new TextLayout(device);
 	String line = content.getLine(lineIndex);
@@ -1110,6 +1203,7 @@ TextLayout getTextLayout(int lineIndex, int orientation, int width, int lineSpac
 	int[] ranges = null;
 	StyleRange[] styles = null;
 	int rangeStart = 0, styleCount = 0;
+	int rangeShiftIndex = 0, rangeShiftOffset = 0;
 	StyledTextEvent event = null;
 	if (styledText != null) {
 		event = styledText.getBidiSegments(lineOffset, line);
@@ -1188,6 +1282,8 @@ TextLayout getTextLayout(int lineIndex, int orientation, int width, int lineSpac
 			}
 		}
 		ranges = this.ranges;
+		rangeShiftIndex = this.rangeShiftIndex;
+		rangeShiftOffset = this.rangeShiftOffset;
 		styles = this.styles;
 		styleCount = this.styleCount;
 		if (ranges != null) {
@@ -1215,11 +1311,12 @@ TextLayout getTextLayout(int lineIndex, int orientation, int width, int lineSpac
 			int rangeCount = styleCount << 1;
 			for (int i = rangeStart; i < rangeCount; i += 2) {
 				int start, end;
-				if (lineOffset > ranges[i]) {
+				int styleStart = i < rangeShiftIndex ? ranges[i] : ranges[i] + rangeShiftOffset;
+				if (lineOffset > styleStart) {
 					start = 0;
-					end = Math.min (length, ranges[i + 1] - lineOffset + ranges[i]);
+					end = Math.min (length, ranges[i + 1] - lineOffset + styleStart);
 				} else {
-					start = ranges[i] - lineOffset;
+					start = styleStart - lineOffset;
 					end = Math.min(length, start + ranges[i + 1]);
 				}
 				if (start >= length) break;
@@ -1358,8 +1455,8 @@ TextLayout getTextLayout(int lineIndex, int orientation, int width, int lineSpac
 			ascent = metrics.getAscent() + metrics.getLeading();
 			descent = metrics.getDescent();
 			if (layouts != null) {
-				for (TextLayout l : layouts) {
-					if (l != null && l != layout) {
+				for (TextLayout l : layouts.values()) {
+					if (l != layout) {
 						l.setAscent(ascent);
 						l.setDescent(descent);
 					}
@@ -1389,15 +1486,31 @@ TextLayout getTextLayout(int lineIndex, int orientation, int width, int lineSpac
 int getWidth() {
 	return maxWidth;
 }
+/**
+ * Moves the boundary of the pending shift to the index, making the starts
+ * before it absolute and the ones after it relative.
+ */
+void moveRangeShift(int index) {
+	if (rangeShiftOffset != 0) {
+		for (int i = index; i < rangeShiftIndex; i += 2) {
+			ranges[i] -= rangeShiftOffset;
+		}
+		for (int i = rangeShiftIndex; i < index; i += 2) {
+			ranges[i] += rangeShiftOffset;
+		}
+	}
+	rangeShiftIndex = index;
+}
 void reset() {
 	if (layouts != null) {
-		for (TextLayout layout : layouts) {
-			if (layout != null) layout.dispose();
+		for (TextLayout layout : layouts.values()) {
+			evictTextLayout(layout);
 		}
 		layouts = null;
 	}
+	cancelIdle();
 	topIndex = -1;
-	stylesSetCount = styleCount = lineCount = 0;
+	rangeShiftIndex = rangeShiftOffset = styleCount = lineCount = 0;
 	ranges = null;
 	styles = null;
 	stylesSet = null;
@@ -1424,6 +1537,7 @@ void reset(Set<Integer> lines) {
 		if (line >= 0 || line < lineCount) {
 			resetLineCount++;
 			getLineSize(line.intValue()).resetSize();
+			idleLine = Math.min(idleLine, line.intValue());
 		}
 	}
 	if (linesInAverageLineHeight > resetLineCount) {
@@ -1629,40 +1743,38 @@ void setLineTabStops(int startLine, int count, int[] tabStops) {
 		lines[i].tabStops = tabStops;
 	}
 }
+void setLayoutCacheSize(int size) {
+	layoutCacheSize = size;
+	if (layouts != null) {
+		Iterator<TextLayout> iterator = layouts.values().iterator();
+		while (layouts.size() > size) {
+			evictTextLayout(iterator.next());
+			iterator.remove();
+		}
+	}
+}
 void setLineSpacingProvider(StyledTextLineSpacingProvider lineSpacingProvider) {
 	this.lineSpacingProvider = lineSpacingProvider;
 }
 void setStyleRanges (int[] newRanges, StyleRange[] newStyles) {
 	if (newStyles == null) {
-		stylesSetCount = styleCount = 0;
+		rangeShiftIndex = rangeShiftOffset = styleCount = 0;
 		ranges = null;
 		styles = null;
 		stylesSet = null;
 		hasLinks = false;
 		return;
 	}
+	applyRangeShift();
 	if (newRanges == null && COMPACT_STYLES) {
 		newRanges = new int[newStyles.length << 1];
 		StyleRange[] tmpStyles = new StyleRange[newStyles.length];
-		if (stylesSet == null) stylesSet = new StyleRange[4];
+		if (stylesSet == null) stylesSet = new HashMap<>();
 		for (int i = 0, j = 0; i < newStyles.length; i++) {
 			StyleRange newStyle = newStyles[i];
 			newRanges[j++] = newStyle.start;
 			newRanges[j++] = newStyle.length;
-			int index = 0;
-			while (index < stylesSetCount) {
-				if (stylesSet[index].similarTo(newStyle)) break;
-				index++;
-			}
-			if (index == stylesSetCount) {
-				if (stylesSetCount == stylesSet.length) {
-					StyleRange[] tmpStylesSet = new StyleRange[stylesSetCount + 4];
-					System.arraycopy(stylesSet, 0, tmpStylesSet, 0, stylesSetCount);
-					stylesSet = tmpStylesSet;
-				}
-				stylesSet[stylesSetCount++] = newStyle;
-			}
-			tmpStyles[i] = stylesSet[index];
+			tmpStyles[i] = stylesSet.computeIfAbsent(new StyleKey(newStyle), key -> key.style);
 		}
 		newStyles = tmpStyles;
 	}
@@ -1785,6 +1897,16 @@ void setStyleRanges (int[] newRanges, StyleRange[] newStyles) {
 		}
 	}
 }
+/**
+ * Shifts the starts of the ranges from the index to the end by the offset.
+ * The index must not be after rangeShiftIndex.
+ */
+void shiftRanges(int index, int offset) {
+	for (int i = index; i < rangeShiftIndex; i += 2) {
+		ranges[i] += offset;
+	}
+	rangeShiftOffset += offset;
+}
 void textChanging(TextChangingEvent event) {
 	int start = event.start;
 	int newCharCount = event.newCharCount, replaceCharCount = event.replaceCharCount;
@@ -1793,6 +1915,7 @@ void textChanging(TextChangingEvent event) {
 	updateRanges(start, replaceCharCount, newCharCount);
 
 	int startLine = content.getLineAtOffset(start);
+	idleLine = Math.min(idleLine, startLine);
 	if (replaceCharCount == content.getCharCount()) lines = null;
 	if (replaceLineCount == lineCount) {
 		lineCount = newLineCount;
@@ -1827,53 +1950,44 @@ void textChanging(TextChangingEvent event) {
 		for (int i = lineCount + delta; i < lineCount; i++) {
 			lineSizes[i] = null;
 		}
-		if (layouts != null) {
-			int layoutStartLine = startLine - topIndex;
-			int layoutEndLine = layoutStartLine + replaceLineCount + 1;
-			for (int i = layoutStartLine; i < layoutEndLine; i++) {
-				if (0 <= i && i < layouts.length) {
-					if (layouts[i] != null) layouts[i].dispose();
-					layouts[i] = null;
-					if (bullets != null && bulletsIndices != null) bullets[i] = null;
+		if (layouts != null && !layouts.isEmpty()) {
+			Integer[] layoutLines = layouts.keySet().toArray(new Integer[layouts.size()]);
+			TextLayout[] cachedLayouts = layouts.values().toArray(new TextLayout[layouts.size()]);
+			layouts.clear();
+			for (int i = 0; i < layoutLines.length; i++) {
+				int lineIndex = layoutLines[i].intValue();
+				if (lineIndex < startLine) {
+					layouts.put(lineIndex, cachedLayouts[i]);
+				} else if (lineIndex > startLine + replaceLineCount) {
+					layouts.put(lineIndex + delta, cachedLayouts[i]);
+				} else {
+					evictTextLayout(cachedLayouts[i]);
 				}
 			}
+		}
+		if (bullets != null && bulletsIndices != null) {
+			int bulletStartLine = startLine - topIndex;
+			int bulletEndLine = bulletStartLine + replaceLineCount + 1;
+			for (int i = Math.max(0, bulletStartLine); i < Math.min(bullets.length, bulletEndLine); i++) {
+				bullets[i] = null;
+			}
 			if (delta > 0) {
-				for (int i = layouts.length - 1; i >= layoutEndLine; i--) {
-					if (0 <= i && i < layouts.length) {
-						endIndex = i + delta;
-						if (0 <= endIndex && endIndex < layouts.length) {
-							layouts[endIndex] = layouts[i];
-							layouts[i] = null;
-							if (bullets != null && bulletsIndices != null) {
-								bullets[endIndex] = bullets[i];
-								bulletsIndices[endIndex] = bulletsIndices[i];
-								bullets[i] = null;
-							}
-						} else {
-							if (layouts[i] != null) layouts[i].dispose();
-							layouts[i] = null;
-							if (bullets != null && bulletsIndices != null) bullets[i] = null;
-						}
+				for (int i = bullets.length - 1; i >= Math.max(0, bulletEndLine); i--) {
+					int index = i + delta;
+					if (index < bullets.length) {
+						bullets[index] = bullets[i];
+						bulletsIndices[index] = bulletsIndices[i];
 					}
+					bullets[i] = null;
 				}
 			} else if (delta < 0) {
-				for (int i = layoutEndLine; i < layouts.length; i++) {
-					if (0 <= i && i < layouts.length) {
-						endIndex = i + delta;
-						if (0 <= endIndex && endIndex < layouts.length) {
-							layouts[endIndex] = layouts[i];
-							layouts[i] = null;
-							if (bullets != null && bulletsIndices != null) {
-								bullets[endIndex] = bullets[i];
-								bulletsIndices[endIndex] = bulletsIndices[i];
-								bullets[i] = null;
-							}
-						} else {
-							if (layouts[i] != null) layouts[i].dispose();
-							layouts[i] = null;
-							if (bullets != null && bulletsIndices != null) bullets[i] = null;
-						}
+				for (int i = Math.max(0, bulletEndLine); i < bullets.length; i++) {
+					int index = i + delta;
+					if (0 <= index) {
+						bullets[index] = bullets[i];
+						bulletsIndices[index] = bulletsIndices[i];
 					}
+					bullets[i] = null;
 				}
 			}
 		}
@@ -1949,6 +2063,11 @@ void updateRanges(int start, int replaceCharCount, int newCharCount) {
 		int end = start + replaceCharCount;
 		int modifyEnd = getRangeIndex(end, modifyStart - 1, rangeCount);
 		int offset = newCharCount - replaceCharCount;
+		/*
+		 * Make the starts up to the ranges being modified absolute, the
+		 * following ones are shifted by offset when the pending shift is.
+		 */
+		moveRangeShift(Math.min(rangeCount, modifyEnd + 2));
 		if (modifyStart == modifyEnd && ranges[modifyStart] < start && end < ranges[modifyEnd] + ranges[modifyEnd + 1]) {
 			if (newCharCount == 0) {
 				ranges[modifyStart + 1] -= replaceCharCount;
@@ -1964,6 +2083,7 @@ void updateRanges(int start, int replaceCharCount, int newCharCount) {
 				}
 				System.arraycopy(ranges, modifyStart + 2, ranges, modifyStart + 4, rangeCount - (modifyStart + 2));
 				System.arraycopy(styles, (modifyStart + 2) >> 1, styles, (modifyStart + 4) >> 1, styleCount - ((modifyStart + 2) >> 1));
+				rangeShiftIndex += 2;
 				ranges[modifyStart + 3] = ranges[modifyStart] + ranges[modifyStart + 1] - end;
 				ranges[modifyStart + 2] = start + newCharCount;
 				ranges[modifyStart + 1] = start - ranges[modifyStart];
@@ -1972,11 +2092,7 @@ void updateRanges(int start, int replaceCharCount, int newCharCount) {
 				styleCount++;
 				modifyEnd += 4;
 			}
-			if (offset != 0) {
-				for (int i = modifyEnd; i < rangeCount; i += 2) {
-					ranges[i] += offset;
-				}
-			}
+			if (offset != 0) shiftRanges(modifyEnd, offset);
 		} else {
 			if (ranges[modifyStart] < start && start < ranges[modifyStart] + ranges[modifyStart + 1]) {
 				ranges[modifyStart + 1] = start - ranges[modifyStart];
@@ -1986,13 +2102,10 @@ void updateRanges(int start, int replaceCharCount, int newCharCount) {
 				ranges[modifyEnd + 1] = ranges[modifyEnd] + ranges[modifyEnd + 1] - end;
 				ranges[modifyEnd] = end;
 			}
-			if (offset != 0) {
-				for (int i = modifyEnd; i < rangeCount; i += 2) {
-					ranges[i] += offset;
-				}
-			}
+			if (offset != 0) shiftRanges(modifyEnd, offset);
 			System.arraycopy(ranges, modifyEnd, ranges, modifyStart, rangeCount - modifyEnd);
 			System.arraycopy(styles, modifyEnd >> 1, styles, modifyStart >> 1, styleCount - (modifyEnd >> 1));
+			rangeShiftIndex -= modifyEnd - modifyStart;
 			styleCount -= (modifyEnd - modifyStart) >> 1;
 		}
 	} else {
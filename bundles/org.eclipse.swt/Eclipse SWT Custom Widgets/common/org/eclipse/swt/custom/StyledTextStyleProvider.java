@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.custom;
+
+/**
+ * Style provider used to compute the styles of a {@link StyledText} outside
+ * of the UI thread.
+ * <p>
+ * When the text changes, the widget collects the changed lines and calls the
+ * provider with a copy of their text on the executor given to
+ * {@link StyledText#setStyleProvider(StyledTextStyleProvider, java.util.concurrent.Executor)}.
+ * The styles returned by the provider replace the styles of these lines in
+ * one step on the UI thread, unless the text has changed in the meantime, in
+ * which case they are discarded and the lines are requested again.
+ * </p><p>
+ * The provider is not called on the UI thread and must not access the widget.
+ * The widget waits for the styles of a request before it sends the next one.
+ * </p>
+ *
+ * @see StyledText#setStyleProvider(StyledTextStyleProvider, java.util.concurrent.Executor)
+ * @since 3.126
+ */
+@FunctionalInterface
+public interface StyledTextStyleProvider {
+
+	/**
+	 * Returns the styles of the given text, which consists of whole lines of
+	 * the widget content starting at the given offset.
+	 *
+	 * @param text
+	 *            the text of the lines
+	 * @param offset
+	 *            the offset of the text in the widget content
+	 * @return the styles of the text, with start offsets in the widget content,
+	 *         in order and not overlapping, or <code>null</code> to clear the
+	 *         styles of the lines
+	 */
+	StyleRange[] getStyleRanges(String text, int offset);
+
+}
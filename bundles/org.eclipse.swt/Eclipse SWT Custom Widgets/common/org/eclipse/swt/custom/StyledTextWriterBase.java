@@ -79,42 +79,21 @@ abstract class StyledTextWriterBase extends TextWriter {
 		if (isClosed()) {
 			SWT.error(SWT.ERROR_IO);
 		}
+		writeStyledLine(line, lineOffset, new LineStyle(styledText, line, lineOffset));
+	}
 
-		int lineIndex = styledText.content.getLineAtOffset(lineOffset);
-		int lineAlignment;
-		int lineIndent;
-		boolean lineJustify;
-		int verticalIndent;
-		int[] ranges;
-		StyleRange[] styles;
-
-		StyledTextEvent event = styledText.getLineStyleData(lineOffset, line);
-		if (event != null) {
-			verticalIndent = event.verticalIndent;
-			lineAlignment = event.alignment;
-			lineIndent = event.indent;
-			lineJustify = event.justify;
-			ranges = event.ranges;
-			styles = event.styles;
-		} else {
-			verticalIndent = styledText.renderer.getLineVerticalIndent(lineIndex);
-			lineAlignment = styledText.renderer.getLineAlignment(lineIndex, styledText.alignment);
-			lineIndent = styledText.renderer.getLineIndent(lineIndex, styledText.indent);
-			lineJustify = styledText.renderer.getLineJustify(lineIndex, styledText.justify);
-			ranges = styledText.renderer.getRanges(lineOffset, line.length());
-			styles = styledText.renderer.getStyleRanges(lineOffset, line.length(), false);
-		}
-
-		if (styles == null) {
-			styles = new StyleRange[0];
-		}
-
-		event = styledText.getLineBackgroundData(lineOffset, line);
-		Color lineBackground = (event != null && event.lineBackground != null)
-				? event.lineBackground
-				: styledText.renderer.getLineBackground(lineIndex, null);
-
-		writeStyledLine(line, lineOffset, ranges, styles, lineBackground, lineIndent, verticalIndent, lineAlignment, lineJustify);
+	/**
+	 * Appends the specified line text to the output data, formatted using the
+	 * given line styles.
+	 *
+	 * @param line line text to write. Must not contain line breaks
+	 * @param lineOffset offset of the line. 0 based from the start of the
+	 *  widget document.
+	 * @param lineStyle the styles of the line
+	 */
+	void writeStyledLine(String line, int lineOffset, LineStyle lineStyle) {
+		writeStyledLine(line, lineOffset, lineStyle.ranges, lineStyle.styles, lineStyle.lineBackground,
+				lineStyle.indent, lineStyle.verticalIndent, lineStyle.alignment, lineStyle.justify);
 	}
 
 	/**
@@ -273,4 +252,65 @@ abstract class StyledTextWriterBase extends TextWriter {
 	void writeSpanEnd(String prepared) {
 		write(prepared);
 	}
+
+	/**
+	 * The styles of a line, queried from the {@link LineStyleListener} and
+	 * {@link LineBackgroundListener}, if set, or those set directly in the
+	 * widget.
+	 * <p>
+	 * The styles do not change when the widget changes, so that a copy can
+	 * be written after the text or the styles of the widget have changed.
+	 * </p>
+	 */
+	static final class LineStyle {
+		final int alignment;
+		final int indent;
+		final boolean justify;
+		final int verticalIndent;
+		final int[] ranges;
+		final StyleRange[] styles;
+		final Color lineBackground;
+
+		LineStyle(StyledText styledText, String line, int lineOffset) {
+			int lineIndex = styledText.content.getLineAtOffset(lineOffset);
+			int[] ranges;
+			StyleRange[] styles;
+			StyledTextEvent event = styledText.getLineStyleData(lineOffset, line);
+			if (event != null) {
+				verticalIndent = event.verticalIndent;
+				alignment = event.alignment;
+				indent = event.indent;
+				justify = event.justify;
+				ranges = event.ranges;
+				styles = event.styles;
+			} else {
+				verticalIndent = styledText.renderer.getLineVerticalIndent(lineIndex);
+				alignment = styledText.renderer.getLineAlignment(lineIndex, styledText.alignment);
+				indent = styledText.renderer.getLineIndent(lineIndex, styledText.indent);
+				justify = styledText.renderer.getLineJustify(lineIndex, styledText.justify);
+				ranges = styledText.renderer.getRanges(lineOffset, line.length());
+				styles = styledText.renderer.getStyleRanges(lineOffset, line.length(), false);
+			}
+			if (styles == null) {
+				styles = new StyleRange[0];
+			} else if (event != null) {
+				// the listener may reuse its arrays and styles
+				styles = styles.clone();
+				if (ranges != null) {
+					ranges = ranges.clone();
+				} else {
+					for (int i = 0; i < styles.length; i++) {
+						styles[i] = (StyleRange) styles[i].clone();
+					}
+				}
+			}
+			this.ranges = ranges;
+			this.styles = styles;
+
+			event = styledText.getLineBackgroundData(lineOffset, line);
+			lineBackground = (event != null && event.lineBackground != null)
+					? event.lineBackground
+					: styledText.renderer.getLineBackground(lineIndex, null);
+		}
+	}
 }
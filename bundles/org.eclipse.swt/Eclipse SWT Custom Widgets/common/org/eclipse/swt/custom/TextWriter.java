@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.swt.custom;
 
+import java.util.*;
+
 import org.eclipse.swt.*;
 
 /**
@@ -23,14 +25,22 @@ import org.eclipse.swt.*;
  * <p>
  * <b>NOTE:</b> <code>toString()</code> is guaranteed to return a valid string only after close()
  * has been called.
+ * </p><p>
+ * The data is kept in chunks of bounded size, so that writing a lot of data,
+ * such as the RTF of a large text, does not copy the data written so far
+ * each time the buffer grows.
  * </p>
  */
 class TextWriter {
-	private StringBuilder buffer;
+	static final int CHUNK_SIZE = 64 * 1024;
+	private List<StringBuilder> chunks = new ArrayList<>();
+	private StringBuilder buffer;		// the last chunk
+	private int bufferOffset;			// offset of the last chunk in the data
 	private int startOffset;	// offset of first character that will be written
 	private int endOffset;		// offset of last character that will be written.
 								// 0 based from the beginning of the widget text.
 	private boolean isClosed = false;
+	private String result;		// the data, once it has been returned after close()
 
 	/**
 	 * Creates a writer that writes content starting at offset "start"
@@ -40,7 +50,8 @@ class TextWriter {
 	 * @param length length of content to write
 	 */
 	public TextWriter(int start, int length) {
-		buffer = new StringBuilder(length);
+		buffer = new StringBuilder(Math.min(length, CHUNK_SIZE));
+		chunks.add(buffer);
 		startOffset = start;
 		endOffset = start + length;
 	}
@@ -84,13 +95,40 @@ class TextWriter {
 	 */
 	@Override
 	public String toString() {
-		return buffer.toString();
+		if (result != null) return result;
+		if (chunks.size() == 1) return buffer.toString();
+		char[] chars = new char[bufferOffset + buffer.length()];
+		int offset = 0;
+		for (int i = 0; i < chunks.size(); i++) {
+			StringBuilder chunk = chunks.get(i);
+			chunk.getChars(0, chunk.length(), chars, offset);
+			offset += chunk.length();
+			// the data of a closed writer does not change, drop each chunk once it is copied
+			if (isClosed) chunks.set(i, null);
+		}
+		String string = new String(chars);
+		if (isClosed) {
+			chunks.clear();
+			result = string;
+		}
+		return string;
+	}
+	/**
+	 * Returns the chunk to append the given number of characters to.
+	 */
+	private StringBuilder getBuffer(int count) {
+		if (buffer.length() > 0 && buffer.length() + count > CHUNK_SIZE) {
+			bufferOffset += buffer.length();
+			buffer = new StringBuilder(Math.max(count, CHUNK_SIZE));
+			chunks.add(buffer);
+		}
+		return buffer;
 	}
 	/**
 	 * Appends the given string to the data.
 	 */
 	void write(String string) {
-		buffer.append(string);
+		getBuffer(string.length()).append(string);
 	}
 	/**
 	 * Inserts the given string to the data at the specified offset.
@@ -102,22 +140,30 @@ class TextWriter {
 	 * @param offset offset in the existing data to insert "string" at.
 	 */
 	void write(String string, int offset) {
-		if (offset < 0 || offset > buffer.length()) {
+		if (offset < 0 || offset > bufferOffset + buffer.length()) {
 			return;
 		}
-		buffer.insert(offset, string);
+		int chunkOffset = 0;
+		for (StringBuilder chunk : chunks) {
+			if (offset <= chunkOffset + chunk.length()) {
+				chunk.insert(offset - chunkOffset, string);
+				if (chunk != buffer) bufferOffset += string.length();
+				return;
+			}
+			chunkOffset += chunk.length();
+		}
 	}
 	/**
 	 * Appends the given int to the data.
 	 */
 	void write(int i) {
-		buffer.append(i);
+		getBuffer(11).append(i);
 	}
 	/**
 	 * Appends the given character to the data.
 	 */
 	void write(char i) {
-		buffer.append(i);
+		getBuffer(1).append(i);
 	}
 	/**
 	 * Appends the specified line text to the data.
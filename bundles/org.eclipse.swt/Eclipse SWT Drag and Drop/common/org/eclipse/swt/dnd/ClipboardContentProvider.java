@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.dnd;
+
+
+import java.util.function.*;
+
+import org.eclipse.swt.*;
+
+/**
+ * Stands for the data of one transfer that was set on a <code>Clipboard</code>
+ * with <code>setContentProviders</code>. The supplier is asked for the data
+ * the first time it is requested in a format of the transfer, and only once.
+ */
+final class ClipboardContentProvider {
+	final Supplier<?> supplier;
+	final Transfer transfer;
+	Object data;
+	boolean supplied;
+
+ClipboardContentProvider(Supplier<?> supplier, Transfer transfer) {
+	this.supplier = supplier;
+	this.transfer = transfer;
+}
+
+/**
+ * Returns the data of the supplier, or <code>null</code> if it has none
+ * or its data can not be converted by the transfer.
+ */
+Object get() {
+	if (!supplied) {
+		supplied = true;
+		Object result = supplier.get();
+		data = result != null && transfer.validate(result) ? result : null;
+	}
+	return data;
+}
+
+/**
+ * Returns the data that was set on the clipboard for a transfer, asking
+ * the supplier for it if it was set with a provider.
+ */
+static Object getData(Object data) {
+	return data instanceof ClipboardContentProvider ? ((ClipboardContentProvider) data).get() : data;
+}
+
+/**
+ * Returns the data of the suppliers, to be set on the clipboard in place of
+ * the data of the transfers.
+ */
+static Object[] wrap(Supplier<?>[] providers, Transfer[] dataTypes) {
+	if (providers == null || dataTypes == null || providers.length != dataTypes.length || providers.length == 0) {
+		DND.error(SWT.ERROR_INVALID_ARGUMENT);
+	}
+	Object[] data = new Object[providers.length];
+	for (int i = 0; i < providers.length; i++) {
+		if (providers[i] == null || dataTypes[i] == null) {
+			DND.error(SWT.ERROR_INVALID_ARGUMENT);
+		}
+		data[i] = new ClipboardContentProvider(providers[i], dataTypes[i]);
+	}
+	return data;
+}
+}
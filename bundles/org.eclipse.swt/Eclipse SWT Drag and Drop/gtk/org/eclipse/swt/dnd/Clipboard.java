@@ -14,6 +14,9 @@
 package org.eclipse.swt.dnd;
 
 
+import java.util.concurrent.*;
+import java.util.function.*;
+
 import org.eclipse.swt.*;
 import org.eclipse.swt.graphics.*;
 import org.eclipse.swt.internal.*;
@@ -382,6 +385,117 @@ private Object getContents_gtk4(Transfer transfer, int clipboards) {
 	return null;
 }
 
+/**
+ * Retrieve the data of the specified type currently available on the system
+ * clipboard without waiting for the application that owns the clipboard.
+ * Refer to the specific subclass of <code>Transfer</code> to determine the
+ * type of object returned.
+ *
+ * @param transfer the transfer agent for the type of data being requested
+ * @return a future that is completed on the user-interface thread with the
+ * data obtained from the clipboard or null if no data of this type is available
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if transfer is null</li>
+ * </ul>
+ *
+ * @see #getContents(Transfer)
+ *
+ * @since 3.126
+ */
+public CompletableFuture<Object> getContentsAsync(Transfer transfer) {
+	return getContentsAsync(transfer, DND.CLIPBOARD);
+}
+
+/**
+ * Retrieve the data of the specified type currently available on the specified
+ * clipboard without waiting for the application that owns the clipboard.
+ * Refer to the specific subclass of <code>Transfer</code> to determine the
+ * type of object returned.
+ * <p>
+ * Unlike {@link #getContents(Transfer, int)}, this method returns at once and
+ * does not run a nested event loop, so a slow or hung clipboard owner does not
+ * block the user-interface thread. On platforms where the clipboard can only
+ * be read synchronously, the returned future is already completed.
+ * </p>
+ *
+ * <p>The clipboards value is either one of the clipboard constants defined in
+ * class <code>DND</code>, or must be built by <em>bitwise OR</em>'ing together
+ * (that is, using the <code>int</code> "|" operator) two or more
+ * of those <code>DND</code> clipboard constants.</p>
+ *
+ * @param transfer the transfer agent for the type of data being requested
+ * @param clipboards on which to look for data
+ * @return a future that is completed on the user-interface thread with the
+ * data obtained from the clipboard or null if no data of this type is available
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if transfer is null</li>
+ * </ul>
+ *
+ * @see #getContents(Transfer, int)
+ * @see DND#CLIPBOARD
+ * @see DND#SELECTION_CLIPBOARD
+ *
+ * @since 3.126
+ */
+public CompletableFuture<Object> getContentsAsync(Transfer transfer, int clipboards) {
+	checkWidget();
+	if (transfer == null) DND.error(SWT.ERROR_NULL_ARGUMENT);
+	CompletableFuture<Object> result = new CompletableFuture<>();
+	if (GTK.GTK4) {
+		result.complete(getContents_gtk4(transfer, clipboards));
+		return result;
+	}
+	requestContents(ClipboardProxy._getInstance(display), transfer, clipboards, 0, result);
+	return result;
+}
+
+/**
+ * Requests the data of the transfer, starting with its type at the specified
+ * index in the clipboard and then in the primary clipboard, in the same order
+ * as <code>getContents</code> waits for them, and completes the future with
+ * the first data that is received.
+ */
+private static void requestContents(ClipboardProxy proxy, Transfer transfer, int clipboards, int index, CompletableFuture<Object> result) {
+	int[] typeIds = transfer.getTypeIds();
+	int typeIndex = index / 2;
+	if (typeIndex >= typeIds.length) {
+		result.complete(null);
+		return;
+	}
+	long clipboard = index % 2 == 0 ? GTKCLIPBOARD : GTKPRIMARYCLIPBOARD;
+	int mask = index % 2 == 0 ? DND.CLIPBOARD : DND.SELECTION_CLIPBOARD;
+	if ((clipboards & mask) == 0 || proxy.display == null) {
+		requestContents(proxy, transfer, clipboards, index + 1, result);
+		return;
+	}
+	proxy.requestContents(clipboard, typeIds[typeIndex], selection_data -> {
+		if (selection_data == 0 || GTK3.gtk_selection_data_get_length(selection_data) < 0) {
+			requestContents(proxy, transfer, clipboards, index + 1, result);
+			return;
+		}
+		try {
+			TransferData tdata = new TransferData();
+			tdata.type = GTK3.gtk_selection_data_get_data_type(selection_data);
+			tdata.pValue = GTK3.gtk_selection_data_get_data(selection_data);
+			tdata.length = GTK3.gtk_selection_data_get_length(selection_data);
+			tdata.format = GTK3.gtk_selection_data_get_format(selection_data);
+			result.complete(transfer.nativeToJava(tdata));
+		} catch (RuntimeException e) {
+			result.completeExceptionally(e);
+		}
+	});
+}
+
 /**
  * Returns <code>true</code> if the clipboard has been disposed,
  * and <code>false</code> otherwise.
@@ -525,6 +639,86 @@ public void setContents(Object[] data, Transfer[] dataTypes, int clipboards) {
 	}
 }
 
+/**
+ * Place data of the specified type on the system clipboard, asking the
+ * providers for the data only when it is requested.
+ *
+ * @param providers the suppliers of the data to be set in the clipboard
+ * @param dataTypes the transfer agents that will convert the data to its
+ * platform specific format; each entry in the providers array must have a
+ * corresponding dataType
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_INVALID_ARGUMENT - if providers is null or datatypes is null
+ *          or the length of providers is not the same as the length of dataTypes</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *  @exception SWTError <ul>
+ *    <li>ERROR_CANNOT_SET_CLIPBOARD - if the clipboard is locked or otherwise unavailable</li>
+ * </ul>
+ *
+ * @see #setContentProviders(Supplier[], Transfer[], int)
+ *
+ * @since 3.126
+ */
+public void setContentProviders(Supplier<?>[] providers, Transfer[] dataTypes) {
+	setContentProviders(providers, dataTypes, DND.CLIPBOARD);
+}
+
+/**
+ * Place data of the specified type on the specified clipboard, asking the
+ * providers for the data only when it is requested.
+ * <p>
+ * Each provider is called on the user-interface thread the first time its
+ * data is requested in one of the formats of its transfer, by this or by
+ * another application, and at most once. This avoids expensive conversions,
+ * like encoding a large image, for formats that are never pasted. A provider
+ * that returns <code>null</code> or data that its transfer can not convert
+ * provides nothing. On some platforms the clipboard takes the data in all
+ * formats when it is set, and the providers are called at once.
+ * </p>
+ *
+ * <p>The clipboards value is either one of the clipboard constants defined in
+ * class <code>DND</code>, or must be built by <em>bitwise OR</em>'ing together
+ * (that is, using the <code>int</code> "|" operator) two or more
+ * of those <code>DND</code> clipboard constants.</p>
+ *
+ * @param providers the suppliers of the data to be set in the clipboard
+ * @param dataTypes the transfer agents that will convert the data to its
+ * platform specific format; each entry in the providers array must have a
+ * corresponding dataType
+ * @param clipboards on which to set the data
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_INVALID_ARGUMENT - if providers is null or datatypes is null
+ *          or the length of providers is not the same as the length of dataTypes</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *  @exception SWTError <ul>
+ *    <li>ERROR_CANNOT_SET_CLIPBOARD - if the clipboard is locked or otherwise unavailable</li>
+ * </ul>
+ *
+ * @see #setContents(Object[], Transfer[], int)
+ * @see DND#CLIPBOARD
+ * @see DND#SELECTION_CLIPBOARD
+ *
+ * @since 3.126
+ */
+public void setContentProviders(Supplier<?>[] providers, Transfer[] dataTypes, int clipboards) {
+	checkWidget();
+	Object[] data = ClipboardContentProvider.wrap(providers, dataTypes);
+	ClipboardProxy proxy = ClipboardProxy._getInstance(display);
+	if (!proxy.setData(this, data, dataTypes, clipboards)) {
+		DND.error(DND.ERROR_CANNOT_SET_CLIPBOARD);
+	}
+}
+
 /**
  * Returns an array of the data types currently available on the system
  * clipboard. Use with Transfer.isSupportedType.
@@ -599,6 +793,96 @@ public TransferData[] getAvailableTypes(int clipboards) {
 	return result == null ? new TransferData[0] : result;
 }
 
+/**
+ * Returns the data types currently available on the system clipboard without
+ * waiting for the application that owns the clipboard. Use with
+ * Transfer.isSupportedType.
+ *
+ * @return a future that is completed on the user-interface thread with the
+ * data types currently available on the system clipboard
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #getAvailableTypes()
+ * @see Transfer#isSupportedType
+ *
+ * @since 3.126
+ */
+public CompletableFuture<TransferData[]> getAvailableTypesAsync() {
+	return getAvailableTypesAsync(DND.CLIPBOARD);
+}
+
+/**
+ * Returns the data types currently available on the specified clipboard
+ * without waiting for the application that owns the clipboard. Use with
+ * Transfer.isSupportedType.
+ * <p>
+ * On platforms where the clipboard can only be read synchronously, the
+ * returned future is already completed.
+ * </p>
+ *
+ * <p>The clipboards value is either one of the clipboard constants defined in
+ * class <code>DND</code>, or must be built by <em>bitwise OR</em>'ing together
+ * (that is, using the <code>int</code> "|" operator) two or more
+ * of those <code>DND</code> clipboard constants.</p>
+ *
+ * @param clipboards from which to get the data types
+ * @return a future that is completed on the user-interface thread with the
+ * data types currently available on the specified clipboard
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #getAvailableTypes(int)
+ * @see Transfer#isSupportedType
+ * @see DND#CLIPBOARD
+ * @see DND#SELECTION_CLIPBOARD
+ *
+ * @since 3.126
+ */
+public CompletableFuture<TransferData[]> getAvailableTypesAsync(int clipboards) {
+	checkWidget();
+	CompletableFuture<TransferData[]> result = new CompletableFuture<>();
+	if (GTK.GTK4) {
+		result.complete(getAvailableTypes(clipboards));
+		return result;
+	}
+	ClipboardProxy proxy = ClipboardProxy._getInstance(display);
+	CompletableFuture<int[]> clipboardTypes = new CompletableFuture<>();
+	CompletableFuture<int[]> primaryTypes = new CompletableFuture<>();
+	requestTypes(proxy, (clipboards & DND.CLIPBOARD) != 0 ? GTKCLIPBOARD : 0, clipboardTypes);
+	requestTypes(proxy, (clipboards & DND.SELECTION_CLIPBOARD) != 0 ? GTKPRIMARYCLIPBOARD : 0, primaryTypes);
+	clipboardTypes.thenAcceptBoth(primaryTypes, (types1, types2) -> {
+		TransferData[] types = new TransferData[types1.length + types2.length];
+		for (int i = 0; i < types.length; i++) {
+			types[i] = new TransferData();
+			types[i].type = i < types1.length ? types1[i] : types2[i - types1.length];
+		}
+		result.complete(types);
+	});
+	return result;
+}
+
+/**
+ * Requests the targets of the clipboard, and completes the future with
+ * their atoms when they have been received, or at once if the clipboard
+ * is 0.
+ */
+private static void requestTypes(ClipboardProxy proxy, long clipboard, CompletableFuture<int[]> result) {
+	if (clipboard == 0 || proxy.display == null) {
+		result.complete(new int[0]);
+		return;
+	}
+	proxy.requestContents(clipboard, TARGET, selection_data -> {
+		result.complete(selection_data != 0 ? getTypes(selection_data) : new int[0]);
+	});
+}
+
 /**
  * Returns a platform specific list of the data types currently available on the
  * system clipboard.
@@ -660,13 +944,7 @@ private  int[] getAvailablePrimaryTypes() {
 	long selection_data = gtk_clipboard_wait_for_contents(GTKPRIMARYCLIPBOARD, TARGET);
 	if (selection_data != 0) {
 		try {
-			int length = GTK3.gtk_selection_data_get_length(selection_data);
-			int format = GTK3.gtk_selection_data_get_format(selection_data);
-			long data = GTK3.gtk_selection_data_get_data(selection_data);
-			if (length != 0) {
-				types = new int[length * 8 / format];
-				C.memmove(types, data, length);
-			}
+			types = getTypes(selection_data);
 		} finally {
 			GTK3.gtk_selection_data_free(selection_data);
 		}
@@ -679,13 +957,7 @@ private int[] getAvailableClipboardTypes () {
 	long selection_data  = gtk_clipboard_wait_for_contents(GTKCLIPBOARD, TARGET);
 	if (selection_data != 0) {
 		try {
-			int length = GTK3.gtk_selection_data_get_length(selection_data);
-			int format = GTK3.gtk_selection_data_get_format(selection_data);
-			long data = GTK3.gtk_selection_data_get_data(selection_data);
-			if (length != 0) {
-				types = new int[length * 8 / format];
-				C.memmove(types, data, length);
-			}
+			types = getTypes(selection_data);
 		} finally {
 			GTK3.gtk_selection_data_free(selection_data);
 		}
@@ -693,6 +965,19 @@ private int[] getAvailableClipboardTypes () {
 	return types;
 }
 
+/**
+ * Returns the atoms of the targets in the selection data received for TARGETS.
+ */
+private static int[] getTypes(long selection_data) {
+	int length = GTK3.gtk_selection_data_get_length(selection_data);
+	int format = GTK3.gtk_selection_data_get_format(selection_data);
+	long data = GTK3.gtk_selection_data_get_data(selection_data);
+	if (length <= 0) return new int[0];
+	int[] types = new int[length * 8 / format];
+	C.memmove(types, data, length);
+	return types;
+}
+
 long gtk_clipboard_wait_for_contents(long clipboard, long target) {
 	long startTime = System.currentTimeMillis();
 	String key = "org.eclipse.swt.internal.gtk.dispatchEvent";
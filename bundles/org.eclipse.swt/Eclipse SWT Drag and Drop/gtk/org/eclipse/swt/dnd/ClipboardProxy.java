@@ -14,6 +14,9 @@
 package org.eclipse.swt.dnd;
 
 
+import java.util.*;
+import java.util.function.*;
+
 import org.eclipse.swt.*;
 import org.eclipse.swt.graphics.*;
 import org.eclipse.swt.internal.*;
@@ -38,6 +41,13 @@ class ClipboardProxy {
 	Clipboard activePrimaryClipboard = null;
 	Callback getFunc;
 	Callback clearFunc;
+	Callback receivedFunc;
+
+	/* the handlers of the contents requested asynchronously, by request id */
+	Map<Long, LongConsumer> requests = new HashMap<>();
+	long lastRequestId;
+	/* the requests that GTK has not answered yet, including those of a disposed proxy */
+	int pendingRequests;
 
 	static String ID = "CLIPBOARD PROXY OBJECT"; //$NON-NLS-1$
 
@@ -59,6 +69,7 @@ ClipboardProxy(Display display) {
 	this.display = display;
 	getFunc = new Callback( this, "getFunc", 4); //$NON-NLS-1$
 	clearFunc = new Callback( this, "clearFunc", 2); //$NON-NLS-1$
+	receivedFunc = new Callback( this, "receivedFunc", 3); //$NON-NLS-1$
 }
 
 void clear (Clipboard owner, int clipboards) {
@@ -105,6 +116,20 @@ void dispose () {
 	getFunc = null;
 	if (clearFunc != null) clearFunc.dispose();
 	clearFunc = null;
+	/*
+	* GTK cannot cancel gtk_clipboard_request_contents(), so the callback is
+	* kept until GTK has answered the pending requests, which then find no
+	* handler.
+	*/
+	if (pendingRequests == 0) {
+		if (receivedFunc != null) receivedFunc.dispose();
+		receivedFunc = null;
+	}
+	LongConsumer[] handlers = requests.values().toArray(new LongConsumer[requests.size()]);
+	requests.clear();
+	for (LongConsumer handler : handlers) {
+		handler.accept(0);
+	}
 	clipboardData = null;
 	clipboardDataTypes = null;
 	primaryClipboardData = null;
@@ -138,7 +163,9 @@ long getFunc(long clipboard, long selection_data, long info, long user_data_or_o
 	}
 	if (index == -1) return 0;
 	Object[] data = (clipboard == Clipboard.GTKCLIPBOARD) ? clipboardData : primaryClipboardData;
-	types[index].javaToNative(data[index], tdata);
+	Object object = ClipboardContentProvider.getData(data[index]);
+	if (object == null) return 0;
+	types[index].javaToNative(object, tdata);
 	if (tdata.format < 8 || tdata.format % 8 != 0) {
 		return 0;
 	}
@@ -147,6 +174,29 @@ long getFunc(long clipboard, long selection_data, long info, long user_data_or_o
 	return 1;
 }
 
+/**
+ * Requests the contents of the clipboard in the target format without waiting for
+ * them. The handler is called with the selection data when they have been received,
+ * or with 0 if the proxy is disposed first. The selection data is freed afterwards.
+ */
+void requestContents(long clipboard, long target, LongConsumer handler) {
+	long id = ++lastRequestId;
+	requests.put(id, handler);
+	pendingRequests++;
+	GTK3.gtk_clipboard_request_contents(clipboard, target, receivedFunc.getAddress(), id);
+}
+
+long receivedFunc(long clipboard, long selection_data, long user_data) {
+	pendingRequests--;
+	if (display == null && pendingRequests == 0) {
+		receivedFunc.dispose();
+		receivedFunc = null;
+	}
+	LongConsumer handler = requests.remove(user_data);
+	if (handler != null) handler.accept(selection_data);
+	return 0;
+}
+
 boolean setData(Clipboard owner, Object[] data, Transfer[] dataTypes, int clipboards) {
 
 	if(GTK.GTK4) return setData_gtk4(owner, data, dataTypes, clipboards);
@@ -226,8 +276,10 @@ private boolean setData_gtk4(Clipboard owner, Object[] data, Transfer[] dataType
 	for (int i = 0; i < dataTypes.length; i++) {
 		Transfer transfer = dataTypes[i];
 		String[] typeNames = transfer.getTypeNames();
+		Object object = ClipboardContentProvider.getData(data[i]);
+		if (object == null) continue;
 		//Build the GdkContentProvider for each and store in array
-		long provider = setProviderFromType(typeNames[0], data[i]);
+		long provider = setProviderFromType(typeNames[0], object);
 		if(provider != 0) {
 			long[] tmp = new long [providers.length + 1];
 			System.arraycopy(providers, 0, tmp, 0, providers.length);
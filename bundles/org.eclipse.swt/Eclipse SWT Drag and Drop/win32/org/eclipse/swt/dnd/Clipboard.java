@@ -15,6 +15,9 @@
 package org.eclipse.swt.dnd;
 
 
+import java.util.concurrent.*;
+import java.util.function.*;
+
 import org.eclipse.swt.*;
 import org.eclipse.swt.internal.*;
 import org.eclipse.swt.internal.ole.win32.*;
@@ -367,6 +370,74 @@ public Object getContents(Transfer transfer, int clipboards) {
 	}
 	return null; // No data available for this transfer
 }
+/**
+ * Retrieve the data of the specified type currently available on the system
+ * clipboard without waiting for the application that owns the clipboard.
+ * Refer to the specific subclass of <code>Transfer</code> to determine the
+ * type of object returned.
+ *
+ * @param transfer the transfer agent for the type of data being requested
+ * @return a future that is completed on the user-interface thread with the
+ * data obtained from the clipboard or null if no data of this type is available
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if transfer is null</li>
+ * </ul>
+ *
+ * @see #getContents(Transfer)
+ *
+ * @since 3.126
+ */
+public CompletableFuture<Object> getContentsAsync(Transfer transfer) {
+	return getContentsAsync(transfer, DND.CLIPBOARD);
+}
+
+/**
+ * Retrieve the data of the specified type currently available on the specified
+ * clipboard without waiting for the application that owns the clipboard.
+ * Refer to the specific subclass of <code>Transfer</code> to determine the
+ * type of object returned.
+ * <p>
+ * Unlike {@link #getContents(Transfer, int)}, this method returns at once and
+ * does not run a nested event loop, so a slow or hung clipboard owner does not
+ * block the user-interface thread. On platforms where the clipboard can only
+ * be read synchronously, the returned future is already completed.
+ * </p>
+ *
+ * <p>The clipboards value is either one of the clipboard constants defined in
+ * class <code>DND</code>, or must be built by <em>bitwise OR</em>'ing together
+ * (that is, using the <code>int</code> "|" operator) two or more
+ * of those <code>DND</code> clipboard constants.</p>
+ *
+ * @param transfer the transfer agent for the type of data being requested
+ * @param clipboards on which to look for data
+ * @return a future that is completed on the user-interface thread with the
+ * data obtained from the clipboard or null if no data of this type is available
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if transfer is null</li>
+ * </ul>
+ *
+ * @see #getContents(Transfer, int)
+ * @see DND#CLIPBOARD
+ * @see DND#SELECTION_CLIPBOARD
+ *
+ * @since 3.126
+ */
+public CompletableFuture<Object> getContentsAsync(Transfer transfer, int clipboards) {
+	checkWidget();
+	if (transfer == null) DND.error(SWT.ERROR_NULL_ARGUMENT);
+	return CompletableFuture.completedFuture(getContents(transfer, clipboards));
+}
+
 /**
  * Returns <code>true</code> if the clipboard has been disposed,
  * and <code>false</code> otherwise.
@@ -504,6 +575,15 @@ public void setContents(Object[] data, Transfer[] dataTypes, int clipboards) {
 			DND.error(SWT.ERROR_INVALID_ARGUMENT);
 		}
 	}
+	setClipboardData(data, dataTypes, clipboards);
+}
+
+/**
+ * Places the data, whose arguments have been checked, on the clipboard.
+ * The data of a transfer is a <code>ClipboardContentProvider</code> if it
+ * was set with <code>setContentProviders</code>.
+ */
+private void setClipboardData(Object[] data, Transfer[] dataTypes, int clipboards) {
 	if ((clipboards & DND.CLIPBOARD) == 0) return;
 	this.data = data;
 	this.transferAgents = dataTypes;
@@ -534,6 +614,82 @@ public void setContents(Object[] data, Transfer[] dataTypes, int clipboards) {
 		DND.error(DND.ERROR_CANNOT_SET_CLIPBOARD);
 	}
 }
+
+/**
+ * Place data of the specified type on the system clipboard, asking the
+ * providers for the data only when it is requested.
+ *
+ * @param providers the suppliers of the data to be set in the clipboard
+ * @param dataTypes the transfer agents that will convert the data to its
+ * platform specific format; each entry in the providers array must have a
+ * corresponding dataType
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_INVALID_ARGUMENT - if providers is null or datatypes is null
+ *          or the length of providers is not the same as the length of dataTypes</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *  @exception SWTError <ul>
+ *    <li>ERROR_CANNOT_SET_CLIPBOARD - if the clipboard is locked or otherwise unavailable</li>
+ * </ul>
+ *
+ * @see #setContentProviders(Supplier[], Transfer[], int)
+ *
+ * @since 3.126
+ */
+public void setContentProviders(Supplier<?>[] providers, Transfer[] dataTypes) {
+	setContentProviders(providers, dataTypes, DND.CLIPBOARD);
+}
+
+/**
+ * Place data of the specified type on the specified clipboard, asking the
+ * providers for the data only when it is requested.
+ * <p>
+ * Each provider is called on the user-interface thread the first time its
+ * data is requested in one of the formats of its transfer, by this or by
+ * another application, and at most once. This avoids expensive conversions,
+ * like encoding a large image, for formats that are never pasted. A provider
+ * that returns <code>null</code> or data that its transfer can not convert
+ * provides nothing. On some platforms the clipboard takes the data in all
+ * formats when it is set, and the providers are called at once.
+ * </p>
+ *
+ * <p>The clipboards value is either one of the clipboard constants defined in
+ * class <code>DND</code>, or must be built by <em>bitwise OR</em>'ing together
+ * (that is, using the <code>int</code> "|" operator) two or more
+ * of those <code>DND</code> clipboard constants.</p>
+ *
+ * @param providers the suppliers of the data to be set in the clipboard
+ * @param dataTypes the transfer agents that will convert the data to its
+ * platform specific format; each entry in the providers array must have a
+ * corresponding dataType
+ * @param clipboards on which to set the data
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_INVALID_ARGUMENT - if providers is null or datatypes is null
+ *          or the length of providers is not the same as the length of dataTypes</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *  @exception SWTError <ul>
+ *    <li>ERROR_CANNOT_SET_CLIPBOARD - if the clipboard is locked or otherwise unavailable</li>
+ * </ul>
+ *
+ * @see #setContents(Object[], Transfer[], int)
+ * @see DND#CLIPBOARD
+ * @see DND#SELECTION_CLIPBOARD
+ *
+ * @since 3.126
+ */
+public void setContentProviders(Supplier<?>[] providers, Transfer[] dataTypes, int clipboards) {
+	checkWidget();
+	setClipboardData(ClipboardContentProvider.wrap(providers, dataTypes), dataTypes, clipboards);
+}
 private int AddRef() {
 	refCount++;
 	return refCount;
@@ -637,7 +793,9 @@ private int GetData(long pFormatetc, long pmedium) {
 		}
 	}
 	if (transferIndex == -1) return COM.DV_E_FORMATETC;
-	transferAgents[transferIndex].javaToNative(data[transferIndex], transferData);
+	Object object = ClipboardContentProvider.getData(data[transferIndex]);
+	if (object == null) return COM.DV_E_FORMATETC;
+	transferAgents[transferIndex].javaToNative(object, transferData);
 	COM.MoveMemory(pmedium, transferData.stgmedium, STGMEDIUM.sizeof);
 	return transferData.result;
 }
@@ -741,6 +899,63 @@ public TransferData[] getAvailableTypes(int clipboards) {
 	return data;
 }
 
+/**
+ * Returns the data types currently available on the system clipboard without
+ * waiting for the application that owns the clipboard. Use with
+ * Transfer.isSupportedType.
+ *
+ * @return a future that is completed on the user-interface thread with the
+ * data types currently available on the system clipboard
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #getAvailableTypes()
+ * @see Transfer#isSupportedType
+ *
+ * @since 3.126
+ */
+public CompletableFuture<TransferData[]> getAvailableTypesAsync() {
+	return getAvailableTypesAsync(DND.CLIPBOARD);
+}
+
+/**
+ * Returns the data types currently available on the specified clipboard
+ * without waiting for the application that owns the clipboard. Use with
+ * Transfer.isSupportedType.
+ * <p>
+ * On platforms where the clipboard can only be read synchronously, the
+ * returned future is already completed.
+ * </p>
+ *
+ * <p>The clipboards value is either one of the clipboard constants defined in
+ * class <code>DND</code>, or must be built by <em>bitwise OR</em>'ing together
+ * (that is, using the <code>int</code> "|" operator) two or more
+ * of those <code>DND</code> clipboard constants.</p>
+ *
+ * @param clipboards from which to get the data types
+ * @return a future that is completed on the user-interface thread with the
+ * data types currently available on the specified clipboard
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #getAvailableTypes(int)
+ * @see Transfer#isSupportedType
+ * @see DND#CLIPBOARD
+ * @see DND#SELECTION_CLIPBOARD
+ *
+ * @since 3.126
+ */
+public CompletableFuture<TransferData[]> getAvailableTypesAsync(int clipboards) {
+	checkWidget();
+	return CompletableFuture.completedFuture(getAvailableTypes(clipboards));
+}
+
 /**
  * Returns a platform specific list of the data types currently available on the
  * system clipboard.
@@ -394,6 +394,16 @@ JNIEXPORT jlong JNICALL GTK3_NATIVE(gtk_1clipboard_1get)
 }
 #endif
 
+#ifndef NO_gtk_1clipboard_1request_1contents
+JNIEXPORT void JNICALL GTK3_NATIVE(gtk_1clipboard_1request_1contents)
+	(JNIEnv *env, jclass that, jlong arg0, jlong arg1, jlong arg2, jlong arg3)
+{
+	GTK3_NATIVE_ENTER(env, that, gtk_1clipboard_1request_1contents_FUNC);
+	gtk_clipboard_request_contents((GtkClipboard *)arg0, (GdkAtom)arg1, (GtkClipboardReceivedFunc)arg2, (gpointer)arg3);
+	GTK3_NATIVE_EXIT(env, that, gtk_1clipboard_1request_1contents_FUNC);
+}
+#endif
+
 #ifndef NO_gtk_1clipboard_1set_1can_1store
 JNIEXPORT void JNICALL GTK3_NATIVE(gtk_1clipboard_1set_1can_1store)
 	(JNIEnv *env, jclass that, jlong arg0, jlong arg1, jint arg2)
@@ -54,6 +54,7 @@ typedef enum {
 	gtk_1check_1menu_1item_1set_1active_FUNC,
 	gtk_1clipboard_1clear_FUNC,
 	gtk_1clipboard_1get_FUNC,
+	gtk_1clipboard_1request_1contents_FUNC,
 	gtk_1clipboard_1set_1can_1store_FUNC,
 	gtk_1clipboard_1set_1with_1owner_FUNC,
 	gtk_1clipboard_1store_FUNC,
@@ -1556,6 +1556,18 @@ JNIEXPORT jlong JNICALL GDK_NATIVE(gdk_1pixbuf_1animation_1iter_1get_1pixbuf)
 }
 #endif
 
+#ifndef NO_gdk_1pixbuf_1animation_1iter_1on_1currently_1loading_1frame
+JNIEXPORT jboolean JNICALL GDK_NATIVE(gdk_1pixbuf_1animation_1iter_1on_1currently_1loading_1frame)
+	(JNIEnv *env, jclass that, jlong arg0)
+{
+	jboolean rc = 0;
+	GDK_NATIVE_ENTER(env, that, gdk_1pixbuf_1animation_1iter_1on_1currently_1loading_1frame_FUNC);
+	rc = (jboolean)gdk_pixbuf_animation_iter_on_currently_loading_frame((GdkPixbufAnimationIter *)arg0);
+	GDK_NATIVE_EXIT(env, that, gdk_1pixbuf_1animation_1iter_1on_1currently_1loading_1frame_FUNC);
+	return rc;
+}
+#endif
+
 #ifndef NO_gdk_1pixbuf_1copy
 JNIEXPORT jlong JNICALL GDK_NATIVE(gdk_1pixbuf_1copy)
 	(JNIEnv *env, jclass that, jlong arg0)
@@ -7102,6 +7114,16 @@ fail:
 }
 #endif
 
+#ifndef NO_gtk_1style_1context_1remove_1provider
+JNIEXPORT void JNICALL GTK_NATIVE(gtk_1style_1context_1remove_1provider)
+	(JNIEnv *env, jclass that, jlong arg0, jlong arg1)
+{
+	GTK_NATIVE_ENTER(env, that, gtk_1style_1context_1remove_1provider_FUNC);
+	gtk_style_context_remove_provider((GtkStyleContext *)arg0, (GtkStyleProvider *)arg1);
+	GTK_NATIVE_EXIT(env, that, gtk_1style_1context_1remove_1provider_FUNC);
+}
+#endif
+
 #ifndef NO_gtk_1style_1context_1restore
 JNIEXPORT void JNICALL GTK_NATIVE(gtk_1style_1context_1restore)
 	(JNIEnv *env, jclass that, jlong arg0)
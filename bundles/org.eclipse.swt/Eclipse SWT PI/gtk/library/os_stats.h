@@ -122,6 +122,7 @@ typedef enum {
 	gdk_1pixbuf_1animation_1iter_1advance_FUNC,
 	gdk_1pixbuf_1animation_1iter_1get_1delay_1time_FUNC,
 	gdk_1pixbuf_1animation_1iter_1get_1pixbuf_FUNC,
+	gdk_1pixbuf_1animation_1iter_1on_1currently_1loading_1frame_FUNC,
 	gdk_1pixbuf_1copy_FUNC,
 	gdk_1pixbuf_1copy_1area_FUNC,
 	gdk_1pixbuf_1format_1get_1name_FUNC,
@@ -573,6 +574,7 @@ typedef enum {
 	gtk_1style_1context_1add_1class_FUNC,
 	gtk_1style_1context_1add_1provider_FUNC,
 	gtk_1style_1context_1remove_1class_FUNC,
+	gtk_1style_1context_1remove_1provider_FUNC,
 	gtk_1style_1context_1restore_FUNC,
 	gtk_1style_1context_1save_FUNC,
 	gtk_1style_1context_1set_1state_FUNC,
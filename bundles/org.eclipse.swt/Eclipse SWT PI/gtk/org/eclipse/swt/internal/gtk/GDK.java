@@ -631,6 +631,8 @@ public class GDK extends OS {
 	public static final native int gdk_pixbuf_animation_iter_get_delay_time(long iter);
 	/** @param iter cast=(GdkPixbufAnimationIter *) */
 	public static final native long gdk_pixbuf_animation_iter_get_pixbuf(long iter);
+	/** @param iter cast=(GdkPixbufAnimationIter *) */
+	public static final native boolean gdk_pixbuf_animation_iter_on_currently_loading_frame(long iter);
 	/**
 	 * @method flags=ignore_deprecations
 	 * @param iter cast=(GdkPixbufAnimationIter *)
@@ -1040,6 +1040,11 @@ public class GTK extends OS {
 	 * @param class_name cast=(const gchar *)
 	 */
 	public static final native void gtk_style_context_remove_class(long context, byte[] class_name);
+	/**
+	 * @param context cast=(GtkStyleContext *)
+	 * @param provider cast=(GtkStyleProvider *)
+	 */
+	public static final native void gtk_style_context_remove_provider(long context, long provider);
 	/** @param self cast=(GtkStyleContext *) */
 	public static final native void gtk_style_context_save(long self);
 	/** @param self cast=(GtkStyleContext *) */
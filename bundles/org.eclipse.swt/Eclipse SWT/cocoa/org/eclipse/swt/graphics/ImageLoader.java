@@ -16,6 +16,8 @@ package org.eclipse.swt.graphics;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
 
 import org.eclipse.swt.*;
 import org.eclipse.swt.internal.image.*;
@@ -99,6 +101,9 @@ public class ImageLoader {
 	 * When saving png files, the value is from 0 to 3, but they do not impact the quality
 	 * because PNG is lossless compression. 0 is uncompressed, 1 is low compression and fast,
 	 * 2 is default compression, and 3 is high compression but slow.
+	 * With 2 and 3, each row of the image is filtered with the PNG filter that
+	 * suits it best, which makes photographic images considerably smaller. Large
+	 * images are compressed on several threads.
 	 * </p>
 	 *
 	 * @since 3.8
@@ -155,6 +160,177 @@ public ImageData[] load(InputStream stream) {
 	return data;
 }
 
+/**
+ * Loads an array of <code>ImageData</code> objects from the
+ * specified input stream, reduced to 1/<code>scaleDenominator</code>
+ * of their size. Throws an error if either an error occurs while
+ * loading the images, or if the images are not of a supported type.
+ * Returns the loaded image data array.
+ * <p>
+ * JPEG images are decoded directly at the reduced size, which is
+ * considerably faster and needs a fraction of the memory of decoding
+ * the full image and scaling it down afterwards. This makes it suitable
+ * for creating thumbnails. Images in other formats are scaled down after
+ * loading. The width and height of the reduced images are rounded up.
+ * </p>
+ *
+ * @param stream the input stream to load the images from
+ * @param scaleDenominator the reduction, one of 1, 2, 4 or 8
+ * @return an array of <code>ImageData</code> objects loaded from the specified input stream
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the stream is null</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if the scale denominator is not 1, 2, 4 or 8</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_IO - if an IO error occurs while reading from the stream</li>
+ *    <li>ERROR_INVALID_IMAGE - if the image stream contains invalid data</li>
+ *    <li>ERROR_UNSUPPORTED_FORMAT - if the image stream contains an unrecognized format</li>
+ * </ul>
+ *
+ * @see #load(InputStream)
+ * @since 3.126
+ */
+public ImageData[] load(InputStream stream, int scaleDenominator) {
+	if (stream == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	switch (scaleDenominator) {
+		case 1: case 2: case 4: case 8: break;
+		default: SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+	}
+	reset();
+	data = FileFormat.load(stream, this, scaleDenominator);
+	return data;
+}
+
+/**
+ * Returns an iterator that loads the <code>ImageData</code> objects of
+ * the specified input stream one at a time, as they are requested.
+ * Throws an error if either an error occurs while loading the images,
+ * or if the images are not of a supported type.
+ * <p>
+ * Unlike {@link #load(InputStream)}, this does not hold all the images
+ * of an animation in memory at once, which makes it suitable for playing
+ * long animations. The loaded images are not stored in the <code>data</code>
+ * field. The other fields of the receiver are set as soon as they are
+ * known, and image loader listeners are notified as each image is loaded.
+ * The stream is read only as far as needed for the next image, so it must
+ * not be used otherwise until the iteration is complete. Resources held for
+ * loading the remaining images are released when the last image has been
+ * returned, or when the receiver is used to load images again.
+ * </p>
+ *
+ * @param stream the input stream to load the images from
+ * @return an iterator over the <code>ImageData</code> objects loaded from the specified input stream
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the stream is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_IO - if an IO error occurs while reading from the stream</li>
+ *    <li>ERROR_INVALID_IMAGE - if the image stream contains invalid data</li>
+ *    <li>ERROR_UNSUPPORTED_FORMAT - if the image stream contains an unrecognized format</li>
+ * </ul>
+ * These errors are thrown by this method or by the methods of the returned iterator.
+ *
+ * @see #load(InputStream)
+ * @since 3.126
+ */
+public Iterator<ImageData> loadFrames(InputStream stream) {
+	if (stream == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	reset();
+	return FileFormat.loadFrames(stream, this);
+}
+
+/**
+ * Loads the <code>ImageData</code> objects of each of the specified
+ * input streams in a task run by the specified executor, and returns
+ * a future for the result of each stream, in the order of the streams.
+ * <p>
+ * This is meant for loading many images, such as the icons of an
+ * application, on several threads. Each stream is opened by calling its
+ * supplier on the thread that loads it, and closed when it has been read.
+ * A future completes exceptionally with the error that {@link #load(InputStream)}
+ * would throw for its stream, and the results of the other streams are not
+ * affected. Images must still be created on the user-interface thread of
+ * their display, for example with
+ * <code>future.thenAcceptAsync(data -&gt; new Image(display, data[0]), display::asyncExec)</code>.
+ * </p>
+ *
+ * @param streams the suppliers of the input streams to load the images from
+ * @param executor the executor that runs the tasks loading the streams
+ * @return a future for the array of <code>ImageData</code> objects loaded from each stream
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the streams, any of their suppliers or the executor is null</li>
+ * </ul>
+ *
+ * @see #load(InputStream)
+ * @since 3.126
+ */
+public static List<CompletableFuture<ImageData[]>> loadAll(Collection<Supplier<InputStream>> streams, Executor executor) {
+	if (streams == null || executor == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	for (Supplier<InputStream> supplier : streams) {
+		if (supplier == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	}
+	List<CompletableFuture<ImageData[]>> futures = new ArrayList<>(streams.size());
+	for (Supplier<InputStream> supplier : streams) {
+		futures.add(CompletableFuture.supplyAsync(() -> loadStream(supplier), executor));
+	}
+	return futures;
+}
+
+/**
+ * Opens the stream of the supplier, loads it with a new image loader
+ * and closes it. Image loaders only share immutable state, so this may
+ * run on any thread.
+ */
+static ImageData[] loadStream(Supplier<InputStream> supplier) {
+	try (InputStream stream = supplier.get()) {
+		return new ImageLoader().load(stream);
+	} catch (IOException e) {
+		SWT.error(SWT.ERROR_IO, e);
+		return null;
+	}
+}
+
+/**
+ * Adds the decoder to the decoders that load images in file formats
+ * that SWT does not support itself. Decoders are tried in the order in
+ * which they were added, after the built-in formats.
+ *
+ * @param decoder the decoder to add
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the decoder is null</li>
+ * </ul>
+ *
+ * @see ImageFormatDecoder
+ * @see #removeImageFormatDecoder(ImageFormatDecoder)
+ * @since 3.126
+ */
+public static void addImageFormatDecoder(ImageFormatDecoder decoder) {
+	if (decoder == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	FileFormat.addDecoder(decoder);
+}
+
+/**
+ * Removes the decoder from the decoders that load images in file
+ * formats that SWT does not support itself.
+ *
+ * @param decoder the decoder to remove
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the decoder is null</li>
+ * </ul>
+ *
+ * @see #addImageFormatDecoder(ImageFormatDecoder)
+ * @since 3.126
+ */
+public static void removeImageFormatDecoder(ImageFormatDecoder decoder) {
+	if (decoder == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	FileFormat.removeDecoder(decoder);
+}
+
 /**
  * Loads an array of <code>ImageData</code> objects from the
  * file with the specified name. Throws an error if either
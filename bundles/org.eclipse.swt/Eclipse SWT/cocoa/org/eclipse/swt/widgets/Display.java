@@ -617,6 +617,92 @@ public void asyncExec (Runnable runnable) {
 	}
 }
 
+/**
+ * Causes the <code>run()</code> method of the runnable to
+ * be invoked by the user-interface thread at the next
+ * reasonable opportunity, unless another runnable is
+ * submitted with an equal key before it runs. The caller of
+ * this method continues to run in parallel, and is not
+ * notified when the runnable has completed.
+ * <p>
+ * If a runnable with an equal key is still pending, it is
+ * replaced by the given runnable instead of queuing another
+ * one, so that frequent updates of the same kind, for example
+ * refreshing a widget from a background thread, run at most
+ * once per key no matter how often they are submitted.
+ * Keys are compared with <code>equals()</code>. A
+ * <code>null</code> key behaves like {@link #asyncExec(Runnable)}.
+ * </p>
+ * <p>
+ * Note that at the time the runnable is invoked, widgets
+ * that have the receiver as their display may have been
+ * disposed. Therefore, it is necessary to check for this
+ * case inside the runnable before accessing the widget.
+ * </p>
+ *
+ * @param key the key identifying the update or <code>null</code>
+ * @param runnable code to run on the user-interface thread
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the key is not <code>null</code> and the runnable is <code>null</code></li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_DEVICE_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #asyncExec(Runnable)
+ *
+ * @since 3.126
+ */
+public void asyncExec (Object key, Runnable runnable) {
+	if (key != null && runnable == null) error (SWT.ERROR_NULL_ARGUMENT);
+	synchronized (Device.class) {
+		if (isDisposed ()) error (SWT.ERROR_DEVICE_DISPOSED);
+		synchronizer.asyncExec (key, runnable);
+	}
+}
+
+/**
+ * Causes the <code>run()</code> methods of the runnables to
+ * be invoked by the user-interface thread at the next
+ * reasonable opportunity, in the iteration order of the
+ * collection. The caller of this method continues to run in
+ * parallel, and is not notified when the runnables have
+ * completed.  <code>null</code> elements are ignored.
+ * <p>
+ * This is equivalent to calling {@link #asyncExec(Runnable)}
+ * for every runnable, but the runnables are queued at once and
+ * the user-interface thread is woken at most once.
+ * </p>
+ * <p>
+ * Note that at the time the runnables are invoked, widgets
+ * that have the receiver as their display may have been
+ * disposed. Therefore, it is necessary to check for this
+ * case inside the runnables before accessing the widget.
+ * </p>
+ *
+ * @param runnables code to run on the user-interface thread
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the collection is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_DEVICE_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #asyncExec
+ * @see Synchronizer#setMessageBudget(int, int)
+ *
+ * @since 3.126
+ */
+public void asyncExecAll (Collection<? extends Runnable> runnables) {
+	if (runnables == null) error (SWT.ERROR_NULL_ARGUMENT);
+	synchronized (Device.class) {
+		if (isDisposed ()) error (SWT.ERROR_DEVICE_DISPOSED);
+		synchronizer.asyncExecAll (runnables);
+	}
+}
+
 /**
  * Executes the given runnable in the user-interface thread of this Display.
  * <ul>
@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import java.io.*;
+
+/**
+ * Implementers of <code>ImageFormatDecoder</code> load images in a file
+ * format that SWT does not support itself.
+ * <p>
+ * Decoders are added with {@link ImageLoader#addImageFormatDecoder(ImageFormatDecoder)},
+ * or are provided as services of {@link java.util.ServiceLoader}, which are
+ * found when the first image is loaded. They are tried in the order in which
+ * they were added, after the built-in formats. A decoder may be used by
+ * several threads at the same time.
+ * </p>
+ *
+ * @see ImageLoader#load(InputStream)
+ * @since 3.126
+ */
+public interface ImageFormatDecoder {
+
+	/**
+	 * Returns whether a stream that starts with the given bytes is in the
+	 * format of this decoder.
+	 *
+	 * @param header the first bytes of the stream, fewer than 32 only if
+	 *        the stream is shorter
+	 * @return <code>true</code> if this decoder loads the stream, and
+	 *         <code>false</code> otherwise
+	 */
+	boolean isFormat (byte[] header);
+
+	/**
+	 * Loads the images of the given stream, which starts with the header
+	 * that was passed to {@link #isFormat(byte[])}. The decoder may set the
+	 * fields of the loader that describe the images as a whole, such as
+	 * the logical screen size of an animation.
+	 *
+	 * @param stream the stream to load the images from
+	 * @param loader the image loader that loads the images
+	 * @return the images, at least one
+	 * @exception IOException if an IO error occurs while reading from the stream
+	 */
+	ImageData[] load (InputStream stream, ImageLoader loader) throws IOException;
+
+}
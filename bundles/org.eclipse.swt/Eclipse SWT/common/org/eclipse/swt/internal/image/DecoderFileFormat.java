@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.internal.image;
+
+
+import java.io.*;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.graphics.*;
+
+/**
+ * Loads images with an {@link ImageFormatDecoder} registered by an application.
+ */
+final class DecoderFileFormat extends FileFormat {
+	final ImageFormatDecoder decoder;
+
+DecoderFileFormat(ImageFormatDecoder decoder) {
+	this.decoder = decoder;
+}
+
+@Override
+boolean isFileFormat(byte[] header) {
+	try {
+		return decoder.isFormat(header.clone());
+	} catch (RuntimeException e) {
+		return false;
+	}
+}
+
+@Override
+FileFormat newInstance() {
+	return new DecoderFileFormat(decoder);
+}
+
+@Override
+ImageData[] loadFromByteStream() {
+	ImageData[] images = null;
+	try {
+		images = decoder.load(inputStream, loader);
+	} catch (IOException e) {
+		SWT.error(SWT.ERROR_IO, e);
+	}
+	if (images == null || images.length == 0) SWT.error(SWT.ERROR_INVALID_IMAGE);
+	return images;
+}
+
+@Override
+void unloadIntoByteStream(ImageLoader loader) {
+	SWT.error(SWT.ERROR_UNSUPPORTED_FORMAT);
+}
+}
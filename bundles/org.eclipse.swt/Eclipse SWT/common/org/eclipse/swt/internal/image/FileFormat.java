@@ -15,6 +15,8 @@ package org.eclipse.swt.internal.image;
 
 
 import java.io.*;
+import java.util.*;
+import java.util.function.*;
 
 import org.eclipse.swt.*;
 import org.eclipse.swt.graphics.*;
@@ -32,30 +34,203 @@ public abstract class FileFormat {
 	LEDataOutputStream outputStream;
 	ImageLoader loader;
 	int compression;
+	/* the reduction still to be applied to the loaded images,
+	 * formats that decode at a reduced size reset it to 1 */
+	int scaleDenominator = 1;
 
-static FileFormat getFileFormat (LEDataInputStream stream, String format) throws Exception {
-	Class<?> clazz = Class.forName(FORMAT_PACKAGE + '.' + format + FORMAT_SUFFIX);
-	FileFormat fileFormat = (FileFormat) clazz.getDeclaredConstructor().newInstance();
-	if (fileFormat.isFileFormat(stream)) return fileFormat;
+	/**
+	 * The number of bytes at the start of a stream that are read once
+	 * to identify its format.
+	 */
+	public static final int HEADER_LENGTH = 32;
+
+	/* the built-in formats indexed by image type, null if a format has
+	 * been removed from the toolkit, created on demand */
+	static FileFormat[] builtInFormats;
+	/* the built-in formats followed by the formats of the decoders, in the
+	 * order in which they are tried, created on demand */
+	static FileFormat[] formats;
+	/* the decoders registered by applications, loaded on demand */
+	static List<ImageFormatDecoder> decoders;
+
+/**
+ * Return the instances of the built-in formats, indexed by image
+ * type. They are only used to identify streams and to create the
+ * instances that load and save images.
+ */
+static synchronized FileFormat[] getBuiltInFormats() {
+	if (builtInFormats == null) {
+		FileFormat[] builtIn = new FileFormat[FORMATS.length];
+		for (int i = 0; i < FORMATS.length; i++) {
+			try {
+				Class<?> clazz = Class.forName(FORMAT_PACKAGE + '.' + FORMATS[i] + FORMAT_SUFFIX);
+				builtIn[i] = (FileFormat) clazz.getDeclaredConstructor().newInstance();
+			} catch (Exception e) {
+				// the format has been removed from the toolkit
+			}
+		}
+		builtInFormats = builtIn;
+	}
+	return builtInFormats;
+}
+
+/**
+ * Return the decoders registered by applications, starting with the
+ * ones provided as services when called for the first time.
+ */
+static synchronized List<ImageFormatDecoder> getDecoders() {
+	if (decoders == null) {
+		decoders = new ArrayList<>();
+		try {
+			for (ImageFormatDecoder decoder : ServiceLoader.load(ImageFormatDecoder.class)) {
+				decoders.add(decoder);
+			}
+		} catch (ServiceConfigurationError e) {
+			// ignore invalid services
+		}
+	}
+	return decoders;
+}
+
+/**
+ * Return the formats in the order in which they are tried.
+ */
+static synchronized FileFormat[] getFormats() {
+	if (formats == null) {
+		List<FileFormat> list = new ArrayList<>();
+		FileFormat[] builtIn = getBuiltInFormats();
+		// the first two types are both WinBMP
+		for (int i = 1; i < builtIn.length; i++) {
+			if (builtIn[i] != null) list.add(builtIn[i]);
+		}
+		for (ImageFormatDecoder decoder : getDecoders()) {
+			list.add(new DecoderFileFormat(decoder));
+		}
+		formats = list.toArray(new FileFormat[list.size()]);
+	}
+	return formats;
+}
+
+/**
+ * Add a decoder for an image format that is not built in.
+ */
+public static synchronized void addDecoder(ImageFormatDecoder decoder) {
+	getDecoders().add(decoder);
+	formats = null;
+}
+
+/**
+ * Remove a decoder that was added with {@link #addDecoder(ImageFormatDecoder)}.
+ */
+public static synchronized void removeDecoder(ImageFormatDecoder decoder) {
+	if (getDecoders().remove(decoder)) formats = null;
+}
+
+/**
+ * Return whether applications have registered any decoders.
+ */
+public static synchronized boolean hasDecoders() {
+	return !getDecoders().isEmpty();
+}
+
+/**
+ * Return whether the stream that starts with the specified header is in a
+ * format that only a decoder registered by an application can load.
+ */
+public static synchronized boolean isDecoderFormat(byte[] header) {
+	for (FileFormat format : getFormats()) {
+		if (format.isFileFormat(header)) return format instanceof DecoderFileFormat;
+	}
+	return false;
+}
+
+/**
+ * Read the header of the specified input stream and push it back,
+ * so that the stream is still positioned at its start.
+ */
+static byte[] readHeader(LEDataInputStream stream) {
+	try {
+		byte[] header = new byte[HEADER_LENGTH];
+		int length = Math.max(0, stream.read(header));
+		if (length < header.length) header = Arrays.copyOf(header, length);
+		stream.unread(header);
+		return header;
+	} catch (IOException e) {
+		SWT.error(SWT.ERROR_IO, e);
+		return null;
+	}
+}
+
+/**
+ * Return a new instance of the built-in format of the specified image
+ * type if the input stream is in that format, otherwise null.
+ */
+static FileFormat getFileFormat (LEDataInputStream stream, int type) {
+	FileFormat fileFormat = getBuiltInFormats()[type];
+	if (fileFormat != null && fileFormat.isFileFormat(readHeader(stream))) return fileFormat.newInstance();
 	return null;
 }
 
 /**
- * Return whether or not the specified input stream
- * represents a supported file format.
+ * Return whether or not the specified header, the first bytes
+ * of an input stream, represents a supported file format. The
+ * header is shorter than HEADER_LENGTH if the stream is.
+ */
+abstract boolean isFileFormat(byte[] header);
+
+/**
+ * Return a new instance of this format to load or save images.
  */
-abstract boolean isFileFormat(LEDataInputStream stream);
+abstract FileFormat newInstance();
 
 abstract ImageData[] loadFromByteStream();
 
+/**
+ * Return an iterator over the device independent images of the input
+ * stream. Formats that can read one image at a time override this to
+ * read each image when it is requested, by default all images are read
+ * at once.
+ */
+Iterator<ImageData> loadFramesFromByteStream() {
+	return Arrays.asList(loadFromByteStream()).iterator();
+}
+
 /**
  * Read the specified input stream, and return the
  * device independent image array represented by the stream.
  */
 public ImageData[] loadFromStream(LEDataInputStream stream) {
+	inputStream = stream;
+	return guardLoad(this::loadFromByteStream);
+}
+
+/**
+ * Read the specified input stream one image at a time, and return an
+ * iterator over the device independent images represented by the stream.
+ */
+public Iterator<ImageData> loadFramesFromStream(LEDataInputStream stream) {
+	inputStream = stream;
+	Iterator<ImageData> frames = guardLoad(this::loadFramesFromByteStream);
+	return new Iterator<>() {
+		@Override
+		public boolean hasNext() {
+			return guardLoad(frames::hasNext);
+		}
+		@Override
+		public ImageData next() {
+			if (!hasNext()) throw new NoSuchElementException();
+			return guardLoad(frames::next);
+		}
+	};
+}
+
+/**
+ * Run a step of loading, reporting IO errors as ERROR_IO
+ * and all other failures as ERROR_INVALID_IMAGE.
+ */
+static <T> T guardLoad(Supplier<T> step) {
 	try {
-		inputStream = stream;
-		return loadFromByteStream();
+		return step.get();
 	} catch (Exception e) {
 		if (e instanceof IOException) {
 			SWT.error(SWT.ERROR_IO, e);
@@ -66,27 +241,63 @@ public ImageData[] loadFromStream(LEDataInputStream stream) {
 	}
 }
 
+/**
+ * Return the file format of the specified input stream, or
+ * throw an error if the format is not supported.
+ */
+static FileFormat findFileFormat(LEDataInputStream stream) {
+	byte[] header = readHeader(stream);
+	for (FileFormat fileFormat : getFormats()) {
+		if (fileFormat.isFileFormat(header)) return fileFormat.newInstance();
+	}
+	SWT.error(SWT.ERROR_UNSUPPORTED_FORMAT);
+	return null;
+}
+
 /**
  * Read the specified input stream using the specified loader, and
  * return the device independent image array represented by the stream.
  */
 public static ImageData[] load(InputStream is, ImageLoader loader) {
-	FileFormat fileFormat = null;
+	return load(is, loader, 1);
+}
+
+/**
+ * Read the specified input stream using the specified loader, and
+ * return the device independent image array represented by the stream,
+ * reduced to 1/scaleDenominator of its size. Formats that support it
+ * decode at the reduced size, all others are scaled after loading.
+ */
+public static ImageData[] load(InputStream is, ImageLoader loader, int scaleDenominator) {
 	LEDataInputStream stream = new LEDataInputStream(is);
-	for (int i = 1; i < FORMATS.length; i++) {
-		if (FORMATS[i] != null) {
-			try {
-				fileFormat = getFileFormat (stream, FORMATS[i]);
-				if (fileFormat != null) break;
-			} catch (ClassNotFoundException e) {
-				FORMATS[i] = null;
-			} catch (Exception e) {
-			}
+	FileFormat fileFormat = findFileFormat(stream);
+	fileFormat.loader = loader;
+	fileFormat.scaleDenominator = scaleDenominator;
+	ImageData[] data = fileFormat.loadFromStream(stream);
+	if (fileFormat.scaleDenominator > 1) {
+		int denominator = fileFormat.scaleDenominator;
+		for (int i = 0; i < data.length; i++) {
+			ImageData scaled = data[i].scaledTo((data[i].width + denominator - 1) / denominator, (data[i].height + denominator - 1) / denominator);
+			scaled.x /= denominator;
+			scaled.y /= denominator;
+			data[i] = scaled;
 		}
+		loader.logicalScreenWidth = (loader.logicalScreenWidth + denominator - 1) / denominator;
+		loader.logicalScreenHeight = (loader.logicalScreenHeight + denominator - 1) / denominator;
 	}
-	if (fileFormat == null) SWT.error(SWT.ERROR_UNSUPPORTED_FORMAT);
+	return data;
+}
+
+/**
+ * Read the specified input stream using the specified loader, and
+ * return an iterator that reads the device independent images
+ * represented by the stream as they are requested.
+ */
+public static Iterator<ImageData> loadFrames(InputStream is, ImageLoader loader) {
+	LEDataInputStream stream = new LEDataInputStream(is);
+	FileFormat fileFormat = findFileFormat(stream);
 	fileFormat.loader = loader;
-	return fileFormat.loadFromStream(stream);
+	return fileFormat.loadFramesFromStream(stream);
 }
 
 /**
@@ -95,17 +306,12 @@ public static ImageData[] load(InputStream is, ImageLoader loader) {
  */
 public static void save(OutputStream os, int format, ImageLoader loader) {
 	if (format < 0 || format >= FORMATS.length) SWT.error(SWT.ERROR_UNSUPPORTED_FORMAT);
-	if (FORMATS[format] == null) SWT.error(SWT.ERROR_UNSUPPORTED_FORMAT);
+	FileFormat fileFormat = getBuiltInFormats()[format];
+	if (fileFormat == null) SWT.error(SWT.ERROR_UNSUPPORTED_FORMAT);
 	if (loader.data == null || loader.data.length < 1) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
 
 	LEDataOutputStream stream = new LEDataOutputStream(os);
-	FileFormat fileFormat = null;
-	try {
-		Class<?> clazz = Class.forName(FORMAT_PACKAGE + '.' + FORMATS[format] + FORMAT_SUFFIX);
-		fileFormat = (FileFormat) clazz.getDeclaredConstructor().newInstance();
-	} catch (Exception e) {
-		SWT.error(SWT.ERROR_UNSUPPORTED_FORMAT);
-	}
+	fileFormat = fileFormat.newInstance();
 	if (format == SWT.IMAGE_BMP_RLE) {
 		switch (loader.data[0].depth) {
 			case 8: fileFormat.compression = 1; break;
@@ -17,6 +17,7 @@ package org.eclipse.swt.internal.image;
 import org.eclipse.swt.*;
 import org.eclipse.swt.graphics.*;
 import java.io.*;
+import java.util.*;
 
 public final class GIFFileFormat extends FileFormat {
 	String signature;
@@ -25,6 +26,9 @@ public final class GIFFileFormat extends FileFormat {
 	int delayTime = 0;
 	int transparentPixel = -1;
 	int repeatCount = 1;
+	/* the state of loading, between images */
+	PaletteData globalPalette;
+	int imageCount, nextID;
 
 	static final int GIF_APPLICATION_EXTENSION_BLOCK_ID = 0xFF;
 	static final int GIF_GRAPHICS_CONTROL_BLOCK_ID = 0xF9;
@@ -51,15 +55,13 @@ public final class GIFFileFormat extends FileFormat {
 	}
 
 	@Override
-	boolean isFileFormat(LEDataInputStream stream) {
-		try {
-			byte[] signature = new byte[3];
-			stream.read(signature);
-			stream.unread(signature);
-			return signature[0] == 'G' && signature[1] == 'I' && signature[2] == 'F';
-		} catch (Exception e) {
-			return false;
-		}
+	boolean isFileFormat(byte[] header) {
+		return header.length >= 3 && header[0] == 'G' && header[1] == 'I' && header[2] == 'F';
+	}
+
+	@Override
+	FileFormat newInstance() {
+		return new GIFFileFormat();
 	}
 
 	/**
@@ -68,6 +70,47 @@ public final class GIFFileFormat extends FileFormat {
 	 */
 	@Override
 	ImageData[] loadFromByteStream() {
+		readHeader();
+		ImageData[] images = new ImageData[0];
+		ImageData image;
+		while ((image = readNextImage()) != null) {
+			ImageData[] oldImages = images;
+			images = new ImageData[oldImages.length + 1];
+			System.arraycopy(oldImages, 0, images, 0, oldImages.length);
+			images[images.length - 1] = image;
+		}
+		return images;
+	}
+
+	/**
+	 * Load the GIF header and return an iterator that loads
+	 * the images stored in the input stream one at a time.
+	 */
+	@Override
+	Iterator<ImageData> loadFramesFromByteStream() {
+		readHeader();
+		return new Iterator<>() {
+			ImageData next;
+			@Override
+			public boolean hasNext() {
+				if (next == null) next = readNextImage();
+				return next != null;
+			}
+			@Override
+			public ImageData next() {
+				if (!hasNext()) throw new NoSuchElementException();
+				ImageData image = next;
+				next = null;
+				return image;
+			}
+		};
+	}
+
+	/**
+	 * Read the GIF signature, logical screen descriptor and
+	 * global palette, and the identifier of the first block.
+	 */
+	void readHeader() {
 		byte[] signature = new byte[3];
 		byte[] versionBytes = new byte[3];
 		byte[] block = new byte[7];
@@ -91,11 +134,11 @@ public final class GIFFileFormat extends FileFormat {
 		//aspect = block[6] & 0xFF;
 		bitsPerPixel = ((bitField >> 4) & 0x07) + 1;
 		defaultDepth = (bitField & 0x7) + 1;
-		PaletteData palette = null;
+		globalPalette = null;
 		if ((bitField & 0x80) != 0) {
 			// Global palette.
 			//sorted = (bitField & 0x8) != 0;
-			palette = readPalette(1 << defaultDepth);
+			globalPalette = readPalette(1 << defaultDepth);
 		} else {
 			// No global palette.
 			//sorted = false;
@@ -103,20 +146,24 @@ public final class GIFFileFormat extends FileFormat {
 			defaultDepth = bitsPerPixel;
 		}
 		loader.backgroundPixel = backgroundPixel;
+		imageCount = 0;
+		nextID = readID();
+	}
 
-		ImageData[] images = new ImageData[0];
-		int id = readID();
-		while (id != GIF_TRAILER_ID && id != -1) {
-			if (id == GIF_IMAGE_BLOCK_ID) {
-				ImageData image = readImageBlock(palette);
+	/**
+	 * Read the blocks up to and including the next image block.
+	 * Return the image, or null if there are no more images.
+	 */
+	ImageData readNextImage() {
+		ImageData image = null;
+		while (image == null && nextID != GIF_TRAILER_ID && nextID != -1) {
+			if (nextID == GIF_IMAGE_BLOCK_ID) {
+				image = readImageBlock(globalPalette);
 				if (loader.hasListeners()) {
 					loader.notifyListeners(new ImageLoaderEvent(loader, image, 3, true));
 				}
-				ImageData[] oldImages = images;
-				images = new ImageData[oldImages.length + 1];
-				System.arraycopy(oldImages, 0, images, 0, oldImages.length);
-				images[images.length - 1] = image;
-			} else if (id == GIF_EXTENSION_BLOCK_ID) {
+				imageCount++;
+			} else if (nextID == GIF_EXTENSION_BLOCK_ID) {
 				/* Read the extension block. Currently, only the
 				 * interesting parts of certain extensions are kept,
 				 * and the rest is discarded. In future, if we want
@@ -127,13 +174,16 @@ public final class GIFFileFormat extends FileFormat {
 			} else {
 				/* The GIF is not to spec, but try to salvage it
 				 * if we read at least one image. */
-				if (images.length > 0) break;
+				if (imageCount > 0) {
+					nextID = GIF_TRAILER_ID;
+					break;
+				}
 				SWT.error(SWT.ERROR_INVALID_IMAGE);
 			}
-			id = readID(); // block terminator (0)
-			if (id == 0) id = readID(); // next block ID (unless we just read it)
+			nextID = readID(); // block terminator (0)
+			if (nextID == 0) nextID = readID(); // next block ID (unless we just read it)
 		}
-		return images;
+		return image;
 	}
 
 	/**
@@ -1363,14 +1363,12 @@ void inverseDCT(int[] dataUnit) {
 	}
 }
 @Override
-boolean isFileFormat(LEDataInputStream stream) {
-	try {
-		JPEGStartOfImage soi = new JPEGStartOfImage(stream);
-		stream.unread(soi.reference);
-		return soi.verify();  // we no longer check for appN
-	} catch (Exception e) {
-		return false;
-	}
+boolean isFileFormat(byte[] header) {
+	return header.length >= 2 && (header[0] & 0xFF) == 0xFF && (header[1] & 0xFF) == (SOI & 0xFF); // we no longer check for appN
+}
+@Override
+FileFormat newInstance() {
+	return new JPEGFileFormat();
 }
 boolean isZeroInColumn(int[] dataUnit, int col) {
 	return dataUnit[col + 8] == 0 && dataUnit[col + 16] == 0
@@ -1388,7 +1386,9 @@ boolean isZeroInRow(int[] dataUnit, int rIndex) {
 ImageData[] loadFromByteStream() {
 	//TEMPORARY CODE
 	if (System.getProperty("org.eclipse.swt.internal.image.JPEGFileFormat_3.2") == null) {
-		return JPEGDecoder.loadFromByteStream(inputStream, loader);
+		ImageData[] data = JPEGDecoder.loadFromByteStream(inputStream, loader, scaleDenominator);
+		scaleDenominator = 1;
+		return data;
 	}
 	JPEGStartOfImage soi = new JPEGStartOfImage(inputStream);
 	if (!soi.verify()) SWT.error(SWT.ERROR_INVALID_IMAGE);
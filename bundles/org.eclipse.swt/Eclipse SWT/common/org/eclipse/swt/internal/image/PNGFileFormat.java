@@ -152,23 +152,21 @@ void unloadIntoByteStream(ImageLoader loader) {
 	encoder.encode(outputStream);
 }
 @Override
-boolean isFileFormat(LEDataInputStream stream) {
-	try {
-		byte[] signature = new byte[SIGNATURE_LENGTH];
-		stream.read(signature);
-		stream.unread(signature);
-		if ((signature[0] & 0xFF) != 137) return false; //137
-		if ((signature[1] & 0xFF) != 80) return false; //P
-		if ((signature[2] & 0xFF) != 78) return false; //N
-		if ((signature[3] & 0xFF) != 71) return false; //G
-		if ((signature[4] & 0xFF) != 13) return false; //<RETURN>
-		if ((signature[5] & 0xFF) != 10) return false; //<LINEFEED>
-		if ((signature[6] & 0xFF) != 26) return false; //<CTRL/Z>
-		if ((signature[7] & 0xFF) != 10) return false; //<LINEFEED>
-		return true;
-	} catch (Exception e) {
-		return false;
-	}
+boolean isFileFormat(byte[] signature) {
+	if (signature.length < SIGNATURE_LENGTH) return false;
+	if ((signature[0] & 0xFF) != 137) return false; //137
+	if ((signature[1] & 0xFF) != 80) return false; //P
+	if ((signature[2] & 0xFF) != 78) return false; //N
+	if ((signature[3] & 0xFF) != 71) return false; //G
+	if ((signature[4] & 0xFF) != 13) return false; //<RETURN>
+	if ((signature[5] & 0xFF) != 10) return false; //<LINEFEED>
+	if ((signature[6] & 0xFF) != 26) return false; //<CTRL/Z>
+	if ((signature[7] & 0xFF) != 10) return false; //<LINEFEED>
+	return true;
+}
+@Override
+FileFormat newInstance() {
+	return new PNGFileFormat();
 }
 /**
  * SWT does not support 16-bit depths. If this image uses
@@ -14,6 +14,8 @@
 package org.eclipse.swt.internal.image;
 
 import java.io.*;
+import java.util.function.*;
+import java.util.stream.*;
 import java.util.zip.*;
 
 import org.eclipse.swt.*;
@@ -33,6 +35,19 @@ final class PngEncoder extends Object {
 	static final int BEST_COMPRESSION = 9;
 	static final int DEFAULT_COMPRESSION = -1;
 
+	static final int FILTER_NONE = 0;
+	static final int FILTER_SUB = 1;
+	static final int FILTER_UP = 2;
+	static final int FILTER_AVERAGE = 3;
+	static final int FILTER_PAETH = 4;
+	/* chooses the filter of each row */
+	static final int FILTER_ADAPTIVE = -1;
+
+	/* the uncompressed bytes that are compressed together */
+	static final int STRIPE_SIZE = 128 * 1024;
+	/* the deflate window, the data before a stripe that it may refer to */
+	static final int DICTIONARY_SIZE = 32 * 1024;
+
 	ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
 	PngChunk chunk;
 
@@ -235,90 +250,298 @@ void writeTransparency() {
 
 void writeImageData() throws IOException {
 
-	ByteArrayOutputStream baos = new ByteArrayOutputStream(1024);
-	OutputStream os = new DeflaterOutputStream(baos, new Deflater(switch (loader.compression) {
+	int level = switch (loader.compression) {
 	case 0 -> NO_COMPRESSION;
 	case 1 -> BEST_SPEED;
 	case 3 -> BEST_COMPRESSION;
 	default -> DEFAULT_COMPRESSION;
-	}));
+	};
+
+	/*
+	 * Palette images compress best unfiltered. Otherwise each row is
+	 * filtered with the filter whose output has the smallest sum of
+	 * absolute values, unless the fastest compression is requested.
+	 */
+	int filter = FILTER_ADAPTIVE;
+	if (colorType == 3 || level == NO_COMPRESSION) filter = FILTER_NONE;
+	if (colorType != 3 && level == BEST_SPEED) filter = FILTER_UP;
+
+	/*
+	 * The rows are filtered and then compressed in stripes of about
+	 * STRIPE_SIZE bytes, on several threads if there is more than one.
+	 * Each stripe is primed with the filtered data before it, so all
+	 * rows are filtered before any are compressed. The compressed stripes
+	 * end on a byte boundary, so that they form one deflate stream.
+	 */
+	int rowBytes = width * bytesPerPixel() + 1;
+	byte[] filtered = new byte[rowBytes * height];
+	int rowsPerStripe = Math.max(1, STRIPE_SIZE / rowBytes);
+	int stripeCount = (height + rowsPerStripe - 1) / rowsPerStripe;
+	int filterType = filter;
+	run(stripeCount, stripe -> {
+		int startY = stripe * rowsPerStripe;
+		filterRows(startY, Math.min(height, startY + rowsPerStripe), filterType, filtered);
+	});
+	byte[][] stripes = new byte[stripeCount][];
+	run(stripeCount, stripe -> {
+		int start = stripe * rowsPerStripe * rowBytes;
+		int end = Math.min(filtered.length, start + rowsPerStripe * rowBytes);
+		stripes[stripe] = deflate(filtered, start, end, level, stripe == stripeCount - 1);
+	});
 
-	if (colorType == 3) {
+	ByteArrayOutputStream baos = new ByteArrayOutputStream(1024);
+	writeZlibHeader(baos, level);
+	for (byte[] stripe : stripes) {
+		baos.write(stripe);
+	}
+	Adler32 adler32 = new Adler32();
+	adler32.update(filtered);
+	writeInt(baos, (int) adler32.getValue());
 
-		byte[] lineData = new byte[width];
+	writeChunk(TAG_IDAT, baos.toByteArray());
 
-		for (int y = 0; y < height; y++) {
+}
 
-			int filter = 0;
-			os.write(filter);
+int bytesPerPixel() {
 
-			data.getPixels(0, y, width, lineData, 0);
+	return switch (colorType) {
+	case 3 -> 1;
+	case 6 -> 4;
+	default -> 3;
+	};
 
-			os.write(lineData);
+}
 
-		}
+/**
+ * Run the task for each index up to count, in parallel if
+ * there is more than one.
+ */
+static void run(int count, IntConsumer task) {
 
+	if (count == 1) {
+		task.accept(0);
+	} else {
+		IntStream.range(0, count).parallel().forEach(task);
 	}
 
-	else {
+}
+
+/**
+ * Write the rows from startY to endY, each preceded by its filter
+ * type, to their offset in the filtered image data.
+ */
+void filterRows(int startY, int endY, int filter, byte[] filtered) {
+
+	int bpp = bytesPerPixel();
+	int rowBytes = width * bpp;
+	byte[] row = new byte[rowBytes];
+	/* the row before the first row of the image is all zeros */
+	byte[] prior = new byte[rowBytes];
+	int[] pixels = colorType == 3 ? null : new int[width];
+	byte[] alphas = colorType == 6 ? new byte[width] : null;
+
+	if (startY > 0 && filter != FILTER_NONE) {
+		getRow(startY - 1, row, pixels, alphas);
+		byte[] temp = prior; prior = row; row = temp;
+	}
+	for (int y = startY, offset = startY * (rowBytes + 1); y < endY; y++, offset += rowBytes + 1) {
 
-		int[] lineData = new int[width];
-		byte[] alphaData = null;
-		if (colorType == 6) {
-			alphaData = new byte[width];
+		getRow(y, row, pixels, alphas);
+		int type = filter == FILTER_ADAPTIVE ? chooseFilter(row, prior, bpp) : filter;
+		filterRow(row, prior, bpp, type, filtered, offset);
+		byte[] temp = prior; prior = row; row = temp;
+
+	}
+
+}
+
+/**
+ * Convert the pixels of a row of the image to the bytes of the
+ * color type of the PNG image.
+ */
+void getRow(int y, byte[] row, int[] pixels, byte[] alphas) {
+
+	if (colorType == 3) {
+		data.getPixels(0, y, width, row, 0);
+		return;
+	}
+
+	data.getPixels(0, y, width, pixels, 0);
+	if (alphas != null) {
+		data.getAlphas(0, y, width, alphas, 0);
+	}
+
+	int redMask = data.palette.redMask;
+	int redShift = data.palette.redShift;
+	int greenMask = data.palette.greenMask;
+	int greenShift = data.palette.greenShift;
+	int blueShift = data.palette.blueShift;
+	int blueMask = data.palette.blueMask;
+
+	int offset = 0;
+	for (int x = 0; x < width; x++) {
+
+		int pixel = pixels[x];
+
+		int r = pixel & redMask;
+		row[offset++] = (byte) ((redShift < 0) ? r >>> -redShift
+				: r << redShift);
+		int g = pixel & greenMask;
+		row[offset++] = (byte) ((greenShift < 0) ? g >>> -greenShift
+				: g << greenShift);
+		int b = pixel & blueMask;
+		row[offset++] = (byte) ((blueShift < 0) ? b >>> -blueShift
+				: b << blueShift);
+
+		if (alphas != null) {
+			row[offset++] = alphas[x];
 		}
 
-		int redMask = data.palette.redMask;
-		int redShift = data.palette.redShift;
-		int greenMask = data.palette.greenMask;
-		int greenShift = data.palette.greenShift;
-		int blueShift = data.palette.blueShift;
-		int blueMask = data.palette.blueMask;
+	}
 
-		byte[] lineBytes = new byte[width * (colorType == 6 ? 4 : 3)];
+}
 
-		for (int y = 0; y < height; y++) {
+/**
+ * Return the filter type whose output for the row has the smallest sum
+ * of absolute values, taking the bytes as signed. This is the heuristic
+ * recommended by the PNG specification.
+ */
+static int chooseFilter(byte[] row, byte[] prior, int bpp) {
 
-			int filter = 0;
-			os.write(filter);
+	long none = 0, sub = 0, up = 0, average = 0, paeth = 0;
+	for (int i = 0; i < row.length; i++) {
 
-			data.getPixels(0, y, width, lineData, 0);
+		int x = row[i] & 0xFF;
+		int a = i >= bpp ? row[i - bpp] & 0xFF : 0;
+		int b = prior[i] & 0xFF;
+		int c = i >= bpp ? prior[i - bpp] & 0xFF : 0;
 
-			if (colorType == 6) {
-				data.getAlphas(0, y, width, alphaData, 0);
-			}
+		none += Math.abs((byte) x);
+		sub += Math.abs((byte) (x - a));
+		up += Math.abs((byte) (x - b));
+		average += Math.abs((byte) (x - ((a + b) >>> 1)));
+		paeth += Math.abs((byte) (x - paethPredictor(a, b, c)));
 
-			int offset = 0;
-			for (int x = 0; x < lineData.length; x++) {
+	}
 
-				int pixel = lineData[x];
+	int type = FILTER_NONE;
+	long min = none;
+	if (sub < min) { type = FILTER_SUB; min = sub; }
+	if (up < min) { type = FILTER_UP; min = up; }
+	if (average < min) { type = FILTER_AVERAGE; min = average; }
+	if (paeth < min) { type = FILTER_PAETH; }
+	return type;
 
-				int r = pixel & redMask;
-				lineBytes[offset++] = (byte) ((redShift < 0) ? r >>> -redShift
-						: r << redShift);
-				int g = pixel & greenMask;
-				lineBytes[offset++] = (byte) ((greenShift < 0) ? g >>> -greenShift
-						: g << greenShift);
-				int b = pixel & blueMask;
-				lineBytes[offset++] = (byte) ((blueShift < 0) ? b >>> -blueShift
-						: b << blueShift);
+}
 
-				if (colorType == 6) {
-					lineBytes[offset++] = alphaData[x];
-				}
+/**
+ * Write the filter type and the filtered bytes of the row to the
+ * output at the offset.
+ */
+static void filterRow(byte[] row, byte[] prior, int bpp, int type, byte[] output, int offset) {
 
+	output[offset++] = (byte) type;
+	switch (type) {
+		case FILTER_NONE:
+			System.arraycopy(row, 0, output, offset, row.length);
+			break;
+		case FILTER_SUB:
+			for (int i = 0; i < row.length; i++) {
+				int a = i >= bpp ? row[i - bpp] : 0;
+				output[offset + i] = (byte) (row[i] - a);
 			}
+			break;
+		case FILTER_UP:
+			for (int i = 0; i < row.length; i++) {
+				output[offset + i] = (byte) (row[i] - prior[i]);
+			}
+			break;
+		case FILTER_AVERAGE:
+			for (int i = 0; i < row.length; i++) {
+				int a = i >= bpp ? row[i - bpp] & 0xFF : 0;
+				output[offset + i] = (byte) (row[i] - ((a + (prior[i] & 0xFF)) >>> 1));
+			}
+			break;
+		case FILTER_PAETH:
+			for (int i = 0; i < row.length; i++) {
+				int a = i >= bpp ? row[i - bpp] & 0xFF : 0;
+				int c = i >= bpp ? prior[i - bpp] & 0xFF : 0;
+				output[offset + i] = (byte) (row[i] - paethPredictor(a, prior[i] & 0xFF, c));
+			}
+			break;
+	}
+
+}
 
-			os.write(lineBytes);
+static int paethPredictor(int a, int b, int c) {
 
-		}
+	int p = a + b - c;
+	int pa = Math.abs(p - a);
+	int pb = Math.abs(p - b);
+	int pc = Math.abs(p - c);
+	if (pa <= pb && pa <= pc) return a;
+	if (pb <= pc) return b;
+	return c;
+
+}
+
+/**
+ * Compress the data from start to end as part of a raw deflate stream.
+ * The window is primed with the data before start, and the output is
+ * flushed to a byte boundary, or finishes the stream if it is the last.
+ */
+static byte[] deflate(byte[] data, int start, int end, int level, boolean last) {
 
+	Deflater deflater = new Deflater(level, true);
+	try {
+		if (start > 0) {
+			int dictionaryLength = Math.min(start, DICTIONARY_SIZE);
+			deflater.setDictionary(data, start - dictionaryLength, dictionaryLength);
+		}
+		deflater.setInput(data, start, end - start);
+		ByteArrayOutputStream out = new ByteArrayOutputStream((end - start) / 2 + 64);
+		byte[] buffer = new byte[8192];
+		if (last) {
+			deflater.finish();
+			while (!deflater.finished()) {
+				int count = deflater.deflate(buffer);
+				out.write(buffer, 0, count);
+			}
+		} else {
+			int count;
+			do {
+				count = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+				out.write(buffer, 0, count);
+			} while (count == buffer.length);
+		}
+		return out.toByteArray();
+	} finally {
+		deflater.end();
 	}
 
-	os.flush();
-	os.close();
+}
 
-	writeChunk(TAG_IDAT, baos.toByteArray());
+/**
+ * Write the header of a zlib stream with a 32K window and the
+ * compression level hint of the level.
+ */
+static void writeZlibHeader(ByteArrayOutputStream baos, int level) {
+
+	int cmf = 0x78;
+	int flevel;
+	if (level == DEFAULT_COMPRESSION || level == 6) {
+		flevel = 2;
+	} else if (level < 2) {
+		flevel = 0;
+	} else if (level < 6) {
+		flevel = 1;
+	} else {
+		flevel = 3;
+	}
+	int flg = flevel << 6;
+	flg += (31 - ((cmf << 8) + flg) % 31) % 31;
+	baos.write(cmf);
+	baos.write(flg);
 
 }
 
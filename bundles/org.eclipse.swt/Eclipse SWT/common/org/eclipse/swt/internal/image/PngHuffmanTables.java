@@ -19,9 +19,6 @@ public class PngHuffmanTables {
 	PngHuffmanTable literalTable;
 	PngHuffmanTable distanceTable;
 
-	static PngHuffmanTable FixedLiteralTable;
-	static PngHuffmanTable FixedDistanceTable;
-
 	static final int LiteralTableSize = 288;
 	static final int[] FixedLiteralLengths = {
 		8, 8, 8, 8, 8, 8, 8, 8, 8, 8, 8, 8, 8, 8, 8, 8, 8, 8, 8, 8, 8, 8, 8, 8,
@@ -44,6 +41,11 @@ public class PngHuffmanTables {
 		5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5,
 	};
 
+	/* the tables are shared by all decoders, possibly on different threads,
+	 * they are built from copies because building sorts the lengths in place */
+	static final PngHuffmanTable FixedLiteralTable = new PngHuffmanTable(FixedLiteralLengths.clone());
+	static final PngHuffmanTable FixedDistanceTable = new PngHuffmanTable(FixedDistanceLengths.clone());
+
 	static final int LengthCodeTableSize = 19;
 	static final int[] LengthCodeOrder = {
 		16, 17, 18, 0, 8, 7, 9, 6, 10, 5,
@@ -57,23 +59,9 @@ static PngHuffmanTables getFixedTables() {
 	return new PngHuffmanTables();
 }
 
-private PngHuffmanTable getFixedLiteralTable() {
-	if (FixedLiteralTable == null) {
-		FixedLiteralTable = new PngHuffmanTable(FixedLiteralLengths);
-	}
-	return FixedLiteralTable;
-}
-
-private PngHuffmanTable getFixedDistanceTable() {
-	if (FixedDistanceTable == null) {
-		FixedDistanceTable = new PngHuffmanTable(FixedDistanceLengths);
-	}
-	return FixedDistanceTable;
-}
-
 private PngHuffmanTables () {
-	literalTable = getFixedLiteralTable();
-	distanceTable = getFixedDistanceTable();
+	literalTable = FixedLiteralTable;
+	distanceTable = FixedDistanceTable;
 }
 
 private PngHuffmanTables (PngDecodingDataStream stream) throws IOException {
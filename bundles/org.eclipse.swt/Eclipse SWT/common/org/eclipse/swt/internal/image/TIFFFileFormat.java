@@ -25,20 +25,18 @@ import java.io.*;
 public final class TIFFFileFormat extends FileFormat {
 
 @Override
-boolean isFileFormat(LEDataInputStream stream) {
-	try {
-		byte[] header = new byte[4];
-		stream.read(header);
-		stream.unread(header);
-		if (header[0] != header[1]) return false;
-		if (!(header[0] == 0x49 && header[2] == 42 && header[3] == 0) &&
-			!(header[0] == 0x4d && header[2] == 0 && header[3] == 42)) {
-			return false;
-		}
-		return true;
-	} catch (Exception e) {
+boolean isFileFormat(byte[] header) {
+	if (header.length < 4) return false;
+	if (header[0] != header[1]) return false;
+	if (!(header[0] == 0x49 && header[2] == 42 && header[3] == 0) &&
+		!(header[0] == 0x4d && header[2] == 0 && header[3] == 42)) {
 		return false;
 	}
+	return true;
+}
+@Override
+FileFormat newInstance() {
+	return new TIFFFileFormat();
 }
 
 @Override
@@ -416,16 +416,14 @@ int decompressRLE8Data(byte[] src, int numBytes, int stride, byte[] dest, int de
 	return 1;
 }
 @Override
-boolean isFileFormat(LEDataInputStream stream) {
-	try {
-		byte[] header = new byte[18];
-		stream.read(header);
-		stream.unread(header);
-		int infoHeaderSize = (header[14] & 0xFF) | ((header[15] & 0xFF) << 8) | ((header[16] & 0xFF) << 16) | ((header[17] & 0xFF) << 24);
-		return header[0] == 0x42 && header[1] == 0x4D && infoHeaderSize >= BMPHeaderFixedSize;
-	} catch (Exception e) {
-		return false;
-	}
+boolean isFileFormat(byte[] header) {
+	if (header.length < 18) return false;
+	int infoHeaderSize = (header[14] & 0xFF) | ((header[15] & 0xFF) << 8) | ((header[16] & 0xFF) << 16) | ((header[17] & 0xFF) << 24);
+	return header[0] == 0x42 && header[1] == 0x4D && infoHeaderSize >= BMPHeaderFixedSize;
+}
+@Override
+FileFormat newInstance() {
+	return new WinBMPFileFormat();
 }
 boolean isPaletteBMP(PaletteData pal, int depth) {
 	switch(depth) {
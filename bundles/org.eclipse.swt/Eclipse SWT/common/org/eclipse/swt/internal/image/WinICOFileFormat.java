@@ -54,15 +54,12 @@ int iconSize(ImageData i) {
 	return WinBMPFileFormat.BMPHeaderFixedSize + paletteSize + dataSize;
 }
 @Override
-boolean isFileFormat(LEDataInputStream stream) {
-	try {
-		byte[] header = new byte[4];
-		stream.read(header);
-		stream.unread(header);
-		return header[0] == 0 && header[1] == 0 && header[2] == 1 && header[3] == 0;
-	} catch (Exception e) {
-		return false;
-	}
+boolean isFileFormat(byte[] header) {
+	return header.length >= 4 && header[0] == 0 && header[1] == 0 && header[2] == 1 && header[3] == 0;
+}
+@Override
+FileFormat newInstance() {
+	return new WinICOFileFormat();
 }
 boolean isValidIcon(ImageData i) {
 	switch (i.depth) {
@@ -130,7 +127,7 @@ ImageData[] loadFromByteStream() {
  */
 ImageData loadIcon(int[] iconHeader) {
 	try {
-		FileFormat png = getFileFormat(inputStream, "PNG");
+		FileFormat png = getFileFormat(inputStream, SWT.IMAGE_PNG);
 		if (png != null) {
 			png.loader = this.loader;
 			return png.loadFromStream(inputStream)[0];
@@ -43,11 +43,38 @@ public class Synchronizer {
 	Thread syncThread;
 	static final int GROW_SIZE = 4;
 	static final int MESSAGE_LIMIT = 64;
+	volatile int messageBudget = 1;
+	volatile long timeBudget;
+	/* whether a subclass overrides asyncExec(), which asyncExecAll() must then call */
+	final boolean asyncExecOverridden = isAsyncExecOverridden (getClass ());
+	final Map<Object, KeyedRunnable> keyedMessages = new ConcurrentHashMap<>();
 
 	//TEMPORARY CODE
 	static final boolean IS_COCOA = "cocoa".equals (SWT.getPlatform ());
 	static final boolean IS_GTK = "gtk".equals (SWT.getPlatform ());
 
+	/*
+	 * Message queued by asyncExec(Object, Runnable). While it is pending,
+	 * further runnables with the same key replace its runnable. It is
+	 * removed from keyedMessages before running, so that runnables
+	 * submitted from then on are queued again.
+	 */
+	class KeyedRunnable implements Runnable {
+		final Object key;
+		Runnable runnable;
+
+		KeyedRunnable (Object key, Runnable runnable) {
+			this.key = key;
+			this.runnable = runnable;
+		}
+
+		@Override
+		public void run () {
+			keyedMessages.remove (key, this);
+			runnable.run ();
+		}
+	}
+
 /**
  * Constructs a new instance of this class.
  *
@@ -79,6 +106,13 @@ void addLast (RunnableLock lock) {
 	if (wake) display.wakeThread ();
 }
 
+void addAll (Collection<RunnableLock> locks) {
+	if (locks.isEmpty ()) return;
+	boolean wake = messages.isEmpty();
+	messages.addAll(locks);
+	if (wake) display.wakeThread ();
+}
+
 /**
  * Causes the <code>run()</code> method of the runnable to
  * be invoked by the user-interface thread at the next
@@ -101,6 +135,128 @@ protected void asyncExec (Runnable runnable) {
 	addLast (new RunnableLock (runnable));
 }
 
+/**
+ * Causes the <code>run()</code> method of the runnable to
+ * be invoked by the user-interface thread at the next
+ * reasonable opportunity, unless another runnable is
+ * submitted with an equal key before it runs. The caller of
+ * this method continues to run in parallel, and is not
+ * notified when the runnable has completed.
+ * <p>
+ * If a runnable with an equal key is still pending, it is
+ * replaced by the given runnable, which then runs at the
+ * position of the pending one. Otherwise the runnable is
+ * queued with {@link #asyncExec(Runnable)}. This bounds the
+ * number of pending runnables by the number of distinct keys
+ * and is meant for updates where only the most recent one
+ * matters. Keys are compared with <code>equals()</code>.
+ * </p>
+ *
+ * @param key the key identifying the update, or <code>null</code> to behave like {@link #asyncExec(Runnable)}
+ * @param runnable code to run on the user-interface thread.
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the key is not <code>null</code> and the runnable is <code>null</code></li>
+ * </ul>
+ *
+ * @see #asyncExec(Runnable)
+ *
+ * @since 3.126
+ */
+protected void asyncExec (Object key, Runnable runnable) {
+	if (key == null) {
+		asyncExec (runnable);
+		return;
+	}
+	if (runnable == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
+	boolean [] queued = new boolean [1];
+	KeyedRunnable message = keyedMessages.compute (key, (k, pending) -> {
+		if (pending != null) {
+			pending.runnable = runnable;
+			return pending;
+		}
+		queued [0] = true;
+		return new KeyedRunnable (k, runnable);
+	});
+	if (queued [0]) asyncExec (message);
+}
+
+/**
+ * Causes the <code>run()</code> methods of the runnables to
+ * be invoked by the user-interface thread at the next
+ * reasonable opportunity, in the iteration order of the
+ * collection. The caller of this method continues to run in
+ * parallel, and is not notified when the runnables have
+ * completed. <code>null</code> elements are ignored.
+ * <p>
+ * The runnables are added to the queue at once and the
+ * user-interface thread is woken at most once, which is
+ * considerably cheaper than calling {@link #asyncExec(Runnable)}
+ * for each of them. Subclasses that override
+ * <code>asyncExec</code> keep receiving every runnable through
+ * that method unless they override this method as well.
+ * </p>
+ *
+ * @param runnables code to run on the user-interface thread.
+ *
+ * @see #asyncExec
+ *
+ * @since 3.126
+ */
+protected void asyncExecAll (Collection<? extends Runnable> runnables) {
+	if (asyncExecOverridden) {
+		for (Runnable runnable : runnables) {
+			if (runnable != null) asyncExec (runnable);
+		}
+		return;
+	}
+	java.util.List<RunnableLock> locks = new ArrayList<> (runnables.size ());
+	for (Runnable runnable : runnables) {
+		if (runnable != null) locks.add (new RunnableLock (runnable));
+	}
+	addAll (locks);
+}
+
+/**
+ * Sets how many asynchronous messages the user-interface thread
+ * runs each time it processes them, for example in
+ * <code>Display.readAndDispatch()</code>. Messages are run until
+ * <code>count</code> messages have been run, the queue is empty or,
+ * when <code>milliseconds</code> is positive, the given time has
+ * elapsed. A count larger than one reduces the per-message overhead
+ * when many runnables are queued, while the time limit keeps the
+ * user-interface responsive to input and painting.
+ * <p>
+ * By default, one message is run each time.
+ * </p>
+ *
+ * @param count the maximum number of messages to run at once
+ * @param milliseconds the maximum time to spend running messages at once, or 0 for no limit
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_INVALID_ARGUMENT - if the count is less than 1 or milliseconds is negative</li>
+ * </ul>
+ *
+ * @since 3.126
+ */
+public void setMessageBudget (int count, int milliseconds) {
+	if (count < 1 || milliseconds < 0) SWT.error (SWT.ERROR_INVALID_ARGUMENT);
+	messageBudget = count;
+	timeBudget = milliseconds * 1000000L;
+}
+
+static boolean isAsyncExecOverridden (Class<?> clazz) {
+	for (Class<?> c = clazz; c != Synchronizer.class; c = c.getSuperclass ()) {
+		try {
+			c.getDeclaredMethod ("asyncExec", Runnable.class);
+			return true;
+		} catch (NoSuchMethodException e) {
+			// not declared by this class
+		}
+	}
+	return false;
+}
+
 boolean isMessagesEmpty() {
 	return messages.isEmpty();
 }
@@ -108,6 +264,7 @@ boolean isMessagesEmpty() {
 void releaseSynchronizer () {
 	display = null;
 	messages.clear();
+	keyedMessages.clear();
 	syncThread = null;
 }
 
@@ -121,6 +278,8 @@ boolean runAsyncMessages () {
 
 boolean runAsyncMessages (boolean all) {
 	boolean run = false;
+	int count = 0;
+	long start = timeBudget > 0 ? System.nanoTime () : 0;
 	do {
 		RunnableLock lock = removeFirst ();
 		if (lock == null) return run;
@@ -141,7 +300,7 @@ boolean runAsyncMessages (boolean all) {
 				lock.notifyAll ();
 			}
 		}
-	} while (all);
+	} while (all || (++count < messageBudget && (timeBudget == 0 || System.nanoTime () - start < timeBudget)));
 	return run;
 }
 
@@ -14,6 +14,8 @@
 package org.eclipse.swt.graphics;
 
 
+import java.util.*;
+
 import org.eclipse.swt.*;
 import org.eclipse.swt.internal.*;
 import org.eclipse.swt.internal.gtk.*;
@@ -49,6 +51,9 @@ public final class Font extends Resource {
 	 */
 	public long handle;
 
+	/* the extents of the strings measured in this font, created on demand */
+	List<TextExtentCache> extentCaches;
+
 Font(Device device) {
 	super(device);
 }
@@ -157,6 +162,23 @@ public Font(Device device, String name, int height, int style) {
 void destroy() {
 	OS.pango_font_description_free(handle);
 	handle = 0;
+	extentCaches = null;
+}
+
+/**
+ * Returns the cache of the extents of the strings measured in this font
+ * at the current zoom on a Cairo surface of the given type.
+ */
+synchronized TextExtentCache getExtentCache(int surfaceType) {
+	int zoom = DPIUtil.getDeviceZoom();
+	if (extentCaches == null) extentCaches = new ArrayList<>(1);
+	for (TextExtentCache cache : extentCaches) {
+		if (cache.zoom == zoom && cache.surfaceType == surfaceType) return cache;
+	}
+	extentCaches.removeIf(cache -> cache.zoom != zoom);
+	TextExtentCache cache = new TextExtentCache(zoom, surfaceType);
+	extentCaches.add(cache);
+	return cache;
 }
 
 /**
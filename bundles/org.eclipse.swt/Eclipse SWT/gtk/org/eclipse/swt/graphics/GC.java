@@ -95,6 +95,18 @@ public final class GC extends Resource {
 	 */
 	private Rectangle clipping;
 
+	/**
+	 * The type of the Cairo surface, whose text extents are cached together,
+	 * or -1 if it has not been queried yet.
+	 */
+	private int surfaceType = -1;
+
+	/**
+	 * Tracks whether {@link #setTextAntialias(int)} has replaced the font
+	 * options, which may change the extents of text.
+	 */
+	private boolean textFontOptions;
+
 	final static int FOREGROUND = 1 << 0;
 	final static int BACKGROUND = 1 << 1;
 	final static int FONT = 1 << 2;
@@ -202,10 +214,9 @@ int checkStyle(int style) {
 }
 
 static void addCairoString(long cairo, String string, float x, float y, Font font) {
-	byte[] buffer = Converter.wcsToMbcs(string, true);
 	long layout = OS.pango_cairo_create_layout(cairo);
 	if (layout == 0) SWT.error(SWT.ERROR_NO_HANDLES);
-	OS.pango_layout_set_text(layout, buffer, -1);
+	OS.pango_layout_set_text(layout, Converter.wcsToMbcsTransient(string), -1);
 	OS.pango_layout_set_font_description(layout, font.handle);
 	double[] currentX = new double[1], currentY = new double[1];
 	Cairo.cairo_get_current_point(cairo, currentX, currentY);
@@ -1921,8 +1932,17 @@ int fixMnemonic (char [] buffer) {
  */
 public int getAdvanceWidth(char ch) {
 	if (handle == 0) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
-	//BOGUS
-	return stringExtentInPixels(new String(new char[]{ch})).x;
+	return getAdvanceWidthInPixels(ch);
+}
+
+int getAdvanceWidthInPixels(char ch) {
+	TextExtentCache cache = getExtentCache();
+	int advance = cache != null ? cache.getAdvance(ch) : -1;
+	if (advance == -1) {
+		advance = stringExtentInPixels(String.valueOf(ch)).x;
+		if (cache != null) cache.putAdvance(ch, advance);
+	}
+	return advance;
 }
 
 /**
@@ -2053,7 +2073,7 @@ public Pattern getBackgroundPattern() {
 public int getCharWidth(char ch) {
 	if (handle == 0) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
 	//BOGUS
-	return stringExtentInPixels(new String(new char[]{ch})).x;
+	return getAdvanceWidthInPixels(ch);
 }
 
 /**
@@ -2682,6 +2702,37 @@ void initCairo() {
 	setCairoClip(data.damageRgn, data.clipRgn);
 }
 
+/**
+ * Returns the cache of the extents of the strings measured in the current
+ * font, measuring whether the font is fixed pitch for ASCII first, or
+ * <code>null</code> if the extents may differ from those measured by other
+ * GCs because of the font options or the transform of the receiver.
+ */
+TextExtentCache getExtentCache() {
+	Font font = data.font;
+	if (font == null || textFontOptions || currentTransform != null) return null;
+	if (surfaceType == -1) surfaceType = Cairo.cairo_surface_get_type(Cairo.cairo_get_target(handle));
+	TextExtentCache cache = font.getExtentCache(surfaceType);
+	if (cache.needsAsciiAdvance()) {
+		/* measure in a layout of its own to keep the string of the receiver */
+		if (data.context == 0) createLayout();
+		long layout = OS.pango_layout_new(data.context);
+		if (layout == 0) SWT.error(SWT.ERROR_NO_HANDLES);
+		OS.pango_layout_set_font_description(layout, font.handle);
+		int[] width = new int[1], height = new int[1];
+		OS.pango_layout_set_text(layout, Converter.wcsToMbcsTransient(TextExtentCache.ASCII), -1);
+		OS.pango_layout_get_size(layout, width, height);
+		int total = width[0];
+		OS.pango_layout_set_text(layout, Converter.wcsToMbcsTransient("W"), -1); //$NON-NLS-1$
+		OS.pango_layout_get_size(layout, width, height);
+		int advance = width[0];
+		OS.pango_layout_get_pixel_size(layout, width, height);
+		OS.g_object_unref(layout);
+		cache.setAsciiAdvance(total == advance * TextExtentCache.ASCII.length() ? advance : 0, height[0]);
+	}
+	return cache;
+}
+
 void computeStringSize() {
 	int[] width = new int[1], height = new int[1];
 	OS.pango_layout_get_pixel_size(data.layout, width, height);
@@ -3681,9 +3732,12 @@ void setString(String string, int flags) {
 	byte[] buffer;
 	int mnemonic, length = string.length ();
 	long layout = data.layout;
-	char[] text = new char[length];
-	string.getChars(0, length, text, 0);
-	if ((flags & SWT.DRAW_MNEMONIC) != 0 && (mnemonic = fixMnemonic(text)) != -1) {
+	char[] text = null;
+	if ((flags & SWT.DRAW_MNEMONIC) != 0) {
+		text = new char[length];
+		string.getChars(0, length, text, 0);
+	}
+	if (text != null && (mnemonic = fixMnemonic(text)) != -1) {
 		char[] text1 = new char[mnemonic - 1];
 		System.arraycopy(text, 0, text1, 0, text1.length);
 		byte[] buffer1 = Converter.wcsToMbcs(text1, false);
@@ -3703,11 +3757,11 @@ void setString(String string, int flags) {
 		OS.pango_attr_list_insert(attr_list, attr);
 		OS.pango_layout_set_attributes(layout, attr_list);
 		OS.pango_attr_list_unref(attr_list);
+		OS.pango_layout_set_text(layout, buffer, buffer.length);
 	} else {
-		buffer = Converter.wcsToMbcs(text, false);
 		OS.pango_layout_set_attributes(layout, 0);
+		OS.pango_layout_set_text(layout, text != null ? Converter.wcsToMbcsTransient(text) : Converter.wcsToMbcsTransient(string), -1);
 	}
-	OS.pango_layout_set_text(layout, buffer, buffer.length);
 	OS.pango_layout_set_single_paragraph_mode(layout, (flags & SWT.DRAW_DELIMITER) == 0);
 	OS.pango_layout_set_tabs(layout, (flags & SWT.DRAW_TAB) != 0 ? 0 : data.device.emptyTab);
 	data.string = string;
@@ -3761,6 +3815,7 @@ public void setTextAntialias(int antialias) {
 	if (data.context == 0) createLayout();
 	OS.pango_cairo_context_set_font_options(data.context, options);
 	Cairo.cairo_font_options_destroy(options);
+	textFontOptions = true;
 }
 
 /**
@@ -3919,11 +3974,17 @@ public Point textExtent(String string, int flags) {
 	return DPIUtil.autoScaleDown(drawable, textExtentInPixels(string, flags));
 }
 Point textExtentInPixels(String string, int flags) {
+	TextExtentCache cache = getExtentCache();
+	if (cache != null) {
+		Point extent = cache.getExtent(string, flags);
+		if (extent != null) return extent;
+	}
 	setString(string, flags);
 	checkGC(FONT);
 	if (data.stringWidth == -1) {
 		computeStringSize();
 	}
+	if (cache != null) cache.putExtent(string, flags, data.stringWidth, data.stringHeight);
 	return new Point(data.stringWidth, data.stringHeight);
 }
 
@@ -523,10 +523,22 @@ public Image(Device device, ImageData source, ImageData mask) {
  */
 public Image(Device device, InputStream stream) {
 	super(device);
-	ImageData data = new ImageData(stream);
 	currentDeviceZoom = DPIUtil.getDeviceZoom();
-	data = DPIUtil.autoScaleUp (device, data);
-	init(data);
+	if (stream == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	stream = ImageLoader.markableStream(stream);
+	/* formats added by the application are loaded by their decoders */
+	if (isUnscaled() && !ImageLoader.isDecoderFormat(stream)) {
+		long pixbuf = ImageLoader.gdk_pixbuf_new_from_stream(stream);
+		try {
+			createFromPixbuf(SWT.BITMAP, pixbuf);
+		} finally {
+			OS.g_object_unref(pixbuf);
+		}
+	} else {
+		ImageData data = new ImageData(stream);
+		data = DPIUtil.autoScaleUp (device, data);
+		init(data);
+	}
 	init();
 }
 
@@ -566,10 +578,13 @@ public Image(Device device, String filename) {
 	super(device);
 	if (filename == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
 
-	ImageData data = new ImageData(filename);
 	currentDeviceZoom = DPIUtil.getDeviceZoom();
-	data = DPIUtil.autoScaleUp (device, data);
-	init(data);
+	if (isUnscaled()) initNative(filename);
+	if (this.surface == 0) {
+		ImageData data = new ImageData(filename);
+		data = DPIUtil.autoScaleUp (device, data);
+		init(data);
+	}
 	init();
 }
 
@@ -739,6 +754,15 @@ boolean refreshImageForZoom () {
 	return refreshed;
 }
 
+/**
+ * Returns whether images loaded at 100% zoom are used as they are, so that
+ * a loaded GdkPixbuf can be copied to the surface without going through
+ * <code>ImageData</code>.
+ */
+boolean isUnscaled() {
+	return DPIUtil.getDeviceZoom() == 100 || !device.isAutoScalable();
+}
+
 void initNative(String filename) {
 	try {
 		byte[] fileNameBuffer = Converter.javaStringToCString(filename);
@@ -764,59 +788,23 @@ void createFromPixbuf(int type, long pixbuf) {
 	this.width = (int) Math.round(pixbufWidth / scaleFactor);
 	this.height = (int) Math.round(pixbufHeight / scaleFactor);
 
-	int stride = GDK.gdk_pixbuf_get_rowstride(pixbuf);
-	long pixels = GDK.gdk_pixbuf_get_pixels(pixbuf);
 	boolean hasAlpha = GDK.gdk_pixbuf_get_has_alpha(pixbuf);
 	int format = hasAlpha ? Cairo.CAIRO_FORMAT_ARGB32 : Cairo.CAIRO_FORMAT_RGB24;
 
-	// Initialize surface with dimensions received from the pixbuf and set device_scale appropriately
+	// Initialize surface with dimensions received from the pixbuf
 	surface = Cairo.cairo_image_surface_create(format, pixbufWidth, pixbufHeight);
 	if (surface == 0) SWT.error(SWT.ERROR_NO_HANDLES);
-	if (DPIUtil.useCairoAutoScale()) Cairo.cairo_surface_set_device_scale(surface, scaleFactor, scaleFactor);
 
-	long data = Cairo.cairo_image_surface_get_data(surface);
-	int cairoStride = Cairo.cairo_image_surface_get_stride(surface);
-	int oa = 0, or = 0, og = 0, ob = 0;
-	if (OS.BIG_ENDIAN) {
-		oa = 0; or = 1; og = 2; ob = 3;
-	} else {
-		oa = 3; or = 2; og = 1; ob = 0;
-	}
-	byte[] line = new byte[stride];
-	if (hasAlpha) {
-		for (int y = 0; y < pixbufHeight; y++) {
-			C.memmove(line, pixels + (y * stride), stride);
-			for (int x = 0, offset = 0; x < pixbufWidth; x++, offset += 4) {
-				int a = line[offset + 3] & 0xFF;
-				int r = ((line[offset + 0] & 0xFF) * a) + 128;
-				r = (r + (r >> 8)) >> 8;
-				int g = ((line[offset + 1] & 0xFF) * a) + 128;
-				g = (g + (g >> 8)) >> 8;
-				int b = ((line[offset + 2] & 0xFF) * a) + 128;
-				b = (b + (b >> 8)) >> 8;
-				line[offset + oa] = (byte)a;
-				line[offset + or] = (byte)r;
-				line[offset + og] = (byte)g;
-				line[offset + ob] = (byte)b;
-			}
-			C.memmove(data + (y * stride), line, stride);
-		}
-	} else {
-		byte[] cairoLine = new byte[cairoStride];
-		for (int y = 0; y < pixbufHeight; y++) {
-			C.memmove(line, pixels + (y * stride), stride);
-			for (int x = 0, offset = 0, cairoOffset = 0; x < pixbufWidth; x++, offset += 3, cairoOffset += 4) {
-				int r = line[offset + 0] & 0xFF;
-				int g = line[offset + 1] & 0xFF;
-				int b = line[offset + 2] & 0xFF;
-				cairoLine[cairoOffset + or] = (byte)r;
-				cairoLine[cairoOffset + og] = (byte)g;
-				cairoLine[cairoOffset + ob] = (byte)b;
-			}
-			C.memmove(data + (y * cairoStride), cairoLine, cairoStride);
-		}
-	}
-	Cairo.cairo_surface_mark_dirty(surface);
+	// Let GDK convert and pre-multiply the pixels while copying them to the surface
+	long cairo = Cairo.cairo_create(surface);
+	if (cairo == 0) SWT.error(SWT.ERROR_NO_HANDLES);
+	Cairo.cairo_set_operator(cairo, Cairo.CAIRO_OPERATOR_SOURCE);
+	GDK.gdk_cairo_set_source_pixbuf(cairo, pixbuf, 0, 0);
+	Cairo.cairo_paint(cairo);
+	Cairo.cairo_destroy(cairo);
+
+	// Set device_scale only now, as it would have scaled the pixbuf while painting
+	if (DPIUtil.useCairoAutoScale()) Cairo.cairo_surface_set_device_scale(surface, scaleFactor, scaleFactor);
 }
 
 /**
@@ -1026,46 +1014,12 @@ public ImageData getImageDataAtCurrentZoom () {
 	int stride = Cairo.cairo_image_surface_get_stride(surface);
 	long surfaceData = Cairo.cairo_image_surface_get_data(surface);
 	boolean hasAlpha = format == Cairo.CAIRO_FORMAT_ARGB32;
-	int oa, or, og, ob;
-	if (OS.BIG_ENDIAN) {
-		oa = 0; or = 1; og = 2; ob = 3;
-	} else {
-		oa = 3; or = 2; og = 1; ob = 0;
-	}
 	byte[] srcData = new byte[stride * height];
 	C.memmove(srcData, surfaceData, srcData.length);
 	PaletteData palette = new PaletteData(0xFF0000, 0xFF00, 0xFF);
 	ImageData data = new ImageData(width, height, 32, palette, 4, srcData);
-	if (hasAlpha) {
-		byte[] alphaData = data.alphaData = new byte[width * height];
-		for (int y = 0, offset = 0, alphaOffset = 0; y < height; y++) {
-			for (int x = 0; x < width; x++, offset += 4) {
-				int a = srcData[offset + oa] & 0xFF;
-				int r = srcData[offset + or] & 0xFF;
-				int g = srcData[offset + og] & 0xFF;
-				int b = srcData[offset + ob] & 0xFF;
-				srcData[offset + 0] = 0;
-				alphaData[alphaOffset++] = (byte)a;
-				if (a != 0) {
-					srcData[offset + 1] = (byte)(((r * 0xFF) + a / 2) / a);
-					srcData[offset + 2] = (byte)(((g * 0xFF) + a / 2) / a);
-					srcData[offset + 3] = (byte)(((b * 0xFF) + a / 2) / a);
-				}
-			}
-		}
-	} else {
-		for (int y = 0, offset = 0; y < height; y++) {
-			for (int x = 0; x < width; x++, offset += 4) {
-				byte r = srcData[offset + or];
-				byte g = srcData[offset + og];
-				byte b = srcData[offset + ob];
-				srcData[offset + 0] = 0;
-				srcData[offset + 1] = r;
-				srcData[offset + 2] = g;
-				srcData[offset + 3] = b;
-			}
-		}
-	}
+	if (hasAlpha) data.alphaData = new byte[width * height];
+	PixelConversion.surfaceToImageData(srcData, width, height, stride, data.alphaData);
 	Cairo.cairo_surface_destroy(surface);
 	return data;
 }
@@ -1242,16 +1196,13 @@ void init(ImageData image) {
 
 	int stride = Cairo.cairo_image_surface_get_stride(surface);
 	long data = Cairo.cairo_image_surface_get_data(surface);
-	int oa = 0, or = 0, og = 0, ob = 0;
 	int redMask, greenMask, blueMask, destDepth = 32, destOrder;
 	if (OS.BIG_ENDIAN) {
-		oa = 0; or = 1; og = 2; ob = 3;
 		redMask = 0xFF00;
 		greenMask = 0xFF0000;
 		blueMask = 0xFF000000;
 		destOrder = ImageData.MSB_FIRST;
 	} else {
-		oa = 3; or = 2; og = 1; ob = 0;
 		redMask = 0xFF0000;
 		greenMask = 0xFF00;
 		blueMask = 0xFF;
@@ -1260,7 +1211,9 @@ void init(ImageData image) {
 	byte[] buffer = image.data;
 	if (!palette.isDirect || image.depth != destDepth || stride != image.bytesPerLine || palette.redMask != redMask || palette.greenMask != greenMask || palette.blueMask != blueMask || destOrder != image.getByteOrder()) {
 		buffer = new byte[stride * imageDataHeight];
-		if (palette.isDirect) {
+		if (PixelConversion.canConvertToSurface(image)) {
+			PixelConversion.imageDataToSurface(image, buffer, stride);
+		} else if (palette.isDirect) {
 			ImageData.blit(
 				image.data, image.depth, image.bytesPerLine, image.getByteOrder(), imageDataWidth, imageDataHeight, palette.redMask, palette.greenMask, palette.blueMask,
 				buffer, destDepth, stride, destOrder, imageDataWidth, imageDataHeight, redMask, greenMask, blueMask,
@@ -1301,59 +1254,15 @@ void init(ImageData image) {
 			}
 		}
 		ImageData mask = image.getTransparencyMask();
-		for (int y = 0, offset = 0; y < imageDataHeight; y++) {
-			for (int x=0; x<imageDataWidth; x++, offset += 4) {
-				int alpha = mask.getPixel(x, y) == 0 ? 0 : 0xff;
-				/* pre-multiplied alpha */
-				int r = ((buffer[offset + or] & 0xFF) * alpha) + 128;
-				r = (r + (r >> 8)) >> 8;
-				int g = ((buffer[offset + og] & 0xFF) * alpha) + 128;
-				g = (g + (g >> 8)) >> 8;
-				int b = ((buffer[offset + ob] & 0xFF) * alpha) + 128;
-				b = (b + (b >> 8)) >> 8;
-				buffer[offset + oa] = (byte)alpha;
-				buffer[offset + or] = (byte)r;
-				buffer[offset + og] = (byte)g;
-				buffer[offset + ob] = (byte)b;
-			}
-		}
-	} else {
-		if (image.alpha != -1) {
-			int alpha = image.alpha;
-			for (int y = 0, offset = 0; y < imageDataHeight; y++) {
-				for (int x=0; x<imageDataWidth; x++, offset += 4) {
-					/* pre-multiplied alpha */
-					int r = ((buffer[offset + or] & 0xFF) * alpha) + 128;
-					r = (r + (r >> 8)) >> 8;
-					int g = ((buffer[offset + og] & 0xFF) * alpha) + 128;
-					g = (g + (g >> 8)) >> 8;
-					int b = ((buffer[offset + ob] & 0xFF) * alpha) + 128;
-					b = (b + (b >> 8)) >> 8;
-					buffer[offset + oa] = (byte)alpha;
-					buffer[offset + or] = (byte)r;
-					buffer[offset + og] = (byte)g;
-					buffer[offset + ob] = (byte)b;
-				}
-			}
-		} else if (image.alphaData != null) {
-			byte[] alphaData = image.alphaData;
-			for (int y = 0, offset = 0; y < imageDataHeight; y++) {
-				for (int x=0; x<imageDataWidth; x++, offset += 4) {
-					int alpha = alphaData [y*imageDataWidth+x] & 0xFF;
-					/* pre-multiplied alpha */
-					int r = ((buffer[offset + or] & 0xFF) * alpha) + 128;
-					r = (r + (r >> 8)) >> 8;
-					int g = ((buffer[offset + og] & 0xFF) * alpha) + 128;
-					g = (g + (g >> 8)) >> 8;
-					int b = ((buffer[offset + ob] & 0xFF) * alpha) + 128;
-					b = (b + (b >> 8)) >> 8;
-					buffer[offset + oa] = (byte)alpha;
-					buffer[offset + or] = (byte)r;
-					buffer[offset + og] = (byte)g;
-					buffer[offset + ob] = (byte)b;
-				}
+		byte[] alphaData = new byte[imageDataWidth * imageDataHeight];
+		for (int y = 0, alphaOffset = 0; y < imageDataHeight; y++) {
+			for (int x=0; x<imageDataWidth; x++) {
+				alphaData[alphaOffset++] = mask.getPixel(x, y) == 0 ? 0 : (byte)0xff;
 			}
 		}
+		PixelConversion.premultiply(buffer, imageDataWidth, imageDataHeight, stride, alphaData, 0);
+	} else if (image.alpha != -1 || image.alphaData != null) {
+		PixelConversion.premultiply(buffer, imageDataWidth, imageDataHeight, stride, image.alpha != -1 ? null : image.alphaData, image.alpha);
 	}
 	C.memmove(data, buffer, stride * imageDataHeight);
 	Cairo.cairo_surface_mark_dirty(surface);
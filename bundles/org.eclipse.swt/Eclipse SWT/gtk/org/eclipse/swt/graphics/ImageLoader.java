@@ -18,6 +18,8 @@ package org.eclipse.swt.graphics;
 import java.io.*;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.*;
 
 import org.eclipse.swt.*;
 import org.eclipse.swt.internal.*;
@@ -120,6 +122,11 @@ public class ImageLoader {
 	 */
 	List<ImageLoaderListener> imageLoaderListeners;
 
+	/*
+	 * the frames being loaded by loadFrames(InputStream)
+	 */
+	PixbufFrameLoader frameLoader;
+
 /**
  * Construct a new empty ImageLoader.
  */
@@ -138,6 +145,10 @@ void reset() {
 	backgroundPixel = -1;
 	repeatCount = 1;
 	compression = -1;
+	if (frameLoader != null) {
+		frameLoader.dispose();
+		frameLoader = null;
+	}
 }
 
 /**
@@ -161,11 +172,222 @@ void reset() {
 public ImageData[] load(InputStream stream) {
 	if (stream == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
 	reset();
+	stream = markableStream(stream);
+	if (isDecoderFormat(stream)) {
+		data = FileFormat.load(stream, this);
+		return data;
+	}
 	ImageData [] imgDataArray = getImageDataArrayFromStream(stream);
 	data = imgDataArray;
 	return imgDataArray;
 }
 
+/**
+ * Loads an array of <code>ImageData</code> objects from the
+ * specified input stream, reduced to 1/<code>scaleDenominator</code>
+ * of their size. Throws an error if either an error occurs while
+ * loading the images, or if the images are not of a supported type.
+ * Returns the loaded image data array.
+ * <p>
+ * JPEG images are decoded directly at the reduced size, which is
+ * considerably faster and needs a fraction of the memory of decoding
+ * the full image and scaling it down afterwards. This makes it suitable
+ * for creating thumbnails. Images in other formats are scaled down after
+ * loading. The width and height of the reduced images are rounded up.
+ * </p>
+ *
+ * @param stream the input stream to load the images from
+ * @param scaleDenominator the reduction, one of 1, 2, 4 or 8
+ * @return an array of <code>ImageData</code> objects loaded from the specified input stream
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the stream is null</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if the scale denominator is not 1, 2, 4 or 8</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_IO - if an IO error occurs while reading from the stream</li>
+ *    <li>ERROR_INVALID_IMAGE - if the image stream contains invalid data</li>
+ *    <li>ERROR_UNSUPPORTED_FORMAT - if the image stream contains an unrecognized format</li>
+ * </ul>
+ *
+ * @see #load(InputStream)
+ * @since 3.126
+ */
+public ImageData[] load(InputStream stream, int scaleDenominator) {
+	if (stream == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	switch (scaleDenominator) {
+		case 1: case 2: case 4: case 8: break;
+		default: SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+	}
+	if (scaleDenominator == 1) return load(stream);
+	/* the Java decoders reduce JPEG images while decoding */
+	reset();
+	data = FileFormat.load(stream, this, scaleDenominator);
+	return data;
+}
+
+/**
+ * Returns an iterator that loads the <code>ImageData</code> objects of
+ * the specified input stream one at a time, as they are requested.
+ * Throws an error if either an error occurs while loading the images,
+ * or if the images are not of a supported type.
+ * <p>
+ * Unlike {@link #load(InputStream)}, this does not hold all the images
+ * of an animation in memory at once, which makes it suitable for playing
+ * long animations. The loaded images are not stored in the <code>data</code>
+ * field. The other fields of the receiver are set as soon as they are
+ * known, and image loader listeners are notified as each image is loaded.
+ * The stream is read only as far as needed for the next image, so it must
+ * not be used otherwise until the iteration is complete. Resources held for
+ * loading the remaining images are released when the last image has been
+ * returned, or when the receiver is used to load images again.
+ * </p>
+ *
+ * @param stream the input stream to load the images from
+ * @return an iterator over the <code>ImageData</code> objects loaded from the specified input stream
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the stream is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_IO - if an IO error occurs while reading from the stream</li>
+ *    <li>ERROR_INVALID_IMAGE - if the image stream contains invalid data</li>
+ *    <li>ERROR_UNSUPPORTED_FORMAT - if the image stream contains an unrecognized format</li>
+ * </ul>
+ * These errors are thrown by this method or by the methods of the returned iterator.
+ *
+ * @see #load(InputStream)
+ * @since 3.126
+ */
+public Iterator<ImageData> loadFrames(InputStream stream) {
+	if (stream == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	reset();
+	stream = markableStream(stream);
+	if (isDecoderFormat(stream)) {
+		/* decoders load all images at once */
+		return Arrays.asList(FileFormat.load(stream, this)).iterator();
+	}
+	return frameLoader = new PixbufFrameLoader(this, stream);
+}
+
+/**
+ * Returns the stream, wrapped to support mark and reset if the application
+ * has added image formats, which are detected by reading the header of the
+ * stream.
+ */
+static InputStream markableStream(InputStream stream) {
+	if (FileFormat.hasDecoders() && !stream.markSupported()) return new BufferedInputStream(stream);
+	return stream;
+}
+
+/**
+ * Returns whether the stream contains an image in a format added by the
+ * application, which is loaded by its decoder instead of GdkPixbuf. The
+ * stream must have been returned by <code>markableStream</code>.
+ */
+static boolean isDecoderFormat(InputStream stream) {
+	if (!FileFormat.hasDecoders()) return false;
+	try {
+		stream.mark(FileFormat.HEADER_LENGTH);
+		byte[] header = stream.readNBytes(FileFormat.HEADER_LENGTH);
+		stream.reset();
+		return FileFormat.isDecoderFormat(header);
+	} catch (IOException e) {
+		SWT.error(SWT.ERROR_IO, e);
+	}
+	return false;
+}
+
+/**
+ * Loads the <code>ImageData</code> objects of each of the specified
+ * input streams in a task run by the specified executor, and returns
+ * a future for the result of each stream, in the order of the streams.
+ * <p>
+ * This is meant for loading many images, such as the icons of an
+ * application, on several threads. Each stream is opened by calling its
+ * supplier on the thread that loads it, and closed when it has been read.
+ * A future completes exceptionally with the error that {@link #load(InputStream)}
+ * would throw for its stream, and the results of the other streams are not
+ * affected. Images must still be created on the user-interface thread of
+ * their display, for example with
+ * <code>future.thenAcceptAsync(data -&gt; new Image(display, data[0]), display::asyncExec)</code>.
+ * </p>
+ *
+ * @param streams the suppliers of the input streams to load the images from
+ * @param executor the executor that runs the tasks loading the streams
+ * @return a future for the array of <code>ImageData</code> objects loaded from each stream
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the streams, any of their suppliers or the executor is null</li>
+ * </ul>
+ *
+ * @see #load(InputStream)
+ * @since 3.126
+ */
+public static List<CompletableFuture<ImageData[]>> loadAll(Collection<Supplier<InputStream>> streams, Executor executor) {
+	if (streams == null || executor == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	for (Supplier<InputStream> supplier : streams) {
+		if (supplier == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	}
+	List<CompletableFuture<ImageData[]>> futures = new ArrayList<>(streams.size());
+	for (Supplier<InputStream> supplier : streams) {
+		futures.add(CompletableFuture.supplyAsync(() -> loadStream(supplier), executor));
+	}
+	return futures;
+}
+
+/**
+ * Opens the stream of the supplier, loads it with a new image loader
+ * and closes it. Image loaders only share immutable state, so this may
+ * run on any thread.
+ */
+static ImageData[] loadStream(Supplier<InputStream> supplier) {
+	try (InputStream stream = supplier.get()) {
+		return new ImageLoader().load(stream);
+	} catch (IOException e) {
+		SWT.error(SWT.ERROR_IO, e);
+		return null;
+	}
+}
+
+/**
+ * Adds the decoder to the decoders that load images in file formats
+ * that SWT does not support itself. Decoders are tried in the order in
+ * which they were added, after the built-in formats.
+ *
+ * @param decoder the decoder to add
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the decoder is null</li>
+ * </ul>
+ *
+ * @see ImageFormatDecoder
+ * @see #removeImageFormatDecoder(ImageFormatDecoder)
+ * @since 3.126
+ */
+public static void addImageFormatDecoder(ImageFormatDecoder decoder) {
+	if (decoder == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	FileFormat.addDecoder(decoder);
+}
+
+/**
+ * Removes the decoder from the decoders that load images in file
+ * formats that SWT does not support itself.
+ *
+ * @param decoder the decoder to remove
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the decoder is null</li>
+ * </ul>
+ *
+ * @see #addImageFormatDecoder(ImageFormatDecoder)
+ * @since 3.126
+ */
+public static void removeImageFormatDecoder(ImageFormatDecoder decoder) {
+	if (decoder == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	FileFormat.removeDecoder(decoder);
+}
+
 /**
  * Return true if the image is an interlaced PNG file.
  * This is used to check whether ImageLoaderEvent should be fired when loading images.
@@ -176,102 +398,33 @@ boolean isInterlacedPNG(byte [] imageAsByteArray) {
 }
 
 ImageData [] getImageDataArrayFromStream(InputStream stream) {
-	long loader = GDK.gdk_pixbuf_loader_new();
+	PixbufFrameLoader frames = new PixbufFrameLoader(this, stream);
 	List<ImageData> imgDataList = new ArrayList<>();
 	try {
-		// 1) Load InputStream into byte array
-		ByteArrayOutputStream baos = new ByteArrayOutputStream();
-		stream.transferTo(baos);
-		baos.flush();
-		byte[] data_buffer = baos.toByteArray();
-		if (data_buffer.length == 0) SWT.error(SWT.ERROR_UNSUPPORTED_FORMAT);	// empty stream
-
-		// 2) Copy byte array to C memory, write to GdkPixbufLoader
-		long buffer_ptr = OS.g_malloc(data_buffer.length);
-		C.memmove(buffer_ptr, data_buffer, data_buffer.length);
-		long [] error = new long [1];
-		GDK.gdk_pixbuf_loader_write(loader, buffer_ptr, data_buffer.length, error);
-		if(error[0] != 0) {
-			/* Bug 576484
-			 * It is safe just to assume if this fails it is most likely an IO error
-			 * since unsupported format is checked before, and invalid image right after.
-			 * Still, check if it belongs to the G_FILE_ERROR domain and IO error code
-			 */
-			if(OS.g_error_matches(error[0], OS.g_file_error_quark(), OS.G_FILE_ERROR_IO)){
-				SWT.error(SWT.ERROR_IO, null, Display.extractFreeGError(error[0]));
-			} else {
-				OS.g_error_free(error[0]);
-			}
-		}
-		GDK.gdk_pixbuf_loader_close(loader, null);
-
-		// 3) Get GdkPixbufAnimation from loader
-		long pixbuf_animation = GDK.gdk_pixbuf_loader_get_animation(loader);
-		if (pixbuf_animation == 0) SWT.error(SWT.ERROR_INVALID_IMAGE);
-
-		boolean isStatic = GDK.gdk_pixbuf_animation_is_static_image(pixbuf_animation);
-		if (isStatic) {
-			// Static image, get as single pixbuf and convert it to ImageData
-			long pixbuf = GDK.gdk_pixbuf_animation_get_static_image(pixbuf_animation);
-			ImageData imgData = pixbufToImageData(pixbuf);
-			imgData.type = getImageFormat(loader);
-			imgDataList.add(imgData);
-		} else {
-			// Image with multiple frames, iterate through each frame and convert
-			// each frame to ImageData
-			long start_time = OS.g_malloc(8);
-			OS.g_get_current_time(start_time);
-			long animation_iter = GDK.gdk_pixbuf_animation_get_iter (pixbuf_animation, start_time);
-			int delay_time = 0;
-			int time_offset = 0;
-			// Fix the number of GIF frames as GdkPixbufAnimation does not provide an API to
-			// determine number of frames.
-			int num_frames = 32;
-			for (int i = 0; i < num_frames; i++) {
-				// Calculate time offset from start_time to next frame
-				delay_time = GDK.gdk_pixbuf_animation_iter_get_delay_time (animation_iter);
-				time_offset += delay_time;
-				OS.g_time_val_add(start_time, time_offset * 1000);
-				boolean update = GDK.gdk_pixbuf_animation_iter_advance (animation_iter, start_time);
-				if (update) {
-					long curr_pixbuf = GDK.gdk_pixbuf_animation_iter_get_pixbuf (animation_iter);
-					long pixbuf_copy = GDK.gdk_pixbuf_copy(curr_pixbuf); // copy because curr_pixbuf might get disposed on next advance
-					ImageData imgData = pixbufToImageData(pixbuf_copy);
-					if (this.logicalScreenHeight == 0 && this.logicalScreenWidth == 0) {
-						this.logicalScreenHeight = imgData.height;
-						this.logicalScreenWidth = imgData.width;
-					}
-					OS.g_object_unref(pixbuf_copy);
-					imgData.type = getImageFormat(loader);
-					imgData.delayTime = delay_time;
-					imgDataList.add(imgData);
-				} else {
-					break;
-				}
-			}
+		while (frames.hasNext()) {
+			imgDataList.add(frames.next());
 		}
-		ImageData [] imgDataArray = new ImageData [imgDataList.size()];
-		for (int i = 0; i < imgDataList.size(); i++) {
-			imgDataArray [i] = imgDataList.get(i);
-			// Loading completed, notify listeners
-			// listener should only be called when loading interlaced/progressive PNG/JPG/GIF ?
-			ImageData data = (ImageData) imgDataArray [i].clone();
-			if (this.hasListeners() && imgDataArray != null) {
-				if (data.type == SWT.IMAGE_PNG && isInterlacedPNG(data_buffer)) {
-					this.notifyListeners(new ImageLoaderEvent(this, data, i, true));
-				} else if (data.type != SWT.IMAGE_PNG) {
-					this.notifyListeners(new ImageLoaderEvent(this, data, i, true));
-				}
-			}
-		}
-		OS.g_free(buffer_ptr);
-		OS.g_object_unref(loader);
-		stream.close();
-		return imgDataArray;
+	} finally {
+		frames.dispose();
+	}
+	return imgDataList.toArray(new ImageData [imgDataList.size()]);
+}
+
+/**
+ * Loads the first image of the stream into a new GdkPixbuf, without
+ * converting it to <code>ImageData</code>. The caller must unref the
+ * returned pixbuf.
+ */
+static long gdk_pixbuf_new_from_stream(InputStream stream) {
+	PixbufFrameLoader frames = new PixbufFrameLoader(null, stream);
+	try {
+		return frames.loadPixbuf();
 	} catch (IOException e) {
 		SWT.error(SWT.ERROR_IO);
+	} finally {
+		frames.dispose();
 	}
-	return null;
+	return 0;
 }
 
 /**
@@ -388,33 +541,8 @@ static ImageData pixbufToImageData(long pixbuf) {
 	PaletteData palette = new PaletteData(0xFF0000, 0xFF00, 0xFF);
 	ImageData imgData = new ImageData(width, height, bits_per_sample * n_channels, palette, stride, srcData);
 	if (hasAlpha) {
-		byte[] alphaData = imgData.alphaData = new byte[width * height];
-		for (int y = 0, offset = 0, alphaOffset = 0; y < height; y++) {
-			for (int x = 0; x < width; x++, offset += n_channels) {
-				byte r = srcData[offset + 0];
-				byte g = srcData[offset + 1];
-				byte b = srcData[offset + 2];
-				byte a = srcData[offset + 3];
-				srcData[offset + 0] = 0;
-				alphaData[alphaOffset++] = a;
-				if (a != 0) {
-					srcData[offset + 1] = r;
-					srcData[offset + 2] = g;
-					srcData[offset + 3] = b;
-				}
-			}
-		}
-	} else {
-		for (int y = 0, offset = 0; y < height; y++) {
-			for (int x = 0; x < width; x++, offset += n_channels) {
-				byte r = srcData[offset + 0];
-				byte g = srcData[offset + 1];
-				byte b = srcData[offset + 2];
-				srcData[offset + 0] = r;
-				srcData[offset + 1] = g;
-				srcData[offset + 2] = b;
-			}
-		}
+		imgData.alphaData = new byte[width * height];
+		PixelConversion.pixbufToImageData(srcData, width, height, stride, imgData.alphaData);
 	}
 	return imgData;
 }
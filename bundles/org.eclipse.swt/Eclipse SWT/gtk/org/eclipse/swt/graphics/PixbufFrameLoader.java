@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+
+import java.io.*;
+import java.util.*;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.internal.*;
+import org.eclipse.swt.internal.gtk.*;
+import org.eclipse.swt.widgets.*;
+
+/**
+ * Loads the frames of an image stream with a <code>GdkPixbufLoader</code>.
+ * <p>
+ * The stream is written to the pixbuf loader in chunks as it is read, and
+ * only as far as needed to complete the next frame. Each frame is converted
+ * to <code>ImageData</code> when it is requested, so that the frames of long
+ * animations do not have to be held in the Java heap at once. The native
+ * resources are released when the last frame has been returned, when
+ * loading fails or when {@link #dispose()} is called.
+ * </p>
+ */
+class PixbufFrameLoader implements Iterator<ImageData> {
+	ImageLoader imageLoader;
+	InputStream stream;
+	long loader, buffer, iter, time;
+	byte[] chunk, header;
+	int headerLength, type = SWT.IMAGE_UNDEFINED, index;
+	boolean closed, failed, done;
+	ImageData next;
+
+	static final int CHUNK_SIZE = 64 * 1024;
+	/* sizeof(GTimeVal), two glongs */
+	static final int GTIMEVAL_SIZEOF = 16;
+
+PixbufFrameLoader(ImageLoader imageLoader, InputStream stream) {
+	this.imageLoader = imageLoader;
+	this.stream = stream;
+	chunk = new byte[CHUNK_SIZE];
+	header = new byte[ImageLoader.PNG_INTERLACE_METHOD_OFFSET + 1];
+	loader = GDK.gdk_pixbuf_loader_new();
+	buffer = OS.g_malloc(CHUNK_SIZE);
+}
+
+@Override
+public boolean hasNext() {
+	if (next == null && !done) {
+		try {
+			next = loadNext();
+		} catch (IOException e) {
+			dispose();
+			SWT.error(SWT.ERROR_IO, e);
+		} catch (RuntimeException | Error e) {
+			dispose();
+			throw e;
+		}
+		if (next == null) dispose();
+	}
+	return next != null;
+}
+
+@Override
+public ImageData next() {
+	if (!hasNext()) throw new NoSuchElementException();
+	ImageData data = next;
+	next = null;
+	return data;
+}
+
+/**
+ * Releases the pixbuf loader and the animation, and closes the stream.
+ */
+void dispose() {
+	done = true;
+	if (iter != 0) {
+		OS.g_object_unref(iter);
+		iter = 0;
+	}
+	if (time != 0) {
+		OS.g_free(time);
+		time = 0;
+	}
+	if (loader != 0) {
+		if (!closed) GDK.gdk_pixbuf_loader_close(loader, null);
+		OS.g_object_unref(loader);
+		loader = 0;
+	}
+	if (buffer != 0) {
+		OS.g_free(buffer);
+		buffer = 0;
+	}
+	if (stream != null) {
+		try {
+			stream.close();
+		} catch (IOException e) {
+			// Ignore error
+		}
+		stream = null;
+	}
+}
+
+/**
+ * Writes the stream to the pixbuf loader until the next frame has been
+ * loaded completely, and returns it, or <code>null</code> if the previous
+ * frame was the last.
+ */
+ImageData loadNext() throws IOException {
+	for (;;) {
+		if (iter == 0) {
+			long animation = GDK.gdk_pixbuf_loader_get_animation(loader);
+			if (animation != 0) {
+				time = OS.g_malloc(GTIMEVAL_SIZEOF);
+				OS.g_get_current_time(time);
+				iter = GDK.gdk_pixbuf_animation_get_iter(animation, time);
+			}
+		} else {
+			// Frames may have been added since the iterator was last advanced
+			GDK.gdk_pixbuf_animation_iter_advance(iter, time);
+		}
+		// All frames but the one still being written to the loader are complete
+		if (iter != 0 && (closed || !GDK.gdk_pixbuf_animation_iter_on_currently_loading_frame(iter))) break;
+		if (closed) SWT.error(SWT.ERROR_INVALID_IMAGE);
+		write();
+	}
+
+	int delay = GDK.gdk_pixbuf_animation_iter_get_delay_time(iter);
+	long pixbuf = GDK.gdk_pixbuf_animation_iter_get_pixbuf(iter);
+	ImageData data = ImageLoader.pixbufToImageData(pixbuf);
+	if (type == SWT.IMAGE_UNDEFINED) type = imageLoader.getImageFormat(loader);
+	data.type = type;
+	if (delay > 0) {
+		// GDK delays are in milliseconds, ImageData delays in hundredths of a second
+		data.delayTime = delay / 10;
+		if (imageLoader.logicalScreenHeight == 0 && imageLoader.logicalScreenWidth == 0) {
+			imageLoader.logicalScreenHeight = data.height;
+			imageLoader.logicalScreenWidth = data.width;
+		}
+	}
+	if (imageLoader.hasListeners()) {
+		// listener should only be called when loading interlaced/progressive PNG/JPG/GIF ?
+		if (type != SWT.IMAGE_PNG || imageLoader.isInterlacedPNG(header)) {
+			imageLoader.notifyListeners(new ImageLoaderEvent(imageLoader, (ImageData) data.clone(), index, true));
+		}
+	}
+	index++;
+
+	// A static image has no delay, an animation ends with the last frame that was loaded
+	if (delay <= 0 || (closed && GDK.gdk_pixbuf_animation_iter_on_currently_loading_frame(iter))) {
+		done = true;
+	} else {
+		OS.g_time_val_add(time, delay * 1000L);
+	}
+	return data;
+}
+
+/**
+ * Writes the whole stream to the pixbuf loader and returns a new
+ * reference to the pixbuf of its first frame.
+ */
+long loadPixbuf() throws IOException {
+	while (!closed) write();
+	long pixbuf = GDK.gdk_pixbuf_loader_get_pixbuf(loader);
+	if (pixbuf == 0) SWT.error(SWT.ERROR_INVALID_IMAGE);
+	OS.g_object_ref(pixbuf);
+	return pixbuf;
+}
+
+/**
+ * Writes the next chunk of the stream to the pixbuf loader,
+ * and closes the loader at the end of the stream.
+ */
+void write() throws IOException {
+	int count = failed ? -1 : stream.read(chunk);
+	if (count < 0) {
+		if (headerLength == 0) SWT.error(SWT.ERROR_UNSUPPORTED_FORMAT);	// empty stream
+		GDK.gdk_pixbuf_loader_close(loader, null);
+		closed = true;
+		return;
+	}
+	if (headerLength < header.length) {
+		int length = Math.min(count, header.length - headerLength);
+		System.arraycopy(chunk, 0, header, headerLength, length);
+		headerLength += length;
+	}
+	C.memmove(buffer, chunk, count);
+	long [] error = new long [1];
+	GDK.gdk_pixbuf_loader_write(loader, buffer, count, error);
+	if (error[0] != 0) {
+		/* Bug 576484
+		 * It is safe just to assume if this fails it is most likely an IO error
+		 * since unsupported format is checked before, and invalid image right after.
+		 * Still, check if it belongs to the G_FILE_ERROR domain and IO error code
+		 */
+		if (OS.g_error_matches(error[0], OS.g_file_error_quark(), OS.G_FILE_ERROR_IO)) {
+			SWT.error(SWT.ERROR_IO, null, Display.extractFreeGError(error[0]));
+		} else {
+			OS.g_error_free(error[0]);
+		}
+		// The loader does not accept any more data after an error
+		failed = true;
+	}
+}
+}
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+
+import java.lang.invoke.*;
+import java.nio.*;
+
+/**
+ * Converts pixels between the layouts of <code>GdkPixbuf</code>, cairo image
+ * surfaces and <code>ImageData</code>.
+ * <p>
+ * A pixbuf stores non pre-multiplied RGB or RGBA bytes, a cairo surface stores
+ * pre-multiplied ARGB in native byte order and <code>ImageData</code> uses
+ * 0RGB in big endian byte order with a separate alpha channel. The conversions
+ * read and write a whole pixel at a time and un-premultiply by table lookup.
+ * </p>
+ */
+final class PixelConversion {
+	static final VarHandle INT_BIG_ENDIAN = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+	static final VarHandle INT_NATIVE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+	/*
+	 * UNPREMULTIPLY[(alpha << 8) | component] is the component divided by
+	 * alpha, rounded as cairo rounds.
+	 */
+	static final byte[] UNPREMULTIPLY = new byte[256 * 256];
+	static {
+		for (int a = 1; a < 256; a++) {
+			for (int c = 0; c < 256; c++) {
+				UNPREMULTIPLY[(a << 8) | c] = (byte) Math.min(0xFF, ((c * 0xFF) + a / 2) / a);
+			}
+		}
+	}
+
+private PixelConversion() {
+}
+
+/**
+ * Converts the RGBA pixels of a pixbuf to 0RGB in place and extracts
+ * their alpha channel.
+ *
+ * @param data the pixbuf pixels, stride bytes per row
+ * @param alphaData receives width * height alpha values
+ */
+static void pixbufToImageData(byte[] data, int width, int height, int stride, byte[] alphaData) {
+	for (int y = 0, alphaOffset = 0; y < height; y++) {
+		for (int x = 0, offset = y * stride; x < width; x++, offset += 4) {
+			int rgba = (int) INT_BIG_ENDIAN.get(data, offset);
+			alphaData[alphaOffset++] = (byte) rgba;
+			INT_BIG_ENDIAN.set(data, offset, rgba >>> 8);
+		}
+	}
+}
+
+/**
+ * Converts the pixels of a cairo surface to 0RGB in place, and
+ * un-premultiplies and extracts their alpha channel if
+ * <code>alphaData</code> is not <code>null</code>.
+ *
+ * @param data the surface pixels, stride bytes per row
+ * @param alphaData receives width * height alpha values or <code>null</code>
+ *  if the surface has no alpha channel
+ */
+static void surfaceToImageData(byte[] data, int width, int height, int stride, byte[] alphaData) {
+	for (int y = 0, alphaOffset = 0; y < height; y++) {
+		for (int x = 0, offset = y * stride; x < width; x++, offset += 4) {
+			int argb = (int) INT_NATIVE.get(data, offset);
+			int rgb = argb & 0xFFFFFF;
+			if (alphaData != null) {
+				int a = argb >>> 24;
+				alphaData[alphaOffset++] = (byte) a;
+				if (a == 0) {
+					rgb = 0;
+				} else if (a != 0xFF) {
+					int index = a << 8;
+					rgb = (UNPREMULTIPLY[index | (rgb >>> 16)] & 0xFF) << 16
+						| (UNPREMULTIPLY[index | ((rgb >>> 8) & 0xFF)] & 0xFF) << 8
+						| (UNPREMULTIPLY[index | (rgb & 0xFF)] & 0xFF);
+				}
+			}
+			INT_BIG_ENDIAN.set(data, offset, rgb);
+		}
+	}
+}
+
+/**
+ * Returns whether {@link #imageDataToSurface(ImageData, byte[], int)} can
+ * convert the pixels of the image data, that is, whether they are 0RGB or
+ * RGB in big endian byte order.
+ */
+static boolean canConvertToSurface(ImageData image) {
+	PaletteData palette = image.palette;
+	return palette.isDirect && palette.redMask == 0xFF0000 && palette.greenMask == 0xFF00 && palette.blueMask == 0xFF
+		&& (image.depth == 24 || image.depth == 32) && image.getByteOrder() == ImageData.MSB_FIRST;
+}
+
+/**
+ * Converts the pixels of the image data to opaque pixels of a cairo
+ * surface.
+ *
+ * @param image the image data, see {@link #canConvertToSurface(ImageData)}
+ * @param buffer receives the surface pixels
+ * @param stride the bytes per row of the surface
+ */
+static void imageDataToSurface(ImageData image, byte[] buffer, int stride) {
+	byte[] data = image.data;
+	int width = image.width, height = image.height, bytesPerLine = image.bytesPerLine;
+	if (image.depth == 32) {
+		for (int y = 0; y < height; y++) {
+			for (int x = 0, srcOffset = y * bytesPerLine, offset = y * stride; x < width; x++, srcOffset += 4, offset += 4) {
+				INT_NATIVE.set(buffer, offset, 0xFF000000 | (int) INT_BIG_ENDIAN.get(data, srcOffset));
+			}
+		}
+	} else {
+		for (int y = 0; y < height; y++) {
+			for (int x = 0, srcOffset = y * bytesPerLine, offset = y * stride; x < width; x++, srcOffset += 3, offset += 4) {
+				int rgb = (data[srcOffset] & 0xFF) << 16 | (data[srcOffset + 1] & 0xFF) << 8 | (data[srcOffset + 2] & 0xFF);
+				INT_NATIVE.set(buffer, offset, 0xFF000000 | rgb);
+			}
+		}
+	}
+}
+
+/**
+ * Applies alpha to the pixels of a cairo surface, pre-multiplying their
+ * color components.
+ *
+ * @param buffer the surface pixels, stride bytes per row
+ * @param alphaData width * height alpha values or <code>null</code> to use
+ *  <code>alpha</code> for all pixels
+ * @param alpha the alpha value of all pixels if there is no alpha data
+ */
+static void premultiply(byte[] buffer, int width, int height, int stride, byte[] alphaData, int alpha) {
+	for (int y = 0, alphaOffset = 0; y < height; y++) {
+		for (int x = 0, offset = y * stride; x < width; x++, offset += 4) {
+			int a = alphaData != null ? alphaData[alphaOffset++] & 0xFF : alpha;
+			int argb = (int) INT_NATIVE.get(buffer, offset);
+			/* red and blue are multiplied together, each in its own 16 bits */
+			int rb = (argb & 0xFF00FF) * a + 0x800080;
+			rb = ((rb + ((rb >>> 8) & 0xFF00FF)) >>> 8) & 0xFF00FF;
+			int g = (argb & 0xFF00) * a + 0x8000;
+			g = ((g + ((g >>> 8) & 0xFF00)) >>> 8) & 0xFF00;
+			INT_NATIVE.set(buffer, offset, a << 24 | rb | g);
+		}
+	}
+}
+
+}
@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+
+import java.util.*;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.internal.gtk.*;
+
+/**
+ * Caches the extents of strings and the advances of characters measured
+ * by <code>GC</code> in one font, so that strings that are measured again
+ * do not have to be laid out by Pango.
+ * <p>
+ * The cache belongs to the font and is shared by all GCs that use it. The
+ * extents of each combination of the flags that change them are kept in
+ * their own map, up to <code>MAX_ENTRIES</code> strings that were used
+ * least recently are evicted. A font whose printable ASCII characters all
+ * have the same advance measures strings of those characters without any
+ * lookup. The cache is only valid for the zoom and the type of Cairo
+ * surface it was created for.
+ * </p>
+ */
+final class TextExtentCache {
+	final int zoom, surfaceType;
+	final ExtentMap [] extents;
+	final int [] advances;
+
+	/* the advance of the printable ASCII characters in Pango units,
+	 * 0 if they differ and -1 until it has been measured */
+	int asciiAdvance = -1;
+	int asciiHeight;
+
+	/* the flags that change the extent of a string */
+	static final int FLAGS = SWT.DRAW_DELIMITER | SWT.DRAW_TAB | SWT.DRAW_MNEMONIC;
+	static final int MAX_ENTRIES = 512;
+	static final int MAX_LENGTH = 256;
+	/* the characters whose advances are kept in an array */
+	static final int ADVANCES = 256;
+	static final String ASCII;
+	static {
+		char [] chars = new char [0x7F - 0x20];
+		for (int i = 0; i < chars.length; i++) chars [i] = (char) (0x20 + i);
+		ASCII = new String (chars);
+	}
+
+/**
+ * The extents of strings, the least recently used strings are evicted.
+ */
+static final class ExtentMap extends LinkedHashMap<String, Point> {
+	private static final long serialVersionUID = 1L;
+
+	ExtentMap() {
+		super (16, 0.75f, true);
+	}
+	@Override
+	protected boolean removeEldestEntry(Map.Entry<String, Point> eldest) {
+		return size () > MAX_ENTRIES;
+	}
+}
+
+TextExtentCache(int zoom, int surfaceType) {
+	this.zoom = zoom;
+	this.surfaceType = surfaceType;
+	extents = new ExtentMap [(FLAGS >> 1) + 1];
+	advances = new int [ADVANCES];
+	Arrays.fill (advances, -1);
+}
+
+/**
+ * Returns the extent of the string drawn with the flags, or <code>null</code>
+ * if it has not been measured yet.
+ */
+synchronized Point getExtent(String string, int flags) {
+	flags &= FLAGS;
+	if (asciiAdvance > 0 && isAscii (string, flags)) {
+		return new Point ((string.length () * asciiAdvance + OS.PANGO_SCALE - 1) / OS.PANGO_SCALE, asciiHeight);
+	}
+	ExtentMap map = extents [flags >> 1];
+	Point extent = map != null ? map.get (string) : null;
+	return extent != null ? new Point (extent.x, extent.y) : null;
+}
+
+/**
+ * Stores the extent of the string drawn with the flags.
+ */
+synchronized void putExtent(String string, int flags, int width, int height) {
+	if (string.length () > MAX_LENGTH) return;
+	flags &= FLAGS;
+	ExtentMap map = extents [flags >> 1];
+	if (map == null) extents [flags >> 1] = map = new ExtentMap ();
+	map.put (string, new Point (width, height));
+}
+
+/**
+ * Returns the advance of the character, or -1 if it has not been measured yet.
+ */
+synchronized int getAdvance(char ch) {
+	if (ch >= ADVANCES) return -1;
+	if (asciiAdvance > 0 && ch >= 0x20 && ch < 0x7F) {
+		return (asciiAdvance + OS.PANGO_SCALE - 1) / OS.PANGO_SCALE;
+	}
+	return advances [ch];
+}
+
+synchronized void putAdvance(char ch, int advance) {
+	if (ch < ADVANCES) advances [ch] = advance;
+}
+
+/**
+ * Returns whether the printable ASCII characters of the font still have to
+ * be measured by {@link #setAsciiAdvance(int, int)}.
+ */
+synchronized boolean needsAsciiAdvance() {
+	return asciiAdvance == -1;
+}
+
+/**
+ * Stores the advance of the printable ASCII characters in Pango units, or 0
+ * if they differ, and the height of a line of them in pixels.
+ */
+synchronized void setAsciiAdvance(int advance, int height) {
+	asciiAdvance = advance;
+	asciiHeight = height;
+}
+
+/**
+ * Returns whether the string only consists of printable ASCII characters
+ * that are drawn without any processing by the flags.
+ */
+static boolean isAscii(String string, int flags) {
+	int length = string.length ();
+	if (length == 0) return false;
+	boolean mnemonic = (flags & SWT.DRAW_MNEMONIC) != 0;
+	for (int i = 0; i < length; i++) {
+		char ch = string.charAt (i);
+		if (ch < 0x20 || ch >= 0x7F || (mnemonic && ch == '&')) return false;
+	}
+	return true;
+}
+}
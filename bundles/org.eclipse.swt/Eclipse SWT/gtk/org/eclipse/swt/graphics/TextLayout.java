@@ -265,8 +265,7 @@ void checkLayout() {
 void computeRuns () {
 	if (attrList != 0) return;
 	String segmentsText = getSegmentsText();
-	byte[] buffer = Converter.wcsToMbcs(segmentsText, false);
-	OS.pango_layout_set_text (layout, buffer, buffer.length);
+	OS.pango_layout_set_text (layout, Converter.wcsToMbcsTransient(segmentsText), -1);
 	attrList = OS.pango_attr_list_new();
 	selAttrList = OS.pango_attr_list_new();
 	// pango_attr_insert_hyphens_new function is available only on Pango 1.44.0+
@@ -332,8 +331,7 @@ void computeRuns () {
 			lineIndex++;
 		}
 		segmentsText.getChars(oldPos, segementsLength, chars,  oldPos + lineIndex * 2);
-		buffer = Converter.wcsToMbcs(chars, false);
-		OS.pango_layout_set_text (layout, buffer, buffer.length);
+		OS.pango_layout_set_text (layout, Converter.wcsToMbcsTransient(chars), -1);
 		ptr = OS.pango_layout_get_text(layout);
 		offsetCount += 2 * lineCount;
 	} else {
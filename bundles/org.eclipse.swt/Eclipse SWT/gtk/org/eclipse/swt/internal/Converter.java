@@ -17,6 +17,7 @@ package org.eclipse.swt.internal;
 import java.io.*;
 import java.nio.*;
 import java.nio.charset.*;
+import java.util.*;
 
 import org.eclipse.swt.internal.gtk.*;
 
@@ -91,6 +92,11 @@ import org.eclipse.swt.internal.gtk.*;
  * - I suggest using Java functions where possible to avoid memory leaks.
  *   (Yes, they happen and are big-pain-in-the-ass to find https://bugs.eclipse.org/bugs/show_bug.cgi?id=533995)
  *
+ * - This class converts between UTF-16 and UTF-8 in Java, with the same results as the Glib functions
+ *   above, into buffers owned by the calling thread. No native memory is allocated, and the only garbage
+ *   is the returned array. The *Transient methods do not even allocate that, they return the buffer
+ *   itself, to be passed directly to a native function.
+ *
  *
  * Learning about encoding:
  * #########################
@@ -119,6 +125,134 @@ public final class Converter {
 	public static final byte [] EmptyByteArray = new byte [0];
 	public static final char [] EmptyCharArray = new char [0];
 
+	/* The initial and the maximum number of chars of the conversion buffers.
+	 * Longer strings are converted in temporary buffers. */
+	static final int INITIAL_BUFFER_SIZE = 256;
+	static final int MAX_BUFFER_SIZE = 64 * 1024;
+
+	/* The conversion buffers of each thread */
+	static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial (Buffers::new);
+
+	static final class Buffers {
+		char [] chars = new char [INITIAL_BUFFER_SIZE];
+		byte [] bytes = new byte [INITIAL_BUFFER_SIZE * 3 + 1];
+
+		char [] chars (int length) {
+			if (length <= chars.length) return chars;
+			if (length > MAX_BUFFER_SIZE) return new char [length];
+			return chars = new char [Math.max (length, Math.min (chars.length * 2, MAX_BUFFER_SIZE))];
+		}
+
+		byte [] bytes (int length) {
+			if (length <= bytes.length) return bytes;
+			if (length > MAX_BUFFER_SIZE * 3 + 1) return new byte [length];
+			return bytes = new byte [Math.max (length, Math.min (bytes.length * 2, MAX_BUFFER_SIZE * 3 + 1))];
+		}
+	}
+
+/**
+ * Encode the first <code>length</code> chars as UTF-8, followed by a NULL
+ * byte, like <code>g_utf16_to_utf8()</code>: the conversion stops at the
+ * first NULL character.
+ *
+ * @param chars the UTF-16 characters
+ * @param length the number of characters to encode
+ * @param bytes receives the UTF-8 bytes, at least <code>length * 3 + 1</code>
+ * @return the number of bytes without the NULL byte, or -1 if the characters contain
+ *  an unpaired surrogate, for which <code>g_utf16_to_utf8()</code> fails
+ */
+static int encode (char [] chars, int length, byte [] bytes) {
+	int i = 0;
+	/* ASCII */
+	while (i < length) {
+		char c = chars [i];
+		if (c >= 0x80 || c == 0) break;
+		bytes [i++] = (byte) c;
+	}
+	int count = i;
+	while (i < length) {
+		char c = chars [i++];
+		if (c < 0x80) {
+			if (c == 0) break;
+			bytes [count++] = (byte) c;
+		} else if (c < 0x800) {
+			bytes [count++] = (byte) (0xC0 | (c >> 6));
+			bytes [count++] = (byte) (0x80 | (c & 0x3F));
+		} else if (Character.isSurrogate (c)) {
+			if (Character.isLowSurrogate (c)) return -1;
+			if (i == length) return -1;
+			char low = chars [i++];
+			if (!Character.isLowSurrogate (low)) return -1;
+			int codePoint = Character.toCodePoint (c, low);
+			bytes [count++] = (byte) (0xF0 | (codePoint >> 18));
+			bytes [count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+			bytes [count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+			bytes [count++] = (byte) (0x80 | (codePoint & 0x3F));
+		} else {
+			bytes [count++] = (byte) (0xE0 | (c >> 12));
+			bytes [count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+			bytes [count++] = (byte) (0x80 | (c & 0x3F));
+		}
+	}
+	bytes [count] = 0;
+	return count;
+}
+
+/**
+ * Decode the first <code>length</code> bytes as UTF-8, like <code>g_utf8_to_utf16()</code>:
+ * the conversion stops at the first NULL byte.
+ *
+ * @param bytes the UTF-8 bytes
+ * @param length the number of bytes to decode
+ * @param chars receives the UTF-16 characters, at least <code>length</code>
+ * @return the number of characters, or -1 if the bytes are not valid UTF-8,
+ *  for which <code>g_utf8_to_utf16()</code> fails
+ */
+static int decode (byte [] bytes, int length, char [] chars) {
+	int i = 0;
+	/* ASCII, bytes from 0x80 are negative */
+	while (i < length) {
+		byte b = bytes [i];
+		if (b <= 0) break;
+		chars [i++] = (char) b;
+	}
+	int count = i;
+	while (i < length) {
+		int b = bytes [i++] & 0xFF;
+		if (b < 0x80) {
+			if (b == 0) break;
+			chars [count++] = (char) b;
+			continue;
+		}
+		int codePoint, trail, min;
+		if (b < 0xC0) {
+			return -1;
+		} else if (b < 0xE0) {
+			codePoint = b & 0x1F; trail = 1; min = 0x80;
+		} else if (b < 0xF0) {
+			codePoint = b & 0x0F; trail = 2; min = 0x800;
+		} else if (b < 0xF8) {
+			codePoint = b & 0x07; trail = 3; min = 0x10000;
+		} else {
+			return -1;
+		}
+		if (length - i < trail) return -1;
+		while (trail-- > 0) {
+			int next = bytes [i++] & 0xFF;
+			if ((next & 0xC0) != 0x80) return -1;
+			codePoint = (codePoint << 6) | (next & 0x3F);
+		}
+		if (codePoint < min || codePoint > Character.MAX_CODE_POINT) return -1;
+		if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+			if (Character.isSurrogate ((char) codePoint)) return -1;
+			chars [count++] = (char) codePoint;
+		} else {
+			chars [count++] = Character.highSurrogate (codePoint);
+			chars [count++] = Character.lowSurrogate (codePoint);
+		}
+	}
+	return count;
+}
 
 /**
  * Convert a "C" multibyte UTF-8 string byte array into a Java UTF-16 Wide character array.
@@ -127,14 +261,28 @@ public final class Converter {
  * @return char array representing the string. Usually used for String construction like: new String(mbcsToWcs(..))
  */
 public static char [] mbcsToWcs (byte [] buffer) {
-	long [] items_written = new long [1];
-	long ptr = OS.g_utf8_to_utf16 (buffer, buffer.length, null, items_written, null);
-	if (ptr == 0) return EmptyCharArray;
-	int length = (int)items_written [0];
-	char [] chars = new char [length];
-	C.memmove (chars, ptr, length * 2);
-	OS.g_free (ptr);
-	return chars;
+	char [] chars = BUFFERS.get ().chars (buffer.length);
+	int length = decode (buffer, buffer.length, chars);
+	if (length == -1) return EmptyCharArray;
+	return Arrays.copyOf (chars, length);
+}
+
+/**
+ * Convert the first <code>length</code> bytes of a "C" multibyte UTF-8 string in native
+ * memory into a Java UTF-16 Wide character array, without copying them into a new byte array.
+ *
+ * @param ptr - A char * or a gchar *, which is not freed.
+ * @param length - the number of bytes to convert.
+ * @return char array representing the string.
+ */
+public static char [] mbcsToWcs (long ptr, int length) {
+	Buffers buffers = BUFFERS.get ();
+	byte [] bytes = buffers.bytes (length);
+	C.memmove (bytes, ptr, length);
+	char [] chars = buffers.chars (length);
+	int count = decode (bytes, length, chars);
+	if (count == -1) return EmptyCharArray;
+	return Arrays.copyOf (chars, count);
 }
 
 /**
@@ -150,9 +298,44 @@ public static char [] mbcsToWcs (byte [] buffer) {
  */
 public static byte [] wcsToMbcs (String string, boolean terminate) {
 	int length = string.length ();
-	char [] buffer = new char [length];
-	string.getChars (0, length, buffer, 0);
-	return wcsToMbcs (buffer, terminate);
+	Buffers buffers = BUFFERS.get ();
+	char [] chars = buffers.chars (length);
+	string.getChars (0, length, chars, 0);
+	return wcsToMbcs (chars, length, terminate, buffers);
+}
+
+/**
+ * Convert a Java UTF-16 Wide character string into a null terminated C UTF-8 Multibyte
+ * string in a buffer owned by the calling thread, see {@link #wcsToMbcs(String, boolean)}.
+ * <p>
+ * The buffer is usually longer than the string, so it is only suited to native functions
+ * that stop at the null character or that are passed the length explicitly. It is reused
+ * by the next conversion on the same thread, so it must not be kept or passed to native
+ * functions that keep it.
+ * </p>
+ *
+ * @param string - a regular Java String
+ * @return byte array that can be passed to a native function.
+ */
+public static byte [] wcsToMbcsTransient (String string) {
+	int length = string.length ();
+	Buffers buffers = BUFFERS.get ();
+	char [] chars = buffers.chars (length);
+	string.getChars (0, length, chars, 0);
+	byte [] bytes = buffers.bytes (length * 3 + 1);
+	return encode (chars, length, bytes) == -1 ? NullByteArray : bytes;
+}
+
+/**
+ * Convert a Java UTF-16 Wide character array into a null terminated C UTF-8 Multibyte
+ * string in a buffer owned by the calling thread, see {@link #wcsToMbcsTransient(String)}.
+ *
+ * @param chars - an array of UTF-16 characters
+ * @return byte array that can be passed to a native function.
+ */
+public static byte [] wcsToMbcsTransient (char [] chars) {
+	byte [] bytes = BUFFERS.get ().bytes (chars.length * 3 + 1);
+	return encode (chars, chars.length, bytes) == -1 ? NullByteArray : bytes;
 }
 
 /**
@@ -182,12 +365,15 @@ public static byte [] javaStringToCString (String string) {
  */
 public static String cCharPtrToJavaString(long cCharPtr, boolean freecCharPtr) {
 	int length = C.strlen (cCharPtr);
-	byte[] buffer = new byte [length];
-	C.memmove (buffer, cCharPtr, length);
+	Buffers buffers = BUFFERS.get ();
+	byte [] bytes = buffers.bytes (length);
+	C.memmove (bytes, cCharPtr, length);
 	if (freecCharPtr) {
 		OS.g_free (cCharPtr);
 	}
-	return new String (mbcsToWcs (buffer));
+	char [] chars = buffers.chars (length);
+	int count = decode (bytes, length, chars);
+	return count == -1 ? "" : new String (chars, 0, count);
 }
 
 /**
@@ -201,18 +387,15 @@ public static String cCharPtrToJavaString(long cCharPtr, boolean freecCharPtr) {
  * @return byte array that can be passed to a native function.
  */
 public static byte [] wcsToMbcs (char [] chars, boolean terminate) {
-	long [] items_read = new long [1], items_written = new long [1];
-	/*
-	* Note that g_utf16_to_utf8()  stops converting
-	* when it finds the first NULL.
-	*/
-	long ptr = OS.g_utf16_to_utf8 (chars, chars.length, items_read, items_written, null);
-	if (ptr == 0) return terminate ? NullByteArray : EmptyByteArray;
-	int written = (int)items_written [0];
-	byte [] bytes = new byte [written + (terminate ? 1 : 0)];
-	C.memmove (bytes, ptr, written);
-	OS.g_free (ptr);
-	return bytes;
+	return wcsToMbcs (chars, chars.length, terminate, BUFFERS.get ());
+}
+
+static byte [] wcsToMbcs (char [] chars, int length, boolean terminate, Buffers buffers) {
+	byte [] bytes = buffers.bytes (length * 3 + 1);
+	int count = encode (chars, length, bytes);
+	if (count == -1) return terminate ? NullByteArray : EmptyByteArray;
+	/* the buffer is null terminated */
+	return Arrays.copyOf (bytes, count + (terminate ? 1 : 0));
 }
 
 
@@ -2011,11 +2011,6 @@ void releaseHandle () {
 		cellBoxHandle = 0;
 	}
 	entryHandle = 0;
-
-	if (cssProvider != 0) {
-		OS.g_object_unref(cssProvider);
-		cssProvider = 0;
-	}
 }
 
 @Override
@@ -2023,6 +2018,10 @@ void releaseWidget () {
 	super.releaseWidget ();
 	textRenderer = 0;
 	fixIM ();
+	if (cssProvider != 0) {
+		display.cssProviders.release(cssProvider);
+		cssProvider = 0;
+	}
 }
 
 /**
@@ -2680,25 +2679,6 @@ boolean translateTraversal (long event) {
 }
 
 void updateCss() {
-	if (cssProvider == 0) {
-		cssProvider = GTK.gtk_css_provider_new();
-
-		if (menuHandle != 0) {
-			long context = GTK.gtk_widget_get_style_context(menuHandle);
-			GTK.gtk_style_context_add_provider(context, cssProvider, GTK.GTK_STYLE_PROVIDER_PRIORITY_APPLICATION);
-		}
-
-		if (buttonHandle != 0) {
-			long context = GTK.gtk_widget_get_style_context(buttonHandle);
-			GTK.gtk_style_context_add_provider(context, cssProvider, GTK.GTK_STYLE_PROVIDER_PRIORITY_APPLICATION);
-		}
-
-		if (entryHandle != 0) {
-			long context = GTK.gtk_widget_get_style_context(entryHandle);
-			GTK.gtk_style_context_add_provider(context, cssProvider, GTK.GTK_STYLE_PROVIDER_PRIORITY_APPLICATION);
-		}
-	}
-
 	StringBuilder css = new StringBuilder();
 
 	// Deal with background
@@ -2733,12 +2713,11 @@ void updateCss() {
 		css.append("* {color: " + colorString + ";}\n");
 	}
 
-	// Update CSS provider
-	if (GTK.GTK4) {
-		GTK4.gtk_css_provider_load_from_data (cssProvider, Converter.wcsToMbcs (css.toString(), true), -1);
-	} else {
-		GTK3.gtk_css_provider_load_from_data (cssProvider, Converter.wcsToMbcs (css.toString(), true), -1, null);
-	}
+	// Update CSS provider, shared with all combos that have the same colors
+	long menuContext = menuHandle != 0 ? GTK.gtk_widget_get_style_context(menuHandle) : 0;
+	long buttonContext = buttonHandle != 0 ? GTK.gtk_widget_get_style_context(buttonHandle) : 0;
+	long entryContext = entryHandle != 0 ? GTK.gtk_widget_get_style_context(entryHandle) : 0;
+	cssProvider = display.cssProviders.replace(cssProvider, css.toString(), menuContext, buttonContext, entryContext);
 }
 
 String verifyText (String string, int start, int end) {
@@ -59,7 +59,7 @@ public abstract class Control extends Widget implements Drawable {
 	long fixedHandle;
 	long firstFixedHandle = 0;
 	long keyController;
-	long redrawWindow, enableWindow, provider;
+	long redrawWindow, enableWindow, provider, providerContext;
 	int drawCount, backgroundAlpha = 255;
 	long dragGesture, zoomGesture, rotateGesture, panGesture;
 	Composite parent;
@@ -4813,6 +4813,10 @@ void releaseWidget () {
 		OS.g_object_unref(zoomGesture);
 		zoomGesture = 0;
 	}
+	if (provider != 0) {
+		display.cssProviders.release (provider);
+		provider = providerContext = 0;
+	}
 }
 
 @Override
@@ -5223,16 +5227,13 @@ void gtk_css_provider_load_from_css (long context, String css) {
 	/* Utility function. */
 	//@param css : a 'css java' string like "{\nbackground: red;\n}".
 
-	if (provider == 0) {
-		provider = GTK.gtk_css_provider_new ();
-		GTK.gtk_style_context_add_provider (context, provider, GTK.GTK_STYLE_PROVIDER_PRIORITY_APPLICATION);
-		OS.g_object_unref (provider);
-	}
-	if (GTK.GTK4) {
-		GTK4.gtk_css_provider_load_from_data (provider, Converter.wcsToMbcs (css, true), -1);
-	} else {
-		GTK3.gtk_css_provider_load_from_data (provider, Converter.wcsToMbcs (css, true), -1, null);
-	}
+	/*
+	* The provider is shared with all widgets that have the same CSS, so it
+	* is replaced rather than reloaded. It stays in the context it was first
+	* added to.
+	*/
+	if (provider == 0) providerContext = context;
+	provider = display.cssProviders.replace (provider, css, providerContext);
 }
 
 void setBackgroundGdkRGBA(GdkRGBA rgba) {
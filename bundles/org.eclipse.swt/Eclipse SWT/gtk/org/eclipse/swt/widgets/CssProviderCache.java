@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.widgets;
+
+
+import java.util.*;
+
+import org.eclipse.swt.internal.*;
+import org.eclipse.swt.internal.gtk.*;
+import org.eclipse.swt.internal.gtk3.*;
+import org.eclipse.swt.internal.gtk4.*;
+
+/**
+ * Shares one <code>GtkCssProvider</code> between all the widgets of a display
+ * that are styled with the same CSS, so that each distinct style is parsed
+ * only once and the number of providers does not grow with the number of
+ * widgets.
+ * <p>
+ * Widgets add the shared provider to their own style contexts, so the CSS
+ * still only applies to them. A provider is unreferenced when the last widget
+ * that uses it releases it.
+ * </p>
+ */
+final class CssProviderCache {
+	final Map<String, Entry> entries = new HashMap<> ();
+	final Map<Long, Entry> providers = new HashMap<> ();
+
+	static final class Entry {
+		final String css;
+		final long provider;
+		int useCount;
+		/* the CSS as serialized by the provider, null until requested */
+		String text;
+
+		Entry (String css, long provider) {
+			this.css = css;
+			this.provider = provider;
+		}
+	}
+
+/**
+ * Returns the provider of the CSS, creating it if no widget uses it yet.
+ * Each call must be balanced by a call to {@link #release(long)}.
+ */
+long acquire (String css) {
+	Entry entry = entries.get (css);
+	if (entry == null) {
+		long provider = GTK.gtk_css_provider_new ();
+		if (GTK.GTK4) {
+			GTK4.gtk_css_provider_load_from_data (provider, Converter.wcsToMbcs (css, true), -1);
+		} else {
+			GTK3.gtk_css_provider_load_from_data (provider, Converter.wcsToMbcs (css, true), -1, null);
+		}
+		entry = new Entry (css, provider);
+		entries.put (css, entry);
+		providers.put (provider, entry);
+	}
+	entry.useCount++;
+	return entry.provider;
+}
+
+/**
+ * Releases a provider returned by {@link #acquire(String)}.
+ */
+void release (long provider) {
+	Entry entry = providers.get (provider);
+	if (entry == null) return;
+	if (--entry.useCount == 0) {
+		entries.remove (entry.css);
+		providers.remove (provider);
+		OS.g_object_unref (provider);
+	}
+}
+
+/**
+ * Replaces the provider in the style contexts with the provider of the CSS,
+ * releasing the old provider, and returns the new one. Contexts that are 0
+ * are skipped.
+ *
+ * @param provider the provider returned by the last call, or 0
+ */
+long replace (long provider, String css, long... contexts) {
+	long shared = acquire (css);
+	if (provider != 0) release (provider);
+	if (shared != provider) {
+		for (long context : contexts) {
+			if (context == 0) continue;
+			if (provider != 0) GTK.gtk_style_context_remove_provider (context, provider);
+			GTK.gtk_style_context_add_provider (context, shared, GTK.GTK_STYLE_PROVIDER_PRIORITY_APPLICATION);
+		}
+	}
+	return shared;
+}
+
+/**
+ * Returns the CSS serialized by the provider if it has been stored with
+ * {@link #setText(long, String)}, otherwise <code>null</code>.
+ */
+String getText (long provider) {
+	Entry entry = providers.get (provider);
+	return entry != null ? entry.text : null;
+}
+
+void setText (long provider, String text) {
+	Entry entry = providers.get (provider);
+	if (entry != null) entry.text = text;
+}
+
+void dispose () {
+	for (Entry entry : entries.values ()) {
+		OS.g_object_unref (entry.provider);
+	}
+	entries.clear ();
+	providers.clear ();
+}
+}
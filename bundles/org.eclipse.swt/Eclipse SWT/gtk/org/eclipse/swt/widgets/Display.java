@@ -127,6 +127,7 @@ public class Display extends Device implements Executor {
 	Widget [] gdkEventWidgets;
 	int [] dispatchEvents;
 	Event [] eventQueue;
+	int eventQueueHead, eventQueueCount;
 	long fds;
 	int allocated_nfds;
 	boolean wake;
@@ -234,8 +235,9 @@ public class Display extends Device implements Executor {
 	TrayItem currentTrayItem;
 
 	/* Timers */
-	int [] timerIds;
-	Runnable [] timerList;
+	TimerQueue timerQueue;
+	int timerId;
+	long timerDeadline;
 	Callback timerCallback;
 	long timerProc;
 	Callback windowTimerCallback;
@@ -493,6 +495,9 @@ public class Display extends Device implements Executor {
 	/* Mapping from layout key group to number of Latin alphabet keys. See Bug 533395, Bug 61190. */
 	Map<Integer, Integer> groupKeysCount;
 
+	/* CSS providers shared by the widgets with the same style */
+	CssProviderCache cssProviders = new CssProviderCache ();
+
 	/* Keymap "keys-changed" callback */
 	long keysChangedProc;
 	Callback keysChangedCallback;
@@ -932,6 +937,110 @@ public void asyncExec (Runnable runnable) {
 	}
 }
 
+/**
+ * Causes the <code>run()</code> method of the runnable to
+ * be invoked by the user-interface thread at the next
+ * reasonable opportunity, unless another runnable is
+ * submitted with an equal key before it runs. The caller of
+ * this method continues to run in parallel, and is not
+ * notified when the runnable has completed.
+ * <p>
+ * If a runnable with an equal key is still pending, it is
+ * replaced by the given runnable instead of queuing another
+ * one, so that frequent updates of the same kind, for example
+ * refreshing a widget from a background thread, run at most
+ * once per key no matter how often they are submitted.
+ * Keys are compared with <code>equals()</code>. A
+ * <code>null</code> key behaves like {@link #asyncExec(Runnable)}.
+ * </p>
+ * <p>
+ * Note that at the time the runnable is invoked, widgets
+ * that have the receiver as their display may have been
+ * disposed. Therefore, it is necessary to check for this
+ * case inside the runnable before accessing the widget.
+ * </p>
+ *
+ * @param key the key identifying the update or <code>null</code>
+ * @param runnable code to run on the user-interface thread
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the key is not <code>null</code> and the runnable is <code>null</code></li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_DEVICE_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #asyncExec(Runnable)
+ *
+ * @since 3.126
+ */
+public void asyncExec (Object key, Runnable runnable) {
+	if (key != null && runnable == null) error (SWT.ERROR_NULL_ARGUMENT);
+	synchronized (Device.class) {
+		if (isDisposed ()) error (SWT.ERROR_DEVICE_DISPOSED);
+		synchronized (idleLock) {
+			if (idleNeeded && idleHandle == 0) {
+				if (GTK.GTK4) {
+					idleHandle = OS.g_idle_add (idleProc, 0);
+				} else {
+					idleHandle = GDK.gdk_threads_add_idle (idleProc, 0);
+				}
+			}
+		}
+		synchronizer.asyncExec (key, runnable);
+	}
+}
+
+/**
+ * Causes the <code>run()</code> methods of the runnables to
+ * be invoked by the user-interface thread at the next
+ * reasonable opportunity, in the iteration order of the
+ * collection. The caller of this method continues to run in
+ * parallel, and is not notified when the runnables have
+ * completed.  <code>null</code> elements are ignored.
+ * <p>
+ * This is equivalent to calling {@link #asyncExec(Runnable)}
+ * for every runnable, but the runnables are queued at once and
+ * the user-interface thread is woken at most once.
+ * </p>
+ * <p>
+ * Note that at the time the runnables are invoked, widgets
+ * that have the receiver as their display may have been
+ * disposed. Therefore, it is necessary to check for this
+ * case inside the runnables before accessing the widget.
+ * </p>
+ *
+ * @param runnables code to run on the user-interface thread
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the collection is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_DEVICE_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #asyncExec
+ * @see Synchronizer#setMessageBudget(int, int)
+ *
+ * @since 3.126
+ */
+public void asyncExecAll (Collection<? extends Runnable> runnables) {
+	if (runnables == null) error (SWT.ERROR_NULL_ARGUMENT);
+	synchronized (Device.class) {
+		if (isDisposed ()) error (SWT.ERROR_DEVICE_DISPOSED);
+		synchronized (idleLock) {
+			if (idleNeeded && idleHandle == 0) {
+				if (GTK.GTK4) {
+					idleHandle = OS.g_idle_add (idleProc, 0);
+				} else {
+					idleHandle = GDK.gdk_threads_add_idle (idleProc, 0);
+				}
+			}
+		}
+		synchronizer.asyncExecAll (runnables);
+	}
+}
+
 /**
  * Executes the given runnable in the user-interface thread of this Display.
  * <ul>
@@ -2211,13 +2320,17 @@ String gtk_css_provider_to_string (long provider) {
 	if (provider == 0) {
 		return "";
 	}
+	String text = cssProviders.getText (provider);
+	if (text != null) return text;
 	long str = GTK.gtk_css_provider_to_string(provider);
 	if (str == 0) return "";
 	int length = C.strlen (str);
 	byte [] buffer = new byte [length];
 	C.memmove (buffer, str, length);
 	OS.g_free(str);
-	return new String (Converter.mbcsToWcs (buffer));
+	text = new String (Converter.mbcsToWcs (buffer));
+	cssProviders.setText (provider, text);
+	return text;
 }
 
 /**
@@ -4434,20 +4547,26 @@ void postEvent (Event event) {
 	* This code is always called in the Display's
 	* thread so it must be re-enterant but does not
 	* need to be synchronized.
+	*
+	* The queue is a ring buffer whose length is always
+	* a power of two. When it is full, it is doubled and
+	* the events are unwrapped to start at index zero.
 	*/
-	if (eventQueue == null) eventQueue = new Event [4];
-	int index = 0;
-	int length = eventQueue.length;
-	while (index < length) {
-		if (eventQueue [index] == null) break;
-		index++;
+	if (eventQueue == null) {
+		eventQueue = new Event [16];
+		eventQueueHead = eventQueueCount = 0;
 	}
-	if (index == length) {
-		Event [] newQueue = new Event [length + 4];
-		System.arraycopy (eventQueue, 0, newQueue, 0, length);
+	int length = eventQueue.length;
+	if (eventQueueCount == length) {
+		Event [] newQueue = new Event [length * 2];
+		int tail = length - eventQueueHead;
+		System.arraycopy (eventQueue, eventQueueHead, newQueue, 0, tail);
+		System.arraycopy (eventQueue, 0, newQueue, tail, eventQueueHead);
 		eventQueue = newQueue;
+		eventQueueHead = 0;
+		length *= 2;
 	}
-	eventQueue [index] = event;
+	eventQueue [(eventQueueHead + eventQueueCount++) & (length - 1)] = event;
 }
 
 void putGdkEvents () {
@@ -4734,13 +4853,9 @@ void releaseDisplay () {
 	if (shellMapProcClosure != 0) OS.g_closure_unref (shellMapProcClosure);
 
 	/* Dispose the timer callback */
-	if (timerIds != null) {
-		for (int i=0; i<timerIds.length; i++) {
-			if (timerIds [i] != 0) OS.g_source_remove (timerIds [i]);
-		}
-	}
-	timerIds = null;
-	timerList = null;
+	if (timerId != 0) OS.g_source_remove (timerId);
+	timerId = 0;
+	timerQueue = null;
 	timerProc = 0;
 	timerCallback.dispose ();
 	timerCallback = null;
@@ -4836,6 +4951,8 @@ void releaseDisplay () {
 	if (fds != 0) OS.g_free (fds);
 	fds = 0;
 
+	cssProviders.dispose ();
+
 	/* Release references */
 	popups = null;
 	thread = null;
@@ -5050,11 +5167,11 @@ boolean runDeferredEvents () {
 	while (eventQueue != null) {
 
 		/* Take an event off the queue */
-		Event event = eventQueue [0];
-		if (event == null) break;
-		int length = eventQueue.length;
-		System.arraycopy (eventQueue, 1, eventQueue, 0, --length);
-		eventQueue [length] = null;
+		if (eventQueueCount == 0) break;
+		Event event = eventQueue [eventQueueHead];
+		eventQueue [eventQueueHead] = null;
+		eventQueueHead = (eventQueueHead + 1) & (eventQueue.length - 1);
+		eventQueueCount--;
 
 		/* Run the event */
 		Widget widget = event.widget;
@@ -5075,6 +5192,7 @@ boolean runDeferredEvents () {
 
 	/* Clear the queue */
 	eventQueue = null;
+	eventQueueHead = eventQueueCount = 0;
 	return run;
 }
 
@@ -5679,62 +5797,76 @@ public boolean sleep () {
 public void timerExec (int milliseconds, Runnable runnable) {
 	checkDevice ();
 	if (runnable == null) error (SWT.ERROR_NULL_ARGUMENT);
-	if (timerList == null) timerList = new Runnable [4];
-	if (timerIds == null) timerIds = new int [4];
-	int index = 0;
-	while (index < timerList.length) {
-		if (timerList [index] == runnable) break;
-		index++;
+	if (timerQueue == null) timerQueue = new TimerQueue ();
+	if (milliseconds < 0) {
+		if (timerQueue.remove (runnable)) scheduleTimer ();
+		return;
 	}
-	if (index != timerList.length) {
-		OS.g_source_remove (timerIds [index]);
-		timerList [index] = null;
-		timerIds [index] = 0;
-		if (milliseconds < 0) return;
-	} else {
-		if (milliseconds < 0) return;
-		index = 0;
-		while (index < timerList.length) {
-			if (timerList [index] == null) break;
-			index++;
-		}
-		if (index == timerList.length) {
-			Runnable [] newTimerList = new Runnable [timerList.length + 4];
-			System.arraycopy (timerList, 0, newTimerList, 0, timerList.length);
-			timerList = newTimerList;
-			int [] newTimerIds = new int [timerIds.length + 4];
-			System.arraycopy (timerIds, 0, newTimerIds, 0, timerIds.length);
-			timerIds = newTimerIds;
-		}
+	timerQueue.add (runnable, timerMillis () + milliseconds);
+	scheduleTimer ();
+}
+
+/*
+* All timers share a single GLib timeout that is armed for the
+* earliest deadline in the timer queue. It is replaced only when
+* a timer with an earlier deadline is added, and removed when the
+* queue becomes empty.
+*/
+void scheduleTimer () {
+	TimerQueue.Timer next = timerQueue.peek ();
+	if (timerId != 0) {
+		if (next != null && timerDeadline <= next.deadline) return;
+		OS.g_source_remove (timerId);
+		timerId = 0;
 	}
-	int timerId;
+	if (next == null) return;
+	int milliseconds = (int) Math.min (Integer.MAX_VALUE, Math.max (0, next.deadline - timerMillis ()));
 	if (GTK.GTK4) {
-		timerId = OS.g_timeout_add (milliseconds, timerProc, index);
+		timerId = OS.g_timeout_add (milliseconds, timerProc, 0);
 	} else {
-		timerId = GDK.gdk_threads_add_timeout (milliseconds, timerProc, index);
-	}
-	if (timerId != 0) {
-		timerIds [index] = timerId;
-		timerList [index] = runnable;
+		timerId = GDK.gdk_threads_add_timeout (milliseconds, timerProc, 0);
 	}
+	if (timerId != 0) timerDeadline = next.deadline;
+}
+
+static long timerMillis () {
+	return System.nanoTime () / 1000000;
 }
 
 long timerProc (long i) {
-	if (timerList == null) return 0;
-	int index = (int)i;
-	if (0 <= index && index < timerList.length) {
-		Runnable runnable = timerList [index];
-		timerList [index] = null;
-		timerIds [index] = 0;
-		if (runnable != null) {
+	/* The GLib timeout is removed when this callback returns 0 */
+	timerId = 0;
+	if (timerQueue == null) return 0;
+	/*
+	* Run every timer that is due, so that timers expiring within
+	* the same millisecond are coalesced into a single dispatch.
+	* Timers that are scheduled while the runnables are running
+	* are left for the next dispatch, even when they are already
+	* due, so that a runnable rescheduling itself with a zero
+	* delay does not starve the event loop.
+	*
+	* The GLib timeout is armed again for the remaining timers
+	* before each runnable runs, so that other timers still fire
+	* when a runnable opens a nested event loop, e.g. a modal
+	* dialog.
+	*/
+	long now = timerMillis (), sequence = timerQueue.sequence;
+	try {
+		while (timerQueue != null) {
+			TimerQueue.Timer timer = timerQueue.peek ();
+			if (timer == null || timer.deadline > now || timer.sequence >= sequence) break;
+			timerQueue.poll ();
+			scheduleTimer ();
 			try {
-				runnable.run ();
+				timer.runnable.run ();
 			} catch (RuntimeException exception) {
 				runtimeExceptionHandler.accept (exception);
 			} catch (Error exception) {
 				errorHandler.accept (exception);
 			}
 		}
+	} finally {
+		if (timerQueue != null) scheduleTimer ();
 	}
 	return 0;
 }
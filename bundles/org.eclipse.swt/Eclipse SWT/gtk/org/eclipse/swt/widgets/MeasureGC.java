@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.widgets;
+
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.graphics.*;
+
+/**
+ * The GC that an owner-drawn <code>Table</code> or <code>Tree</code> sends
+ * with <code>SWT.MeasureItem</code>.
+ * <p>
+ * Creating a GC for the widget is expensive compared to measuring a cell, so
+ * the same GC is used for all the cells that GTK measures in one pass, and is
+ * disposed after the events of that pass have been dispatched. Before each
+ * cell, the state that a listener changed for the previous cell is set back
+ * to the state of a new GC. The font options of the text cannot be restored,
+ * so the GC is replaced when a listener changed its text antialiasing.
+ * </p>
+ */
+final class MeasureGC {
+	final Control control;
+	GC gc;
+	Color foreground, background;
+	LineAttributes lineAttributes;
+	int fillRule, textAntialias;
+
+MeasureGC (Control control) {
+	this.control = control;
+}
+
+void dispose () {
+	if (gc != null) {
+		gc.dispose ();
+		gc = null;
+	}
+}
+
+/**
+ * Returns the GC in the state of a new GC for the control, set to the font
+ * of the cell.
+ */
+GC get (Font font) {
+	if (gc != null && (gc.isDisposed () || !reset ())) {
+		gc.dispose ();
+		gc = null;
+	}
+	if (gc == null) {
+		GC current = gc = new GC (control);
+		foreground = current.getForeground ();
+		background = current.getBackground ();
+		lineAttributes = current.getLineAttributes ();
+		fillRule = current.getFillRule ();
+		textAntialias = current.getTextAntialias ();
+		control.display.asyncExec (() -> {
+			if (gc == current) gc = null;
+			current.dispose ();
+		});
+	}
+	gc.setFont (font);
+	return gc;
+}
+
+boolean reset () {
+	if (gc.getTextAntialias () != textAntialias) return false;
+	if (gc.getAlpha () != 0xFF) gc.setAlpha (0xFF);
+	if (gc.getAntialias () != SWT.DEFAULT) gc.setAntialias (SWT.DEFAULT);
+	if (gc.getInterpolation () != SWT.DEFAULT) gc.setInterpolation (SWT.DEFAULT);
+	if (gc.getForegroundPattern () != null) gc.setForegroundPattern (null);
+	if (gc.getBackgroundPattern () != null) gc.setBackgroundPattern (null);
+	if (!foreground.equals (gc.getForeground ())) gc.setForeground (foreground);
+	if (!background.equals (gc.getBackground ())) gc.setBackground (background);
+	if (!lineAttributes.equals (gc.getLineAttributes ())) gc.setLineAttributes (lineAttributes);
+	if (gc.getFillRule () != fillRule) gc.setFillRule (fillRule);
+	if (gc.getXORMode ()) gc.setXORMode (false);
+	if (gc.isClipped ()) gc.setClipping ((Rectangle) null);
+	gc.setTransform (null);
+	return true;
+}
+}
@@ -269,6 +269,7 @@ void release (boolean destroy) {
 
 @Override
 void releaseHandle() {
+	if (cssProvider != 0) display.cssProviders.release(cssProvider);
 	super.releaseHandle();
 	pageHandle = labelHandle = imageHandle = 0;
 	cssProvider = 0;
@@ -383,17 +384,7 @@ void setForegroundGdkRGBA (long handle, GdkRGBA rgba) {
  * @param css Java string representing the CSS
  */
 void gtk_css_provider_load_from_css(long styleContext, String css) {
-	if (cssProvider == 0) {
-		cssProvider = GTK.gtk_css_provider_new();
-		GTK.gtk_style_context_add_provider(styleContext, cssProvider, GTK.GTK_STYLE_PROVIDER_PRIORITY_APPLICATION);
-		OS.g_object_unref(cssProvider);
-	}
-
-	if (GTK.GTK4) {
-		GTK4.gtk_css_provider_load_from_data(cssProvider, Converter.javaStringToCString(css), -1);
-	} else {
-		GTK3.gtk_css_provider_load_from_data(cssProvider, Converter.javaStringToCString(css), -1, null);
-	}
+	cssProvider = display.cssProviders.replace(cssProvider, css, styleContext);
 }
 
 @Override
@@ -98,6 +98,9 @@ public class Table extends Composite {
 	int headerHeight;
 	boolean boundsChangedSinceLastDraw, headerVisible, wasScrolled;
 	boolean rowActivated;
+	/* the GC of the SWT.MeasureItem events, shared by all the cells that are
+	 * measured until the events of the current dispatch have been processed */
+	MeasureGC measureGC;
 
 	private long headerCSSProvider;
 
@@ -114,6 +117,11 @@ public class Table extends Composite {
 	static final int CELL_FONT = 4;
 	static final int CELL_SURFACE = 5;
 	static final int CELL_TYPES = CELL_SURFACE + 1;
+	/*
+	 * Number of rows added or removed at once above which the model is
+	 * detached from the view during the change, see attachModel().
+	 */
+	static final int DETACH_MODEL_THRESHOLD = 1024;
 
 /**
  * Constructs a new instance of this class given its parent
@@ -174,6 +182,49 @@ TableItem _getItem (int index) {
 	return items [index] = new TableItem (this, SWT.NONE, index, false);
 }
 
+/*
+ * Feature in GTK.  Every row inserted into or removed from the model emits
+ * "row-inserted" or "row-deleted", which GtkTreeView handles one row at a
+ * time by updating its internal row tree and queuing a resize.  For large
+ * VIRTUAL tables this dominates setItemCount() and removeAll().  The fix is
+ * to detach the model from the view while performing bulk changes, so that
+ * GtkTreeView builds its row tree in a single pass when the model is set
+ * again.  Detaching the model loses the selection, the cursor and the scroll
+ * position, so they are remembered by detachModel() and restored here.
+ */
+void attachModel (int [] selection, int focusIndex, int topIndex) {
+	GTK.gtk_tree_view_set_model (handle, modelHandle);
+	if (!searchEnabled ()) {
+		GTK.gtk_tree_view_set_search_column (handle, -1);
+	} else {
+		/* Set the search column whenever the model changes */
+		int firstColumn = columnCount == 0 ? FIRST_COLUMN : columns [0].modelIndex;
+		GTK.gtk_tree_view_set_search_column (handle, firstColumn + CELL_TEXT);
+	}
+	boolean fixColumn = showFirstColumn ();
+	long selectionHandle = GTK.gtk_tree_view_get_selection (handle);
+	OS.g_signal_handlers_block_matched (selectionHandle, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
+	if (0 <= focusIndex && focusIndex < itemCount) {
+		long path = GTK.gtk_tree_path_new ();
+		GTK.gtk_tree_path_append_index (path, focusIndex);
+		GTK.gtk_tree_view_set_cursor (handle, path, 0, false);
+		GTK.gtk_tree_path_free (path);
+		GTK.gtk_tree_selection_unselect_all (selectionHandle);
+	}
+	long iter = OS.g_malloc (GTK.GtkTreeIter_sizeof ());
+	if (iter == 0) error (SWT.ERROR_NO_HANDLES);
+	for (int i=0; i<selection.length; i++) {
+		int index = selection [i];
+		if (!(0 <= index && index < itemCount)) continue;
+		GTK.gtk_tree_model_iter_nth_child (modelHandle, iter, 0, index);
+		GTK.gtk_tree_selection_select_iter (selectionHandle, iter);
+	}
+	OS.g_free (iter);
+	OS.g_signal_handlers_unblock_matched (selectionHandle, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
+	if (fixColumn) hideFirstColumn ();
+	if (0 < topIndex && topIndex < itemCount) setTopIndex (topIndex);
+}
+
 static int checkStyle (int style) {
 	/*
 	* Feature in Windows.  Even when WS_HSCROLL or
@@ -1116,6 +1167,19 @@ void destroyItem (TableColumn column) {
 	}
 }
 
+/*
+ * Detaches the model from the view before a bulk change, see attachModel().
+ * The selected indices are returned and the focus and top index are stored
+ * in the given arrays.
+ */
+int [] detachModel (int [] focusIndex, int [] topIndex) {
+	int [] selection = getSelectionIndices ();
+	focusIndex [0] = getFocusIndex ();
+	topIndex [0] = getTopIndex ();
+	GTK.gtk_tree_view_set_model (handle, 0);
+	return selection;
+}
+
 void destroyItem (TableItem item) {
 	int index = 0;
 	while (index < itemCount) {
@@ -1407,6 +1471,17 @@ GdkRGBA getContextColorGdkRGBA () {
 	}
 }
 
+int getFocusIndex () {
+	long [] path = new long [1];
+	GTK.gtk_tree_view_get_cursor (handle, path, null);
+	if (path [0] == 0) return -1;
+	int [] index = new int [] {-1};
+	long indices = GTK.gtk_tree_path_get_indices (path [0]);
+	if (indices != 0) C.memmove (index, indices, 4);
+	GTK.gtk_tree_path_free (path [0]);
+	return index [0];
+}
+
 TableItem getFocusItem () {
 	long [] path = new long [1];
 	GTK.gtk_tree_view_get_cursor (handle, path, null);
@@ -2631,6 +2706,14 @@ void releaseWidget () {
 	if (headerImageList != null) headerImageList.dispose ();
 	imageList = headerImageList = null;
 	currentItem = null;
+	if (headerCSSProvider != 0) {
+		display.cssProviders.release(headerCSSProvider);
+		headerCSSProvider = 0;
+	}
+	if (measureGC != null) {
+		measureGC.dispose ();
+		measureGC = null;
+	}
 }
 
 /**
@@ -2787,6 +2870,7 @@ public void remove (int [] indices) {
 public void removeAll () {
 	checkWidget();
 	checkSetDataInProcessBeforeRemoval(0, items.length);
+	boolean detach = itemCount >= DETACH_MODEL_THRESHOLD;
 	int index = itemCount - 1;
 	while (index >= 0) {
 		TableItem item = items [index];
@@ -2805,7 +2889,9 @@ public void removeAll () {
 	long selectionHandle = GTK.gtk_tree_view_get_selection(handle);
 	boolean changeMode = (style & SWT.MULTI) != 0;
 	if (changeMode) GTK.gtk_tree_selection_set_mode(selectionHandle, GTK.GTK_SELECTION_BROWSE);
+	if (detach) GTK.gtk_tree_view_set_model (handle, 0);
 	GTK.gtk_list_store_clear (modelHandle);
+	if (detach) GTK.gtk_tree_view_set_model (handle, modelHandle);
 	if (changeMode) GTK.gtk_tree_selection_set_mode(selectionHandle, GTK.GTK_SELECTION_MULTIPLE);
 
 	OS.g_signal_handlers_unblock_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
@@ -2887,8 +2973,8 @@ void sendMeasureEvent (long cell, long width, long height) {
 				imageWidth = bounds.width;
 			}
 			contentWidth [0] += imageWidth;
-			GC gc = new GC (this);
-			gc.setFont (item.getFont (columnIndex));
+			if (measureGC == null) measureGC = new MeasureGC (this);
+			GC gc = measureGC.get (item.getFont (columnIndex));
 			Event event = new Event ();
 			event.item = item;
 			event.index = columnIndex;
@@ -2897,7 +2983,6 @@ void sendMeasureEvent (long cell, long width, long height) {
 			event.setBounds (DPIUtil.autoScaleDown (eventRect));
 			if (isSelected) event.detail = SWT.SELECTED;
 			sendEvent (SWT.MeasureItem, event);
-			gc.dispose ();
 			Rectangle rect = DPIUtil.autoScaleUp (event.getBounds ());
 			contentWidth [0] = rect.width - imageWidth;
 			if (contentHeight [0] < rect.height) contentHeight [0] = rect.height;
@@ -3555,16 +3640,7 @@ void updateHeaderCSS() {
 
 	if (columnCount == 0) {
 		long buttonHandle = GTK.gtk_tree_view_column_get_button(GTK.gtk_tree_view_get_column(handle, 0));
-		if (headerCSSProvider == 0) {
-			headerCSSProvider = GTK.gtk_css_provider_new();
-			GTK.gtk_style_context_add_provider(GTK.gtk_widget_get_style_context(buttonHandle), headerCSSProvider, GTK.GTK_STYLE_PROVIDER_PRIORITY_APPLICATION);
-		}
-
-		if (GTK.GTK4) {
-			GTK4.gtk_css_provider_load_from_data(headerCSSProvider, Converter.javaStringToCString(css.toString()), -1);
-		} else {
-			GTK3.gtk_css_provider_load_from_data(headerCSSProvider, Converter.javaStringToCString(css.toString()), -1, null);
-		}
+		headerCSSProvider = display.cssProviders.replace(headerCSSProvider, css.toString(), GTK.gtk_widget_get_style_context(buttonHandle));
 	} else {
 		for (TableColumn column : columns) {
 			if (column != null) {
@@ -3651,6 +3727,10 @@ public void setItemCount (int count) {
 	System.arraycopy (items, 0, newItems, 0, itemCount);
 	items = newItems;
 	if (isVirtual) {
+		int [] selection = null, focusIndex = new int [1], topIndex = new int [1];
+		if (count - itemCount >= DETACH_MODEL_THRESHOLD) {
+			selection = detachModel (focusIndex, topIndex);
+		}
 		long iter = OS.g_malloc (GTK.GtkTreeIter_sizeof ());
 		if (iter == 0) error (SWT.ERROR_NO_HANDLES);
 		for (int i=itemCount; i<count; i++) {
@@ -3658,6 +3738,7 @@ public void setItemCount (int count) {
 		}
 		OS.g_free (iter);
 		itemCount = count;
+		if (selection != null) attachModel (selection, focusIndex [0], topIndex [0]);
 	} else {
 		for (int i=itemCount; i<count; i++) {
 			new TableItem (this, SWT.NONE, i, true);
@@ -4239,14 +4320,4 @@ void checkSetDataInProcessBeforeRemoval(int start, int end) {
 		}
 	}
 }
-
-@Override
-public void dispose() {
-	super.dispose();
-
-	if (headerCSSProvider != 0) {
-		OS.g_object_unref(headerCSSProvider);
-		headerCSSProvider = 0;
-	}
-}
 }
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.widgets;
+
+
+import java.util.*;
+
+/**
+ * Instances of this class hold the runnables scheduled with
+ * <code>Display.timerExec()</code> ordered by their deadline.
+ * <p>
+ * Runnables are identified by identity, so scheduling a runnable
+ * that is already pending replaces its deadline.  Timers with the
+ * same deadline are returned in the order they were scheduled.
+ * All operations are O(log n) or better.
+ * </p>
+ */
+class TimerQueue {
+	Timer [] heap = new Timer [16];
+	int size;
+	long sequence;
+	final Map<Runnable, Timer> timers = new IdentityHashMap<> ();
+
+	static final class Timer {
+		Runnable runnable;
+		long deadline, sequence;
+		int index;
+	}
+
+/**
+ * Schedules the runnable to run at the given deadline, replacing
+ * any pending deadline of the same runnable.
+ */
+void add (Runnable runnable, long deadline) {
+	Timer timer = timers.get (runnable);
+	if (timer != null) {
+		removeAt (timer.index);
+	} else {
+		timer = new Timer ();
+		timer.runnable = runnable;
+		timers.put (runnable, timer);
+	}
+	timer.deadline = deadline;
+	timer.sequence = sequence++;
+	if (size == heap.length) {
+		Timer [] newHeap = new Timer [size * 2];
+		System.arraycopy (heap, 0, newHeap, 0, size);
+		heap = newHeap;
+	}
+	timer.index = size;
+	heap [size++] = timer;
+	siftUp (timer.index);
+}
+
+boolean isEmpty () {
+	return size == 0;
+}
+
+Timer peek () {
+	return size == 0 ? null : heap [0];
+}
+
+Timer poll () {
+	if (size == 0) return null;
+	Timer timer = heap [0];
+	timers.remove (timer.runnable);
+	removeAt (0);
+	return timer;
+}
+
+/**
+ * Removes the pending runnable, returning <code>false</code>
+ * if it was not scheduled.
+ */
+boolean remove (Runnable runnable) {
+	Timer timer = timers.remove (runnable);
+	if (timer == null) return false;
+	removeAt (timer.index);
+	return true;
+}
+
+void removeAt (int index) {
+	Timer last = heap [--size];
+	heap [size] = null;
+	if (index == size) return;
+	heap [index] = last;
+	last.index = index;
+	siftDown (index);
+	if (heap [index] == last) siftUp (index);
+}
+
+static boolean less (Timer a, Timer b) {
+	if (a.deadline != b.deadline) return a.deadline < b.deadline;
+	return a.sequence < b.sequence;
+}
+
+void siftUp (int index) {
+	Timer timer = heap [index];
+	while (index > 0) {
+		int parent = (index - 1) >>> 1;
+		Timer other = heap [parent];
+		if (!less (timer, other)) break;
+		heap [index] = other;
+		other.index = index;
+		index = parent;
+	}
+	heap [index] = timer;
+	timer.index = index;
+}
+
+void siftDown (int index) {
+	Timer timer = heap [index];
+	int half = size >>> 1;
+	while (index < half) {
+		int child = 2 * index + 1;
+		int right = child + 1;
+		if (right < size && less (heap [right], heap [child])) child = right;
+		Timer other = heap [child];
+		if (!less (other, timer)) break;
+		heap [index] = other;
+		other.index = index;
+		index = child;
+	}
+	heap [index] = timer;
+	timer.index = index;
+}
+}
@@ -1008,6 +1008,10 @@ void releaseWidget () {
 	control = null;
 	hotImage = disabledImage = null;
 	toolTipText = null;
+	if (provider != 0) {
+		display.cssProviders.release (provider);
+		provider = 0;
+	}
 
 	disposeDefault();
 }
@@ -1572,23 +1576,19 @@ void showWidget (int index) {
 void updateStyle () {
 	if ((style & SWT.SEPARATOR) != 0) return;
 
-	if (provider == 0) {
-		provider = GTK.gtk_css_provider_new ();
-		if ((style & SWT.DROP_DOWN) != 0) {
-			long box = GTK3.gtk_bin_get_child (handle);
-			long list = GTK3.gtk_container_get_children (box);
-			for (int i = 0; i < 2; i++) {
-				long child = OS.g_list_nth_data(list, i);
-				long context = GTK.gtk_widget_get_style_context (child);
-				GTK.gtk_style_context_add_provider (context, provider, GTK.GTK_STYLE_PROVIDER_PRIORITY_APPLICATION);
-			}
-			OS.g_list_free(list);
-		} else {
-			long child = GTK3.gtk_bin_get_child (handle);
-			long context = GTK.gtk_widget_get_style_context (child);
-			GTK.gtk_style_context_add_provider (context, provider, GTK.GTK_STYLE_PROVIDER_PRIORITY_APPLICATION);
+	long [] contexts;
+	if ((style & SWT.DROP_DOWN) != 0) {
+		contexts = new long [2];
+		long box = GTK3.gtk_bin_get_child (handle);
+		long list = GTK3.gtk_container_get_children (box);
+		for (int i = 0; i < 2; i++) {
+			long child = OS.g_list_nth_data(list, i);
+			contexts [i] = GTK.gtk_widget_get_style_context (child);
 		}
-		OS.g_object_unref (provider);
+		OS.g_list_free(list);
+	} else {
+		long child = GTK3.gtk_bin_get_child (handle);
+		contexts = new long [] {GTK.gtk_widget_get_style_context (child)};
 	}
 
 	String css = "";
@@ -1601,11 +1601,7 @@ void updateStyle () {
 		css += "button { background-image: none; background-color: " + display.gtk_rgba_to_css_string (background.handle) + "; }";
 	}
 
-	if (GTK.GTK4) {
-		GTK4.gtk_css_provider_load_from_data (provider, Converter.wcsToMbcs (css, true), -1);
-	} else {
-		GTK3.gtk_css_provider_load_from_data (provider, Converter.wcsToMbcs (css, true), -1, null);
-	}
+	provider = display.cssProviders.replace (provider, css, contexts);
 }
 
 @Override
@@ -88,7 +88,10 @@ public class Tree extends Composite {
 	int selectionCountOnPress,selectionCountOnRelease;
 	long ignoreCell;
 	TreeItem[] items;
-	int nextId;
+	/* the ids of the free slots of items, linked through idTable, where the
+	 * ids stored in rows are marked with USED_ID */
+	int [] idTable;
+	int freeId;
 	TreeColumn [] columns;
 	TreeColumn sortColumn;
 	TreeItem currentItem;
@@ -110,9 +113,13 @@ public class Tree extends Composite {
 	Color headerBackground, headerForeground;
 	boolean boundsChangedSinceLastDraw, wasScrolled;
 	boolean rowActivated;
+	/* the GC of the SWT.MeasureItem events, shared by all the cells that are
+	 * measured until the events of the current dispatch have been processed */
+	MeasureGC measureGC;
 
 	private long headerCSSProvider;
 
+	static final int USED_ID = -2;
 	static final int ID_COLUMN = 0;
 	static final int CHECKED_COLUMN = 1;
 	static final int GRAYED_COLUMN = 2;
@@ -183,20 +190,12 @@ void _addListener (int eventType, Listener listener) {
 TreeItem _getItem (long iter) {
 	int id = getId (iter, true);
 	if (items [id] != null) return items [id];
-	long path = GTK.gtk_tree_model_get_path (modelHandle, iter);
-	int depth = GTK.gtk_tree_path_get_depth (path);
-	int [] indices = new int [depth];
-	C.memmove (indices, GTK.gtk_tree_path_get_indices (path), 4*depth);
-	long parentIter = 0;
-	if (depth > 1) {
-		GTK.gtk_tree_path_up (path);
-		parentIter = OS.g_malloc (GTK.GtkTreeIter_sizeof ());
-		GTK.gtk_tree_model_get_iter (modelHandle, parentIter, path);
-	}
-	items [id] = new TreeItem (this, parentIter, SWT.NONE, indices [indices.length -1], iter);
-	GTK.gtk_tree_path_free (path);
-	if (parentIter != 0) OS.g_free (parentIter);
-	return items [id];
+	/*
+	* An item created for an existing row only copies the iter, so there
+	* is no need to find its parent and index, which takes time linear in
+	* the number of rows before it.
+	*/
+	return items [id] = new TreeItem (this, 0, SWT.NONE, 0, iter);
 }
 
 TreeItem _getItem (long parentIter, long iter, int index) {
@@ -205,55 +204,73 @@ TreeItem _getItem (long parentIter, long iter, int index) {
 	return items [id] = new TreeItem (this, parentIter, SWT.NONE, index, iter);
 }
 
-void reallocateIds(int newSize) {
+void reallocateIds (int newSize) {
+	int length = items.length;
 	TreeItem [] newItems = new TreeItem [newSize];
-	System.arraycopy (items, 0, newItems, 0, items.length);
+	System.arraycopy (items, 0, newItems, 0, length);
 	items = newItems;
-}
-
-int findAvailableId() {
-	// Adapt to cases where items[] array was resized since last search
-	// This also fixes cases where +1 below went too far
-	if (nextId >= items.length)
-		nextId = 0;
-
-	// Search from 'nextId' to end
-	for (int id = nextId; id < items.length; id++) {
-		if (items [id] == null) return id;
+	int [] newIdTable = new int [newSize];
+	System.arraycopy (idTable, 0, newIdTable, 0, length);
+	idTable = newIdTable;
+	for (int id = newSize - 1; id >= length; id--) {
+		idTable [id] = freeId;
+		freeId = id;
 	}
+}
 
-	// Search from begin to nextId
-	for (int id = 0; id < nextId; id++) {
-		if (items [id] == null) return id;
+void resetIds (int size) {
+	items = new TreeItem [size];
+	idTable = new int [size];
+	freeId = -1;
+	for (int id = size - 1; id >= 0; id--) {
+		idTable [id] = freeId;
+		freeId = id;
 	}
+}
 
-	// Still not found; no empty spots remaining
-	int newId = items.length;
-	if (drawCount <= 0) {
-		reallocateIds (items.length + 4);
-	} else {
-		// '.setRedraw(false)' is typically used during bulk operations.
-		// Reallocate to 1.5x the old size to avoid frequent reallocations.
-		reallocateIds ((items.length + 1) * 3 / 2);
-	}
+int findAvailableId() {
+	// Grow geometrically, so that adding many items takes linear time
+	if (freeId == -1) reallocateIds ((items.length + 1) * 3 / 2);
+	int id = freeId;
+	freeId = idTable [id];
+	idTable [id] = USED_ID;
+	return id;
+}
 
-	return newId;
+void releaseId (int id) {
+	if (idTable [id] != USED_ID) return;
+	items [id] = null;
+	idTable [id] = freeId;
+	freeId = id;
 }
 
 int getId (long iter, boolean queryModel) {
 	if (queryModel) {
-		int[] value = new int[1];
-		GTK.gtk_tree_model_get (modelHandle, iter, ID_COLUMN, value, -1);
-		if (value [0] != -1) return value [0];
+		int id = getStoredId (modelHandle, iter);
+		if (id != -1) return id;
 	}
 
 	int id = findAvailableId();
-	nextId = id + 1;
 
-	GTK.gtk_tree_store_set (modelHandle, iter, ID_COLUMN, id, -1);
+	setStoredId (modelHandle, iter, id);
 	return id;
 }
 
+/*
+* The ID_COLUMN of a row stores the id of its item plus one, so that
+* rows inserted without setting any values, such as the rows of virtual
+* items, have no item. This saves setting a value for each of them.
+*/
+int getStoredId (long model, long iter) {
+	int [] value = new int [1];
+	GTK.gtk_tree_model_get (model, iter, ID_COLUMN, value, -1);
+	return value [0] - 1;
+}
+
+void setStoredId (long model, long iter, int id) {
+	GTK.gtk_tree_store_set (model, iter, ID_COLUMN, id + 1, -1);
+}
+
 static int checkStyle (int style) {
 	/*
 	* Feature in Windows.  Even when WS_HSCROLL or
@@ -566,10 +583,9 @@ public void clear(int index, boolean all) {
 void clear (long parentIter, int index, boolean all) {
 	long iter = OS.g_malloc (GTK.GtkTreeIter_sizeof ());
 	GTK.gtk_tree_model_iter_nth_child(modelHandle, iter, parentIter, index);
-	int[] value = new int[1];
-	GTK.gtk_tree_model_get (modelHandle, iter, ID_COLUMN, value, -1);
-	if (value [0] != -1) {
-		TreeItem item = items [value [0]];
+	int id = getStoredId (modelHandle, iter);
+	if (id != -1) {
+		TreeItem item = items [id];
 		item.clear ();
 	}
 	if (all) clearAll (all, iter);
@@ -604,11 +620,10 @@ void clearAll (boolean all, long parentIter) {
 	if (length == 0) return;
 	long iter = OS.g_malloc (GTK.GtkTreeIter_sizeof ());
 	boolean valid = GTK.gtk_tree_model_iter_children (modelHandle, iter, parentIter);
-	int[] value = new int[1];
 	while (valid) {
-		GTK.gtk_tree_model_get (modelHandle, iter, ID_COLUMN, value, -1);
-		if (value [0] != -1) {
-			TreeItem item = items [value [0]];
+		int id = getStoredId (modelHandle, iter);
+		if (id != -1) {
+			TreeItem item = items [id];
 			item.clear ();
 		}
 		if (all) clearAll (all, iter);
@@ -685,13 +700,11 @@ void copyModel (long oldModel, int oldStart, long newModel, int newStart, long o
 	if (GTK.gtk_tree_model_iter_children (oldModel, iter, oldParent))  {
 		long [] oldItems = new long [GTK.gtk_tree_model_iter_n_children (oldModel, oldParent)];
 		int oldIndex = 0;
-		int [] intBuffer = new int [1];
 		do {
 			long newIterator = OS.g_malloc (GTK.GtkTreeIter_sizeof ());
 			if (newIterator == 0) error (SWT.ERROR_NO_HANDLES);
 			GTK.gtk_tree_store_append (newModel, newIterator, newParent);
-			GTK.gtk_tree_model_get (oldModel, iter, ID_COLUMN, intBuffer, -1);
-			int index = intBuffer[0];
+			int index = getStoredId (oldModel, iter);
 			TreeItem item = null;
 			if (index != -1) {
 				item = items [index];
@@ -713,8 +726,6 @@ void copyModel (long oldModel, int oldStart, long newModel, int newStart, long o
 						OS.g_value_unset (value);
 					}
 				}
-			} else {
-				GTK.gtk_tree_store_set (newModel, newIterator, ID_COLUMN, -1, -1);
 			}
 			// recurse through children
 			copyModel(oldModel, oldStart, newModel, newStart, iter, newIterator, modelLength);
@@ -1143,7 +1154,7 @@ void createRenderers (long columnHandle, int modelIndex, boolean check, int colu
 @Override
 void createWidget (int index) {
 	super.createWidget (index);
-	items = new TreeItem [4];
+	resetIds (4);
 	columns = new TreeColumn [4];
 	columnCount = 0;
 	// In GTK 3 font description is inherited from parent widget which is not how SWT has always worked,
@@ -1579,9 +1590,8 @@ TreeItem getFocusItem () {
 	TreeItem item = null;
 	long iter = OS.g_malloc (GTK.GtkTreeIter_sizeof ());
 	if (GTK.gtk_tree_model_get_iter (modelHandle, iter, path [0])) {
-		int [] index = new int [1];
-		GTK.gtk_tree_model_get (modelHandle, iter, ID_COLUMN, index, -1);
-		if (index [0] != -1) item = items [index [0]]; //TODO should we be creating this item when index is -1?
+		int id = getStoredId (modelHandle, iter);
+		if (id != -1) item = items [id]; //TODO should we be creating this item when id is -1?
 	}
 	OS.g_free (iter);
 	GTK.gtk_tree_path_free (path [0]);
@@ -2538,10 +2548,9 @@ long gtk_row_has_child_toggled (long model, long path, long iter) {
 	* and use this callback, as it is invoked when a row has
 	* gotten the first child row or lost its last child row.
 	*/
-	int [] index = new int [1];
-	GTK.gtk_tree_model_get (modelHandle, iter, ID_COLUMN, index, -1);
-	if (index [0] >= items.length) return 0;
-	TreeItem item = items [index [0]];
+	int id = getStoredId (modelHandle, iter);
+	if (id >= items.length) return 0;
+	TreeItem item = items [id];
 	if (item == null) return 0;
 	int childCount = GTK.gtk_tree_model_iter_n_children (modelHandle, item.handle);
 	if (childCount != 0 && item.isExpanded) {
@@ -2570,9 +2579,7 @@ long gtk_start_interactive_search(long widget) {
 
 @Override
 long gtk_test_collapse_row (long tree, long iter, long path) {
-	int [] index = new int [1];
-	GTK.gtk_tree_model_get (modelHandle, iter, ID_COLUMN, index, -1);
-	TreeItem item = items [index [0]];
+	TreeItem item = items [getStoredId (modelHandle, iter)];
 	Event event = new Event ();
 	event.item = item;
 	boolean oldModelChanged = modelChanged;
@@ -2610,9 +2617,7 @@ long gtk_test_collapse_row (long tree, long iter, long path) {
 
 @Override
 long gtk_test_expand_row (long tree, long iter, long path) {
-	int [] index = new int [1];
-	GTK.gtk_tree_model_get (modelHandle, iter, ID_COLUMN, index, -1);
-	TreeItem item = items [index [0]];
+	TreeItem item = items [getStoredId (modelHandle, iter)];
 	Event event = new Event ();
 	event.item = item;
 	boolean oldModelChanged = modelChanged;
@@ -2874,24 +2879,26 @@ void register () {
 }
 
 void releaseItem (TreeItem item, boolean release) {
-	int [] index = new int [1];
-	GTK.gtk_tree_model_get (modelHandle, item.handle, ID_COLUMN, index, -1);
-	if (index [0] == -1) return;
+	int id = getStoredId (modelHandle, item.handle);
+	if (id == -1) return;
 	if (release) item.release (false);
-	items [index [0]] = null;
+	releaseId (id);
 }
 
 void releaseItems (long parentIter) {
-	int[] index = new int [1];
 	long iter = OS.g_malloc (GTK.GtkTreeIter_sizeof ());
 	boolean valid = GTK.gtk_tree_model_iter_children (modelHandle, iter, parentIter);
 	while (valid) {
 		releaseItems (iter);
 		if (!isDisposed ()) {
-			GTK.gtk_tree_model_get (modelHandle, iter, ID_COLUMN, index, -1);
-			if (index [0] != -1) {
-				TreeItem item = items [index [0]];
-				if (item != null) releaseItem (item, true);
+			int id = getStoredId (modelHandle, iter);
+			if (id != -1) {
+				TreeItem item = items [id];
+				if (item != null) {
+					releaseItem (item, true);
+				} else {
+					releaseId (id);
+				}
 			}
 		}
 		valid = GTK.gtk_tree_model_iter_next (modelHandle, iter);
@@ -2909,6 +2916,7 @@ void releaseChildren (boolean destroy) {
 			}
 		}
 		items = null;
+		idTable = null;
 	}
 	if (columns != null) {
 		for (int i=0; i<columnCount; i++) {
@@ -2933,6 +2941,14 @@ void releaseWidget () {
 	if (headerImageList != null) headerImageList.dispose ();
 	imageList = headerImageList = null;
 	currentItem = null;
+	if (headerCSSProvider != 0) {
+		display.cssProviders.release(headerCSSProvider);
+		headerCSSProvider = 0;
+	}
+	if (measureGC != null) {
+		measureGC.dispose ();
+		measureGC = null;
+	}
 }
 
 void remove (long parentIter, int start, int end) {
@@ -2947,9 +2963,8 @@ void remove (long parentIter, int start, int end) {
 	try {
 		for (int i = start; i <= end; i++) {
 			GTK.gtk_tree_model_iter_nth_child (modelHandle, iter, parentIter, start);
-			int[] value = new int[1];
-			GTK.gtk_tree_model_get (modelHandle, iter, ID_COLUMN, value, -1);
-			TreeItem item = value [0] != -1 ? items [value [0]] : null;
+			int id = getStoredId (modelHandle, iter);
+			TreeItem item = id != -1 ? items [id] : null;
 			if (item != null && !item.isDisposed ()) {
 				/*
 				 * Bug 182598 - assertion failed in gtktreestore.c
@@ -2961,6 +2976,9 @@ void remove (long parentIter, int start, int end) {
 				}
 				item.dispose ();
 			} else {
+				/* the row may have an id without an item */
+				releaseItems (iter);
+				if (id != -1) releaseId (id);
 				OS.g_signal_handlers_block_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
 				GTK.gtk_tree_store_remove (modelHandle, iter);
 				OS.g_signal_handlers_unblock_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
@@ -2994,7 +3012,7 @@ public void removeAll () {
 		TreeItem item = items [i];
 		if (item != null && !item.isDisposed ()) item.release (false);
 	}
-	items = new TreeItem[4];
+	resetIds (4);
 
 	if (!searchEnabled ()) {
 		GTK.gtk_tree_view_set_search_column (handle, -1);
@@ -3087,8 +3105,8 @@ void sendMeasureEvent (long cell, long width, long height) {
 				imageWidth = bounds.width;
 			}
 			contentWidth [0] += imageWidth;
-			GC gc = new GC (this);
-			gc.setFont (item.getFont (columnIndex));
+			if (measureGC == null) measureGC = new MeasureGC (this);
+			GC gc = measureGC.get (item.getFont (columnIndex));
 			Event event = new Event ();
 			event.item = item;
 			event.index = columnIndex;
@@ -3102,7 +3120,6 @@ void sendMeasureEvent (long cell, long width, long height) {
 			}
 			GTK.gtk_tree_path_free (path);
 			sendEvent (SWT.MeasureItem, event);
-			gc.dispose ();
 			Rectangle rect = DPIUtil.autoScaleUp (event.getBounds ());
 			contentWidth [0] = rect.width - imageWidth;
 			if (contentHeight [0] < rect.height) contentHeight [0] = rect.height;
@@ -3511,9 +3528,9 @@ void setItemCount (long parentIter, int count) {
 			iterInsertAfter = 0;
 		}
 
+		/* the new rows have no item until it is requested, see getStoredId() */
 		for (int i=itemCount; i<count; i++) {
 			GTK.gtk_tree_store_insert_after (modelHandle, iterResult, parentIter, iterInsertAfter);
-			GTK.gtk_tree_store_set (modelHandle, iterResult, ID_COLUMN, -1, -1);
 		}
 
 		OS.g_free (iters);
@@ -3759,16 +3776,7 @@ void updateHeaderCSS() {
 
 	if (columnCount == 0) {
 		long buttonHandle = GTK.gtk_tree_view_column_get_button(GTK.gtk_tree_view_get_column(handle, 0));
-		if (headerCSSProvider == 0) {
-			headerCSSProvider = GTK.gtk_css_provider_new();
-			GTK.gtk_style_context_add_provider(GTK.gtk_widget_get_style_context(buttonHandle), headerCSSProvider, GTK.GTK_STYLE_PROVIDER_PRIORITY_APPLICATION);
-		}
-
-		if (GTK.GTK4) {
-			GTK4.gtk_css_provider_load_from_data(headerCSSProvider, Converter.javaStringToCString(css.toString()), -1);
-		} else {
-			GTK3.gtk_css_provider_load_from_data(headerCSSProvider, Converter.javaStringToCString(css.toString()), -1, null);
-		}
+		headerCSSProvider = display.cssProviders.replace(headerCSSProvider, css.toString(), GTK.gtk_widget_get_style_context(buttonHandle));
 	} else {
 		for (TreeColumn column : columns) {
 			if (column != null) {
@@ -4323,14 +4331,4 @@ private void throwCannotRemoveItem(int i) {
 	String message = "Cannot remove item with index " + i + ".";
 	throw new SWTException(message);
 }
-
-@Override
-public void dispose() {
-	super.dispose();
-
-	if (headerCSSProvider != 0) {
-		OS.g_object_unref(headerCSSProvider);
-		headerCSSProvider = 0;
-	}
-}
 }
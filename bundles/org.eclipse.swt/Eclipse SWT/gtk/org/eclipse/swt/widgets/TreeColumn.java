@@ -498,7 +498,9 @@ void register () {
 
 @Override
 void releaseHandle () {
+	if (headerButtonCSSProvider != 0) display.cssProviders.release (headerButtonCSSProvider);
 	super.releaseHandle ();
+	headerButtonCSSProvider = 0;
 	handle = buttonHandle = labelHandle = imageHandle = 0;
 	modelIndex = -1;
 	parent = null;
@@ -791,26 +793,7 @@ void setWidthInPixels(int width) {
 }
 
 void setHeaderCSS(String css) {
-	if (headerButtonCSSProvider == 0) {
-		headerButtonCSSProvider = GTK.gtk_css_provider_new();
-		GTK.gtk_style_context_add_provider(GTK.gtk_widget_get_style_context(buttonHandle), headerButtonCSSProvider, GTK.GTK_STYLE_PROVIDER_PRIORITY_APPLICATION);
-	}
-
-	if (GTK.GTK4) {
-		GTK4.gtk_css_provider_load_from_data(headerButtonCSSProvider, Converter.javaStringToCString(css), -1);
-	} else {
-		GTK3.gtk_css_provider_load_from_data(headerButtonCSSProvider, Converter.javaStringToCString(css), -1, null);
-	}
-}
-
-@Override
-public void dispose() {
-	super.dispose();
-
-	if (headerButtonCSSProvider != 0) {
-		OS.g_object_unref(headerButtonCSSProvider);
-		headerButtonCSSProvider = 0;
-	}
+	headerButtonCSSProvider = display.cssProviders.replace(headerButtonCSSProvider, css, GTK.gtk_widget_get_style_context(buttonHandle));
 }
 
 @Override
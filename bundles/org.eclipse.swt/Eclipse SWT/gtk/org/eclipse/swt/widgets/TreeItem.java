@@ -1112,13 +1112,15 @@ public void removeAll () {
 	long iter = OS.g_malloc (GTK.GtkTreeIter_sizeof ());
 	if (iter == 0) error (SWT.ERROR_NO_HANDLES);
 	long selection = GTK.gtk_tree_view_get_selection (parent.handle);
-	int [] value = new int [1];
 	while (GTK.gtk_tree_model_iter_children (modelHandle, iter, handle)) {
-		GTK.gtk_tree_model_get (modelHandle, iter, Tree.ID_COLUMN, value, -1);
-		TreeItem item = value [0] != -1 ? parent.items [value [0]] : null;
+		int id = parent.getStoredId (modelHandle, iter);
+		TreeItem item = id != -1 ? parent.items [id] : null;
 		if (item != null && !item.isDisposed ()) {
 			item.dispose ();
 		} else {
+			/* the row may have an id without an item */
+			parent.releaseItems (iter);
+			if (id != -1) parent.releaseId (id);
 			OS.g_signal_handlers_block_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
 			GTK.gtk_tree_store_remove (modelHandle, iter);
 			OS.g_signal_handlers_unblock_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
@@ -1674,9 +1674,7 @@ boolean sendKeyEvent (int type, long event) {
 		if (isDisposed ()) return false;
 		return javaEvent.doit;
 	}
-	byte [] buffer = new byte [length];
-	C.memmove (buffer, string, length);
-	char [] chars = Converter.mbcsToWcs (buffer);
+	char [] chars = Converter.mbcsToWcs (string, length);
 	return sendIMKeyEvent (type, event, chars) != null;
 }
 
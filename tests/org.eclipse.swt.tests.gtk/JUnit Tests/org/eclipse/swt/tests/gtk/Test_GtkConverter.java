@@ -14,9 +14,12 @@
  */
 package org.eclipse.swt.tests.gtk;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 import org.eclipse.swt.internal.Converter;
 import org.junit.Ignore;
@@ -41,6 +44,60 @@ public class Test_GtkConverter {
 	static final String codePoint174 = "®";   // U+00AE	Registered sign.
 	static final String unicodeCharactersLowCodePoints = "®ÖöėŊ‐"; // bigger than 127, but not many bytes.
 	static final String unicodeCharactersHighCodePoints = "▇░▙▚▧▫♂☢⛔";  //2000+ code points.
+	static final String supplementaryCharacters = "\uD83D\uDE00\uD800\uDC00"; // 4 bytes in utf-8, surrogate pairs in utf-16.
+
+	static final String [] conversionStrings = {emptyStr, asciiLetters, codePoint174, unicodeCharactersLowCodePoints,
+			unicodeCharactersHighCodePoints, supplementaryCharacters, asciiLetters + unicodeCharactersHighCodePoints + supplementaryCharacters};
+
+	@Test
+	public void test_wcsToMbcs() {
+		for (String string : conversionStrings) {
+			assertArrayEquals(string, string.getBytes(StandardCharsets.UTF_8), Converter.wcsToMbcs(string, false));
+			assertArrayEquals(string, (string + '\0').getBytes(StandardCharsets.UTF_8), Converter.wcsToMbcs(string.toCharArray(), true));
+		}
+	}
+
+	@Test
+	public void test_wcsToMbcs_stopsAtNull() {
+		assertArrayEquals(new byte [] {'A', 'B', 0}, Converter.wcsToMbcs("AB\0C", true));
+	}
+
+	@Test
+	public void test_wcsToMbcs_unpairedSurrogate() {
+		// g_utf16_to_utf8() fails on an unpaired surrogate, also on a high surrogate at the end
+		assertArrayEquals(new byte [0], Converter.wcsToMbcs("A\uDC00", false));
+		assertArrayEquals(new byte [0], Converter.wcsToMbcs("A\uD800B", false));
+		assertArrayEquals(new byte [0], Converter.wcsToMbcs("A\uD800", false));
+		assertArrayEquals(new byte [] {0}, Converter.wcsToMbcs("A\uD800".toCharArray(), true));
+		assertEquals(0, Converter.wcsToMbcsTransient("A\uD800")[0]);
+		assertEquals(0, Converter.wcsToMbcsTransient("A\uD800".toCharArray())[0]);
+	}
+
+	@Test
+	public void test_wcsToMbcsTransient() {
+		for (String string : conversionStrings) {
+			byte [] expected = (string + '\0').getBytes(StandardCharsets.UTF_8);
+			byte [] buffer = Converter.wcsToMbcsTransient(string);
+			assertArrayEquals(string, expected, Arrays.copyOf(buffer, expected.length));
+		}
+	}
+
+	@Test
+	public void test_mbcsToWcs() {
+		for (String string : conversionStrings) {
+			assertEquals(string, new String(Converter.mbcsToWcs(string.getBytes(StandardCharsets.UTF_8))));
+			assertEquals(string, new String(Converter.mbcsToWcs((string + '\0' + asciiLetters).getBytes(StandardCharsets.UTF_8))));
+		}
+	}
+
+	@Test
+	public void test_mbcsToWcs_invalid() {
+		// g_utf8_to_utf16() fails on overlong forms, encoded surrogates and truncated sequences
+		assertEquals(0, Converter.mbcsToWcs(new byte [] {'A', (byte) 0xC0, (byte) 0x80}).length);
+		assertEquals(0, Converter.mbcsToWcs(new byte [] {'A', (byte) 0xED, (byte) 0xA0, (byte) 0x80}).length);
+		assertEquals(0, Converter.mbcsToWcs(new byte [] {'A', (byte) 0xE2, (byte) 0x82}).length);
+		assertEquals(0, Converter.mbcsToWcs(new byte [] {'A', (byte) 0x80}).length);
+	}
 
 	@Test
 	public void test_HeuristicASCII_letterA() {
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.gtk.performance;
+
+import org.eclipse.swt.internal.C;
+import org.eclipse.swt.internal.Converter;
+import org.eclipse.swt.internal.gtk.OS;
+
+/**
+ * Measures the conversion of strings between UTF-16 and UTF-8 by
+ * {@link Converter} in isolation, compared to the conversion by Glib that it
+ * replaces, for strings of typical widget text lengths.
+ */
+public class BenchmarkConverter {
+	private static final int[] LENGTHS = { 8, 64, 1024 };
+	private static final int ITERATIONS = 1_000_000;
+	private static final int RUNS = 10;
+
+	private static int sink;
+
+	/**
+	 * manual performance test
+	 *
+	 * @param args not used
+	 */
+	public static void main(String[] args) {
+		for (int length : LENGTHS) {
+			String ascii = "Lorem ipsum dolor sit amet ".repeat(length / 27 + 1).substring(0, length);
+			String nonAscii = "Grüße, 世界! ".repeat(length / 11 + 1).substring(0, length);
+			for (String string : new String[] { ascii, nonAscii }) {
+				String name = (string == ascii ? "ascii" : "non-ascii") + " " + length;
+				byte[] bytes = Converter.wcsToMbcs(string, false);
+				measure(name + " wcsToMbcs", () -> sink += Converter.wcsToMbcs(string, true).length);
+				measure(name + " wcsToMbcsTransient", () -> sink += Converter.wcsToMbcsTransient(string)[0]);
+				measure(name + " g_utf16_to_utf8", () -> sink += glibWcsToMbcs(string).length);
+				measure(name + " mbcsToWcs", () -> sink += Converter.mbcsToWcs(bytes).length);
+				measure(name + " g_utf8_to_utf16", () -> sink += glibMbcsToWcs(bytes).length);
+			}
+		}
+	}
+
+	private static void measure(String name, Runnable conversion) {
+		long best = Long.MAX_VALUE;
+		for (int run = 0; run < RUNS; run++) {
+			long start = System.nanoTime();
+			for (int i = 0; i < ITERATIONS; i++) {
+				conversion.run();
+			}
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		System.out.println(String.format("%-40s best: %,8.1f ns/op", name, (double) best / ITERATIONS));
+	}
+
+	/** The conversion of Converter before it was done in Java */
+	private static byte[] glibWcsToMbcs(String string) {
+		char[] chars = string.toCharArray();
+		long[] items_read = new long[1], items_written = new long[1];
+		long ptr = OS.g_utf16_to_utf8(chars, chars.length, items_read, items_written, null);
+		byte[] bytes = new byte[(int) items_written[0] + 1];
+		C.memmove(bytes, ptr, items_written[0]);
+		OS.g_free(ptr);
+		return bytes;
+	}
+
+	/** The conversion of Converter before it was done in Java */
+	private static char[] glibMbcsToWcs(byte[] bytes) {
+		long[] items_written = new long[1];
+		long ptr = OS.g_utf8_to_utf16(bytes, bytes.length, null, items_written, null);
+		char[] chars = new char[(int) items_written[0]];
+		C.memmove(chars, ptr, chars.length * 2);
+		OS.g_free(ptr);
+		return chars;
+	}
+}
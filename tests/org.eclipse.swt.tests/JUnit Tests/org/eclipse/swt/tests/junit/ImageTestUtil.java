@@ -18,12 +18,40 @@ import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.fail;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.function.BiFunction;
 
 import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageFormatDecoder;
+import org.eclipse.swt.graphics.ImageLoader;
+import org.eclipse.swt.graphics.PaletteData;
 
 public class ImageTestUtil {
 
+	/**
+	 * An image of 5x7 pixels in a format that only {@link #SWTX_DECODER} can
+	 * load: 4 magic bytes followed by the width and the height.
+	 */
+	public static final byte[] SWTX_IMAGE = {'S', 'W', 'T', 'X', 5, 7};
+
+	/**
+	 * A decoder of the format of {@link #SWTX_IMAGE}, to be added to the
+	 * <code>ImageLoader</code> by the tests of image format decoders.
+	 */
+	public static final ImageFormatDecoder SWTX_DECODER = new ImageFormatDecoder() {
+		@Override
+		public boolean isFormat(byte[] header) {
+			return header.length >= 4 && header[0] == 'S' && header[1] == 'W' && header[2] == 'T' && header[3] == 'X';
+		}
+		@Override
+		public ImageData[] load(InputStream stream, ImageLoader loader) throws IOException {
+			stream.skip(4);
+			ImageData data = new ImageData(stream.read(), stream.read(), 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+			return new ImageData[] {data};
+		}
+	};
+
 	/**
 	 * Check if two image data represent the same image. This method try its best to
 	 * ignore how the data is organized and only compare the effective image. E.g.
@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.SWTError;
+import org.eclipse.swt.SWTException;
+import org.eclipse.swt.custom.MappedFileContent;
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.custom.TextChangeListener;
+import org.eclipse.swt.custom.TextChangedEvent;
+import org.eclipse.swt.custom.TextChangingEvent;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Automated Test Suite for class org.eclipse.swt.custom.MappedFileContent
+ *
+ * @see org.eclipse.swt.custom.MappedFileContent
+ */
+public class Test_org_eclipse_swt_custom_MappedFileContent {
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	Shell shell;
+	StyledText styledText;
+	MappedFileContent content;
+
+	@Before
+	public void setUp() {
+		shell = new Shell();
+		styledText = new StyledText(shell, SWT.MULTI | SWT.READ_ONLY);
+	}
+
+	@After
+	public void tearDown() {
+		if (content != null) content.dispose();
+		shell.dispose();
+	}
+
+	@Test
+	public void test_ConstructorLorg_eclipse_swt_widgets_DisplayLjava_lang_String() throws IOException {
+		Display display = shell.getDisplay();
+		assertThrows(IllegalArgumentException.class, () -> new MappedFileContent(null, "file"));
+		assertThrows(IllegalArgumentException.class, () -> new MappedFileContent(display, null));
+		String missing = new File(folder.getRoot(), "missing.txt").getPath();
+		SWTException exception = assertThrows(SWTException.class, () -> new MappedFileContent(display, missing));
+		assertEquals(SWT.ERROR_IO, exception.code);
+	}
+
+	@Test
+	public void test_lines() throws Exception {
+		String text = "first line\r\nzweite Zeile \u00e4\u00f6\u00fc\rthird \u4e2d\u6587 \ud83d\ude00\n\nlast";
+		open(text);
+		assertEquals(text.length(), content.getCharCount());
+		assertEquals(5, content.getLineCount());
+		assertEquals("first line", content.getLine(0));
+		assertEquals("zweite Zeile \u00e4\u00f6\u00fc", content.getLine(1));
+		assertEquals("third \u4e2d\u6587 \ud83d\ude00", content.getLine(2));
+		assertEquals("", content.getLine(3));
+		assertEquals("last", content.getLine(4));
+		assertEquals(text.indexOf("third"), content.getOffsetAtLine(2));
+		assertEquals(2, content.getLineAtOffset(text.indexOf("\u4e2d")));
+		assertEquals(4, content.getLineAtOffset(text.length()));
+		assertEquals(text, content.getTextRange(0, text.length()));
+		assertEquals(text.substring(5, 30), content.getTextRange(5, 25));
+		assertEquals(text, styledText.getText());
+	}
+
+	@Test
+	public void test_growth() throws Exception {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < 100_000; i++) {
+			builder.append("line ").append(i).append('\n');
+		}
+		String text = builder.toString();
+		File file = folder.newFile();
+		Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+		content = new MappedFileContent(shell.getDisplay(), file.getPath());
+		int[] counts = new int[2];
+		content.addTextChangeListener(new TextChangeListener() {
+			@Override
+			public void textChanging(TextChangingEvent event) {
+				assertEquals(content.getCharCount(), event.start);
+				assertEquals(0, event.replaceCharCount);
+				assertEquals(0, event.replaceLineCount);
+				counts[0] += event.newCharCount;
+				counts[1] += event.newLineCount;
+			}
+			@Override
+			public void textChanged(TextChangedEvent event) {
+			}
+			@Override
+			public void textSet(TextChangedEvent event) {
+			}
+		});
+		styledText.setContent(content);
+		waitForIndex(text.length());
+		assertEquals(text.length(), counts[0]);
+		assertEquals(100_000, counts[1]);
+		assertEquals(100_001, styledText.getLineCount());
+		assertEquals("line 99999", styledText.getLine(99_999));
+		assertEquals("line 12345", content.getLine(12_345));
+	}
+
+	@Test
+	public void test_longLine() throws Exception {
+		// a line that is too long to be kept, with characters split between the decoded windows
+		StringBuilder builder = new StringBuilder("short\n");
+		while (builder.length() < 200_000) {
+			builder.append("ab\u00e4\u4e2d\ud83d\ude00 ");
+		}
+		builder.append("\nend");
+		String text = builder.toString();
+		open(text);
+		assertEquals(3, content.getLineCount());
+		for (int start : new int[] {0, 3, 16_380, 16_383, 100_001, text.length() - 10}) {
+			assertEquals(text.substring(start, start + 9), content.getTextRange(start, 9));
+		}
+		assertEquals(text, content.getTextRange(0, text.length()));
+		assertEquals(text.substring(6, text.length() - 4), content.getLine(1));
+	}
+
+	@Test
+	public void test_longLineMalformed() throws Exception {
+		byte[] bytes = new byte[100_000];
+		byte[] values = {(byte) 0xFF, (byte) 0xE4, (byte) 0x80, (byte) 0xF0, 'x', 'x', 'x', 'x', 'x', 'x'};
+		Random random = new Random(1);
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = values[random.nextInt(values.length)];
+		}
+		String text = new String(bytes, StandardCharsets.UTF_8);
+		open(bytes, text.length());
+		assertEquals(text, content.getTextRange(0, text.length()));
+		assertEquals(text.substring(50_000, 50_100), content.getTextRange(50_000, 100));
+	}
+
+	@Test
+	public void test_readOnly() throws Exception {
+		open("text");
+		assertThrows(SWTError.class, () -> content.replaceTextRange(0, 0, "more"));
+		assertThrows(SWTError.class, () -> content.setText("other"));
+		assertEquals("text", content.getLine(0));
+	}
+
+	private void open(String text) throws Exception {
+		open(text.getBytes(StandardCharsets.UTF_8), text.length());
+	}
+
+	private void open(byte[] bytes, int charCount) throws Exception {
+		File file = folder.newFile();
+		Files.write(file.toPath(), bytes);
+		content = new MappedFileContent(shell.getDisplay(), file.getPath());
+		styledText.setContent(content);
+		waitForIndex(charCount);
+	}
+
+	private void waitForIndex(int charCount) throws InterruptedException {
+		SwtTestUtil.processEvents(10_000, () -> content.getCharCount() == charCount);
+		assertEquals(charCount, content.getCharCount());
+	}
+}
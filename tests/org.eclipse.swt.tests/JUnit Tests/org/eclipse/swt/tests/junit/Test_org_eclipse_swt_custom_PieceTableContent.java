@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.util.Random;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.PieceTableContent;
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.custom.StyledTextContent;
+import org.eclipse.swt.custom.TextChangeListener;
+import org.eclipse.swt.custom.TextChangedEvent;
+import org.eclipse.swt.custom.TextChangingEvent;
+import org.eclipse.swt.widgets.Shell;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Automated Test Suite for class org.eclipse.swt.custom.PieceTableContent
+ *
+ * @see org.eclipse.swt.custom.PieceTableContent
+ */
+public class Test_org_eclipse_swt_custom_PieceTableContent {
+	Shell shell;
+	StyledText styledText;
+	PieceTableContent content;
+
+	@Before
+	public void setUp() {
+		shell = new Shell();
+		styledText = new StyledText(shell, SWT.MULTI);
+		content = new PieceTableContent();
+	}
+
+	@After
+	public void tearDown() {
+		shell.dispose();
+	}
+
+	@Test
+	public void test_Constructor() {
+		assertEquals(0, content.getCharCount());
+		assertEquals(1, content.getLineCount());
+		assertEquals("", content.getLine(0));
+		assertEquals(0, content.getOffsetAtLine(0));
+		assertEquals(0, content.getLineAtOffset(0));
+	}
+
+	@Test
+	public void test_StyledTextContentSpec() {
+		StyledTextContentSpec.contentClassName = PieceTableContent.class.getName();
+		StyledTextContentSpec.failCount = 0;
+		StyledTextContentSpec.errorCount = 0;
+		new StyledTextContentSpec().run();
+		assertEquals("failures", 0, StyledTextContentSpec.failCount);
+		assertEquals("errors", 0, StyledTextContentSpec.errorCount);
+	}
+
+	@Test
+	public void test_lineConversion() {
+		content.setText("This\nis a test\rrepeat\r\nend\r");
+		assertEquals(5, content.getLineCount());
+		assertEquals("is a test", content.getLine(1));
+		assertEquals("end", content.getLine(3));
+		assertEquals("", content.getLine(4));
+		assertEquals(23, content.getOffsetAtLine(3));
+		assertEquals(2, content.getLineAtOffset(15));
+		assertEquals(1, content.getLineAtOffset(14));
+		assertEquals(2, content.getLineAtOffset(22));
+		assertEquals(4, content.getLineAtOffset(content.getCharCount()));
+		assertThrows(IllegalArgumentException.class, () -> content.getLine(5));
+		assertThrows(IllegalArgumentException.class, () -> content.getOffsetAtLine(5));
+		assertThrows(IllegalArgumentException.class, () -> content.getLineAtOffset(28));
+	}
+
+	@Test
+	public void test_replaceTextRange() {
+		content.setText("Line 1\r\nLine 2\r\nLine 3");
+		content.replaceTextRange(8, 6, "a\nb");
+		assertEquals("Line 1\r\na\nb\r\nLine 3", content.getTextRange(0, content.getCharCount()));
+		assertEquals(4, content.getLineCount());
+		assertEquals("b", content.getLine(2));
+		assertEquals(13, content.getOffsetAtLine(3));
+		assertThrows(IllegalArgumentException.class, () -> content.replaceTextRange(7, 0, "x"));
+		assertThrows(IllegalArgumentException.class, () -> content.replaceTextRange(7, 2, ""));
+
+		// a CR and a LF joined by an edit stay separate line delimiters
+		content.setText("L1\rxx\n");
+		content.replaceTextRange(3, 2, "");
+		assertEquals(3, content.getLineCount());
+		assertEquals(3, content.getOffsetAtLine(1));
+		assertEquals(4, content.getOffsetAtLine(2));
+		content.replaceTextRange(3, 0, "L2");
+		assertEquals("L2", content.getLine(1));
+	}
+
+	@Test
+	public void test_replaceTextRange_appending() {
+		content.setText("first");
+		for (int i = 0; i < 1000; i++) {
+			content.replaceTextRange(content.getCharCount(), 0, "\r");
+			content.replaceTextRange(content.getCharCount(), 0, i % 2 == 0 ? "\n" : "x");
+		}
+		// a LF appended after a CR is a line delimiter of its own
+		assertEquals(1501, content.getLineCount());
+		assertEquals("first", content.getLine(0));
+		assertEquals("", content.getLine(2));
+		assertEquals("x", content.getLine(3));
+		assertEquals(content.getCharCount() - 1, content.getOffsetAtLine(1500));
+	}
+
+	@Test
+	public void test_textChangingEvent() {
+		int[] lineCounts = new int[2];
+		content.addTextChangeListener(new TextChangeListener() {
+			@Override
+			public void textChanging(TextChangingEvent event) {
+				lineCounts[0] = content.getLineCount() - event.replaceLineCount + event.newLineCount;
+			}
+			@Override
+			public void textChanged(TextChangedEvent event) {
+				lineCounts[1] = content.getLineCount();
+			}
+			@Override
+			public void textSet(TextChangedEvent event) {
+			}
+		});
+		content.setText("L1\r");
+		content.replaceTextRange(3, 0, "\ntest\r\n");
+		assertEquals(lineCounts[0], lineCounts[1]);
+		content.setText("L1\n");
+		content.replaceTextRange(2, 0, "test\r\r\r");
+		assertEquals(lineCounts[0], lineCounts[1]);
+		assertEquals(5, content.getLineCount());
+		content.replaceTextRange(0, 10, "");
+		assertEquals(lineCounts[0], lineCounts[1]);
+	}
+
+	@Test
+	public void test_matchesDefaultContent() {
+		StyledTextContent defaultContent = styledText.getContent();
+		String[] fragments = { "a", "bc", "\n", "\r\n", "line\n", "\tx" };
+		Random random = new Random(42);
+		for (int round = 0; round < 50; round++) {
+			String text = randomText(random, fragments, random.nextInt(20));
+			defaultContent.setText(text);
+			content.setText(text);
+			for (int step = 0; step < 50; step++) {
+				int charCount = content.getCharCount();
+				int start = random.nextInt(charCount + 1);
+				int length = random.nextInt(Math.min(charCount - start, 10) + 1);
+				String newText = random.nextInt(3) == 0 ? "" : randomText(random, fragments, 1 + random.nextInt(4));
+				text = defaultContent.getTextRange(0, charCount);
+				if (isInsideCRLF(text, start) || isInsideCRLF(text, start + length)) continue;
+				defaultContent.replaceTextRange(start, length, newText);
+				content.replaceTextRange(start, length, newText);
+				assertSameContent(defaultContent, content);
+			}
+		}
+	}
+
+	@Test
+	public void test_setContent() {
+		styledText.setContent(content);
+		styledText.setText("a\nb\nc");
+		styledText.append("\nd");
+		styledText.replaceTextRange(2, 1, "B");
+		assertEquals(4, styledText.getLineCount());
+		assertEquals("a\nB\nc\nd", styledText.getText());
+		assertEquals(2, styledText.getLineAtOffset(4));
+		assertEquals("d", content.getLine(3));
+	}
+
+	private void assertSameContent(StyledTextContent expected, StyledTextContent actual) {
+		int charCount = expected.getCharCount();
+		assertEquals(charCount, actual.getCharCount());
+		assertEquals(expected.getTextRange(0, charCount), actual.getTextRange(0, charCount));
+		assertEquals(expected.getLineCount(), actual.getLineCount());
+		for (int i = 0; i < expected.getLineCount(); i++) {
+			assertEquals(expected.getLine(i), actual.getLine(i));
+			assertEquals(expected.getOffsetAtLine(i), actual.getOffsetAtLine(i));
+		}
+		for (int offset = 0; offset <= charCount; offset++) {
+			assertEquals(expected.getLineAtOffset(offset), actual.getLineAtOffset(offset));
+		}
+	}
+
+	private static boolean isInsideCRLF(String text, int offset) {
+		return offset > 0 && offset < text.length() && text.charAt(offset - 1) == SWT.CR && text.charAt(offset) == SWT.LF;
+	}
+
+	private static String randomText(Random random, String[] fragments, int count) {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			builder.append(fragments[random.nextInt(fragments.length)]);
+		}
+		return builder.toString();
+	}
+}
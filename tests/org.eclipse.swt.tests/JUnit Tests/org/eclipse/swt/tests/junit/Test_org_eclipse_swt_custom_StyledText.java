@@ -21,6 +21,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -29,6 +30,7 @@ import static org.junit.Assume.assumeFalse;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.function.BooleanSupplier;
@@ -48,6 +50,7 @@ import org.eclipse.swt.custom.ST;
 import org.eclipse.swt.custom.StyleRange;
 import org.eclipse.swt.custom.StyledText;
 import org.eclipse.swt.custom.StyledTextContent;
+import org.eclipse.swt.custom.StyledTextStyleProvider;
 import org.eclipse.swt.custom.TextChangeListener;
 import org.eclipse.swt.custom.VerifyKeyListener;
 import org.eclipse.swt.dnd.Clipboard;
@@ -63,6 +66,8 @@ import org.eclipse.swt.events.VerifyListener;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.FontMetrics;
+import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.GlyphMetrics;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.RGB;
@@ -789,10 +794,56 @@ public void test_clipboardWithHtml() {
 	text.selectAll();
 	text.copy();
 
+	// the RTF and HTML are built when requested, while the fonts are not disposed
+	Clipboard clipboard = new Clipboard(text.getDisplay());
+	assertNotNull(clipboard.getContents(RTFTransfer.getInstance()));
+	assertNotNull(clipboard.getContents(HTMLTransfer.getInstance()));
+	clipboard.dispose();
+
 	fontArial16.dispose();
 	fontArial8.dispose();
 }
 
+@Test
+public void test_copy_richTextLimit() {
+	Clipboard clipboard = new Clipboard(text.getDisplay());
+	text.setText("0123456789");
+	assertEquals(8 * 1024 * 1024, text.getRichTextCopyLimit());
+
+	// the copied text and styles are kept when they change before the RTF is requested
+	text.setStyleRange(new StyleRange(0, 2, null, null, SWT.BOLD));
+	text.selectAll();
+	text.copy();
+	text.setStyleRange(null);
+	text.setLineBackground(0, 1, getColor(RED));
+	text.replaceTextRange(0, 10, "abc");
+	String rtf = (String) clipboard.getContents(RTFTransfer.getInstance());
+	assertTrue(rtf, rtf.contains("\\b 01\\b0}23456789"));
+	assertFalse(rtf, rtf.contains("\\chcbpat"));
+	String html = (String) clipboard.getContents(HTMLTransfer.getInstance());
+	assertTrue(html, html.contains("font-weight:bold;") && html.contains("23456789"));
+	assertEquals("0123456789", clipboard.getContents(TextTransfer.getInstance()));
+
+	// the RTF and HTML can be requested after the widget is disposed
+	text.setLineBackground(0, 1, null);
+	text.selectAll();
+	text.copy();
+	text.dispose();
+	rtf = (String) clipboard.getContents(RTFTransfer.getInstance());
+	assertTrue(rtf, rtf.contains("abc"));
+	text = new StyledText(shell, SWT.NULL);
+	text.setText("abc");
+
+	// longer selections are only copied as plain text
+	text.setRichTextCopyLimit(2);
+	text.selectAll();
+	text.copy();
+	assertEquals("abc", clipboard.getContents(TextTransfer.getInstance()));
+	assertNull(clipboard.getContents(RTFTransfer.getInstance()));
+	assertNull(clipboard.getContents(HTMLTransfer.getInstance()));
+	clipboard.dispose();
+}
+
 @Test
 public void test_cut() {
 	if (SwtTestUtil.isCocoa) {
@@ -1025,6 +1076,70 @@ public void test_getKeyBindingI() {
 	assertEquals(":f:", SWT.NULL, text.getKeyBinding(SWT.F2));
 }
 
+@Test
+public void test_setLayoutCacheSizeI() {
+	assertEquals(300, text.getLayoutCacheSize());
+	assertThrows(IllegalArgumentException.class, () -> text.setLayoutCacheSize(-1));
+	text.setSize(500, 200);
+	text.setWordWrap(true);
+	text.setText(IntStream.range(0, 1000).mapToObj(Integer::toString).collect(Collectors.joining("\n")));
+	SwtTestUtil.processEvents();
+
+	// lines far apart stay cached
+	text.setLayoutCacheSize(1000);
+	assertEquals(1000, text.getLayoutCacheSize());
+	locateLines(0, 1000);
+	long hits = text.getLayoutCacheHits();
+	long misses = text.getLayoutCacheMisses();
+	locateLines(0, 1000);
+	assertTrue(text.getLayoutCacheHits() >= hits + 1000);
+	assertEquals(misses, text.getLayoutCacheMisses());
+
+	// the least recently used lines are discarded
+	text.setLayoutCacheSize(10);
+	misses = text.getLayoutCacheMisses();
+	locateLines(0, 1000);
+	assertTrue(text.getLayoutCacheMisses() >= misses + 990);
+}
+
+@Test
+public void test_setLayoutCacheSizeIWithMultiLineSelection() {
+	text.setSize(500, 200);
+	text.setText(IntStream.range(0, 100).mapToObj(i -> "line " + i).collect(Collectors.joining("\n")));
+	text.setLayoutCacheSize(1);
+	text.setLineSpacing(2);
+	shell.open();
+
+	// the layouts of the lines that are painted or measured together must not be disposed
+	text.setSelection(text.getOffsetAtLine(1), text.getOffsetAtLine(8) + 3);
+	text.redraw();
+	text.update();
+	SwtTestUtil.processEvents();
+	Rectangle bounds = text.getTextBounds(text.getOffsetAtLine(1), text.getOffsetAtLine(8) + 3);
+	assertTrue(bounds.height > 0);
+	Point start = text.getLocationAtOffset(text.getOffsetAtLine(1));
+	Point end = text.getLocationAtOffset(text.getOffsetAtLine(8) + 3);
+	assertTrue(end.y > start.y);
+
+	GC gc = new GC(text);
+	FontMetrics metrics = gc.getFontMetrics();
+	gc.dispose();
+	text.setFixedLineMetrics(metrics);
+	text.setSelection(text.getOffsetAtLine(2), text.getOffsetAtLine(6));
+	text.redraw();
+	text.update();
+	SwtTestUtil.processEvents();
+	bounds = text.getTextBounds(text.getOffsetAtLine(2), text.getOffsetAtLine(5) + 1);
+	assertTrue(bounds.height > 0);
+	assertTrue(text.getLinePixel(6) > text.getLinePixel(2));
+}
+
+private void locateLines(int startLine, int endLine) {
+	for (int i = startLine; i < endLine; i++) {
+		text.getLocationAtOffset(text.getOffsetAtLine(i));
+	}
+}
+
 @Test
 public void test_getCharCount() {
 	assertEquals(":a:", 0, text.getCharCount());
@@ -1886,6 +2001,50 @@ public void test_getStyleRanges_Bug549110() {
 	text.selectAll();
 }
 @Test
+public void test_getStyleRanges_afterScatteredEdits() {
+	int count = 100;
+	text.setText("0123456789".repeat(count));
+	int[] starts = new int[count];
+	StyleRange[] styles = new StyleRange[count];
+	for (int i = 0; i < count; i++) {
+		starts[i] = i * 10;
+		styles[i] = getStyle(starts[i], 5, i % 2 == 0 ? BLUE : RED, null);
+	}
+	text.setStyleRanges(styles);
+
+	// edit between the styles, moving back and forth through the text
+	int[] editedStyles = {50, 51, 3, 99, 40, 0, 75, 74, 20};
+	for (int i = 0; i < editedStyles.length; i++) {
+		int k = editedStyles[i];
+		int delta;
+		if (i % 2 == 0) {
+			text.replaceTextRange(starts[k] + 6, 0, "xy");
+			delta = 2;
+		} else {
+			text.replaceTextRange(starts[k] + 6, 1, "");
+			delta = -1;
+		}
+		for (int j = k + 1; j < count; j++) {
+			starts[j] += delta;
+		}
+		int[] expected = new int[count * 2];
+		for (int j = 0; j < count; j++) {
+			expected[j * 2] = starts[j];
+			expected[j * 2 + 1] = 5;
+		}
+		assertArrayEquals(":" + i + ":", expected, text.getRanges());
+	}
+	StyleRange[] ranges = text.getStyleRanges(starts[60], 5);
+	assertEquals(1, ranges.length);
+	assertEquals(getStyle(starts[60], 5, BLUE, null), ranges[0]);
+
+	// styles with the same attributes are shared
+	StyleRange[] shared = text.getStyleRanges(false);
+	assertEquals(count, shared.length);
+	assertSame(shared[0], shared[2]);
+	assertSame(shared[1], shared[99]);
+}
+@Test
 public void test_getTabs() {
 	text.setTabs(1);
 	assertEquals(":a:", 1, text.getTabs());
@@ -4548,6 +4707,81 @@ public void test_setStyleRangeLorg_eclipse_swt_custom_StyleRange(){
 
 }
 
+// this method must not be public so that the auto-gen tool keeps it
+private StyledTextStyleProvider boldLineStartProvider(List<String> requests) {
+	return (lineText, offset) -> {
+		requests.add(offset + ":" + lineText);
+		List<StyleRange> styles = new ArrayList<>();
+		for (int i = 0; i < lineText.length(); i = lineText.indexOf('\n', i) + 1) {
+			if (lineText.charAt(i) != '\n') styles.add(new StyleRange(offset + i, 1, null, null, SWT.BOLD));
+			if (lineText.indexOf('\n', i) == -1) break;
+		}
+		return styles.toArray(new StyleRange[0]);
+	};
+}
+
+@Test
+public void test_setStyleProvider() throws InterruptedException {
+	List<String> requests = new ArrayList<>();
+	text.setText("ab\ncd\nef");
+	assertThrows(IllegalArgumentException.class, () -> text.setStyleProvider(boldLineStartProvider(requests), null));
+	text.setStyleProvider(boldLineStartProvider(requests), Runnable::run);
+	assertNotNull(text.getStyleProvider());
+	SwtTestUtil.processEvents(1000, () -> text.getStyleRanges().length == 3);
+	assertEquals(List.of("0:ab\ncd\nef"), requests);
+	assertArrayEquals(new int[] {0, 1, 3, 1, 6, 1}, text.getRanges());
+
+	// only the changed line is requested, the changes of one event loop run are requested together
+	text.replaceTextRange(3, 0, "x");
+	text.replaceTextRange(6, 0, "y");
+	SwtTestUtil.processEvents(1000, () -> requests.size() == 2);
+	SwtTestUtil.processEvents();
+	assertEquals("3:xcdy\n", requests.get(1));
+	assertArrayEquals(new int[] {0, 1, 3, 1, 8, 1}, text.getRanges());
+
+	text.setStyleProvider(null, null);
+	assertNull(text.getStyleProvider());
+	text.replaceTextRange(0, 0, "z");
+	SwtTestUtil.processEvents();
+	assertEquals(2, requests.size());
+}
+
+@Test
+public void test_setStyleProvider_discardsStaleStyles() throws InterruptedException {
+	List<String> requests = new ArrayList<>();
+	List<Runnable> tasks = new ArrayList<>();
+	text.setText("ab\ncd");
+	text.setStyleProvider(boldLineStartProvider(requests), tasks::add);
+	SwtTestUtil.processEvents(1000, () -> tasks.size() == 1);
+
+	// the text changes while the styles are computed
+	text.replaceTextRange(0, 0, "\n");
+	tasks.remove(0).run();
+	SwtTestUtil.processEvents(1000, () -> tasks.size() == 1);
+	assertEquals(0, text.getStyleRanges().length);
+
+	tasks.remove(0).run();
+	SwtTestUtil.processEvents(1000, () -> text.getStyleRanges().length == 2);
+	assertEquals(List.of("0:ab\ncd", "0:\nab\ncd"), requests);
+	assertArrayEquals(new int[] {1, 1, 4, 1}, text.getRanges());
+}
+
+@Test
+public void test_setStyleProvider_deletePendingRange() throws InterruptedException {
+	List<String> requests = new ArrayList<>();
+	text.setText("ab\ncdefgh\nij");
+	text.setStyleProvider(boldLineStartProvider(requests), Runnable::run);
+	SwtTestUtil.processEvents(1000, () -> text.getStyleRanges().length == 3);
+
+	// the second change deletes the text of the pending range of the first one
+	text.replaceTextRange(5, 2, "xy");
+	text.replaceTextRange(0, 10, "");
+	SwtTestUtil.processEvents(1000, () -> requests.size() == 2);
+	SwtTestUtil.processEvents();
+	assertEquals("0:ij", requests.get(1));
+	assertArrayEquals(new int[] {0, 1}, text.getRanges());
+}
+
 @Test
 public void test_setStyleRanges$Lorg_eclipse_swt_custom_StyleRange() {
 	StyleRange[] ranges = new StyleRange[] {
@@ -4796,6 +5030,25 @@ public void test_notFixedLineHeightDoesntChangeLinePixelAfterScroll() {
 	assertEquals(0, text.getLinePixel(0));
 }
 
+@Test
+public void test_notFixedLineHeightMeasuresAllLinesInBackground() {
+	text.dispose();
+	text = new StyledText(shell, SWT.V_SCROLL);
+	setWidget(text);
+	text.setSize(500, 200);
+	text.setWordWrap(true);
+	String lines = IntStream.range(0, 5000).mapToObj(i -> "a ".repeat(i % 300)).collect(Collectors.joining("\n"));
+	text.setText(lines);
+	Display display = text.getDisplay();
+	display.readAndDispatch();
+	// edit while the lines are measured in the background
+	text.replaceTextRange(text.getOffsetAtLine(4000), 0, "b ".repeat(500) + "\n");
+	text.replaceTextRange(text.getOffsetAtLine(10), text.getLine(10).length(), "");
+	SwtTestUtil.processEvents();
+	assertEquals(0, text.getTopPixel());
+	assertEquals(text.getLinePixel(text.getLineCount()), text.getVerticalBar().getMaximum());
+}
+
 @Test
 public void test_setWordWrapZ(){
 	String testString = "Line1\nLine2";
@@ -5547,8 +5800,8 @@ protected void rtfCopy() {
 	linesCalled[0] = 0;
 	text.copy();
 
-	// The listener is invoked twice for each line, once for RTF and once for HTML.
-	assertEquals("not all lines tested for RTF & HTML copy", 2 * text.getLineCount(), linesCalled[0]);
+	// The listener is invoked once for each line, the styles are shared by RTF and HTML.
+	assertEquals("not all lines tested for RTF & HTML copy", text.getLineCount(), linesCalled[0]);
 
 	Clipboard clipboard = new Clipboard(text.getDisplay());
 	RTFTransfer rtfTranfer = RTFTransfer.getInstance();
@@ -5559,6 +5812,9 @@ protected void rtfCopy() {
 	clipboardText = (String) clipboard.getContents(htmlTranfer);
 	assertTrue("HTML copy failed", clipboardText.length() > 0);
 
+	// The styles are taken when the text is copied.
+	assertEquals("lines tested again when RTF & HTML requested", text.getLineCount(), linesCalled[0]);
+
 	clipboard.dispose();
 	text.removeLineStyleListener(listener);
 }
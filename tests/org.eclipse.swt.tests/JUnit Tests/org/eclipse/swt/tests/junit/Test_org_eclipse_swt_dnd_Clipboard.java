@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.eclipse.swt.dnd.Clipboard;
+import org.eclipse.swt.dnd.RTFTransfer;
+import org.eclipse.swt.dnd.TextTransfer;
+import org.eclipse.swt.dnd.Transfer;
+import org.eclipse.swt.dnd.TransferData;
+import org.eclipse.swt.widgets.Display;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Automated Test Suite for the lazy and asynchronous methods of class
+ * org.eclipse.swt.dnd.Clipboard
+ *
+ * @see org.eclipse.swt.dnd.Clipboard
+ */
+public class Test_org_eclipse_swt_dnd_Clipboard {
+
+	private Display display;
+	private Clipboard clipboard;
+
+@Before
+public void setUp() {
+	assumeFalse("Disabled on Mac because similar clipboard tests are also disabled.", SwtTestUtil.isCocoa);
+	display = Display.getDefault();
+	clipboard = new Clipboard(display);
+}
+
+@After
+public void tearDown() {
+	if (clipboard != null) {
+		clipboard.clearContents();
+		clipboard.dispose();
+	}
+}
+
+private <T> T waitFor(CompletableFuture<T> future) throws InterruptedException {
+	SwtTestUtil.processEvents(10000, future::isDone);
+	assertTrue("clipboard request not completed", future.isDone());
+	return future.join();
+}
+
+@Test
+public void test_setContentProvidersCallsProviderOnce() {
+	AtomicInteger textCalls = new AtomicInteger();
+	AtomicInteger rtfCalls = new AtomicInteger();
+	Supplier<?>[] providers = {
+		() -> "text " + textCalls.incrementAndGet(),
+		() -> "{\\rtf1 rtf " + rtfCalls.incrementAndGet() + "}"
+	};
+	clipboard.setContentProviders(providers, new Transfer[] { TextTransfer.getInstance(), RTFTransfer.getInstance() });
+	assertEquals(0, textCalls.get());
+	assertEquals(0, rtfCalls.get());
+
+	assertEquals("text 1", clipboard.getContents(TextTransfer.getInstance()));
+	assertEquals("text 1", clipboard.getContents(TextTransfer.getInstance()));
+	assertEquals(1, textCalls.get());
+	assertEquals(0, rtfCalls.get());
+}
+
+@Test
+public void test_setContentProvidersWithoutData() {
+	Supplier<?>[] providers = { () -> null };
+	clipboard.setContentProviders(providers, new Transfer[] { TextTransfer.getInstance() });
+	assertNull(clipboard.getContents(TextTransfer.getInstance()));
+}
+
+@Test
+public void test_setContentProvidersInvalidArguments() {
+	Transfer[] types = { TextTransfer.getInstance() };
+	assertThrows(IllegalArgumentException.class, () -> clipboard.setContentProviders(null, types));
+	assertThrows(IllegalArgumentException.class, () -> clipboard.setContentProviders(new Supplier<?>[] { () -> "a" }, null));
+	assertThrows(IllegalArgumentException.class, () -> clipboard.setContentProviders(new Supplier<?>[0], new Transfer[0]));
+	assertThrows(IllegalArgumentException.class, () -> clipboard.setContentProviders(new Supplier<?>[] { null }, types));
+	assertThrows(IllegalArgumentException.class,
+			() -> clipboard.setContentProviders(new Supplier<?>[] { () -> "a", () -> "b" }, types));
+}
+
+@Test
+public void test_getContentsAsync() throws InterruptedException {
+	AtomicInteger calls = new AtomicInteger();
+	Supplier<?>[] providers = { () -> "async " + calls.incrementAndGet() };
+	clipboard.setContentProviders(providers, new Transfer[] { TextTransfer.getInstance() });
+	CompletableFuture<Object> future = clipboard.getContentsAsync(TextTransfer.getInstance());
+	assertEquals("async 1", waitFor(future));
+	assertEquals("async 1", waitFor(clipboard.getContentsAsync(TextTransfer.getInstance())));
+	assertEquals(1, calls.get());
+	assertThrows(IllegalArgumentException.class, () -> clipboard.getContentsAsync(null));
+}
+
+@Test
+public void test_getContentsAsyncNotAvailable() throws InterruptedException {
+	clipboard.setContents(new Object[] { "text" }, new Transfer[] { TextTransfer.getInstance() });
+	assertNull(waitFor(clipboard.getContentsAsync(RTFTransfer.getInstance())));
+}
+
+@Test
+public void test_getAvailableTypesAsync() throws InterruptedException {
+	clipboard.setContents(new Object[] { "text" }, new Transfer[] { TextTransfer.getInstance() });
+	TransferData[] types = waitFor(clipboard.getAvailableTypesAsync());
+	assertTrue(Arrays.toString(types), Arrays.stream(types).anyMatch(TextTransfer.getInstance()::isSupportedType));
+}
+
+@Test
+public void test_getContentsAsyncAfterDispose() throws InterruptedException {
+	clipboard.setContents(new Object[] { "text" }, new Transfer[] { TextTransfer.getInstance() });
+	CompletableFuture<Object> future = clipboard.getContentsAsync(TextTransfer.getInstance());
+	clipboard.dispose();
+	Object contents = waitFor(future);
+	assertTrue(String.valueOf(contents), contents == null || "text".equals(contents));
+	clipboard = null;
+}
+}
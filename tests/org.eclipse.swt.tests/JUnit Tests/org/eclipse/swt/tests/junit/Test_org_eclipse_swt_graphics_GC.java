@@ -686,6 +686,38 @@ public void test_textExtentLjava_lang_StringI() {
 	assertTrue(pt.y > 0);
 }
 
+@Test
+public void test_textExtentLjava_lang_StringI_measuredAgain() {
+	String[] strings = { "abc", "Hello, World!", "a\tb", "line\nline", "&Mnemonic", "\u00e4\u00f6\u00fc", "" };
+	int[] flags = { 0, SWT.DRAW_DELIMITER | SWT.DRAW_TAB, SWT.DRAW_MNEMONIC };
+	Point[][] extents = new Point[strings.length][flags.length];
+	for (int i = 0; i < strings.length; i++) {
+		for (int j = 0; j < flags.length; j++) {
+			extents[i][j] = gc.textExtent(strings[i], flags[j]);
+		}
+	}
+	for (int i = 0; i < strings.length; i++) {
+		for (int j = 0; j < flags.length; j++) {
+			assertEquals(strings[i], extents[i][j], gc.textExtent(strings[i], flags[j]));
+		}
+	}
+	// extents returned to the caller can be modified without changing the ones measured later
+	gc.textExtent("abc", 0).x = -1;
+	assertEquals(extents[0][0], gc.textExtent("abc", 0));
+	assertEquals(gc.stringExtent("W").x, gc.getAdvanceWidth('W'));
+
+	Font font = new Font(display, gc.getFont().getFontData()[0].getName(), 40, SWT.BOLD);
+	try {
+		gc.setFont(font);
+		assertTrue(gc.textExtent("Hello, World!", 0).x > extents[1][0].x);
+		assertTrue(gc.getAdvanceWidth('W') > extents[0][0].x / 3);
+	} finally {
+		gc.setFont(null);
+		font.dispose();
+	}
+	assertEquals(extents[1][0], gc.textExtent("Hello, World!", 0));
+}
+
 @Test
 public void test_toString() {
 	String s = gc.toString();
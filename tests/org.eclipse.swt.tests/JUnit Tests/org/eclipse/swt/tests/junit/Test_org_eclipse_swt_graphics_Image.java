@@ -23,6 +23,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -37,6 +38,8 @@ import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.ImageData;
 import org.eclipse.swt.graphics.ImageDataProvider;
 import org.eclipse.swt.graphics.ImageFileNameProvider;
+import org.eclipse.swt.graphics.ImageFormatDecoder;
+import org.eclipse.swt.graphics.ImageLoader;
 import org.eclipse.swt.graphics.PaletteData;
 import org.eclipse.swt.graphics.RGB;
 import org.eclipse.swt.graphics.Rectangle;
@@ -408,6 +411,48 @@ public void test_ConstructorLorg_eclipse_swt_graphics_DeviceLjava_io_InputStream
 	}
 }
 
+@Test
+public void test_ConstructorLorg_eclipse_swt_graphics_DeviceLjava_io_InputStream_sameAsImageData() throws IOException {
+	// loading straight into the image must give the same pixels as loading through ImageData
+	for (String fileName : new String[] {"transparent.png", "folder.png", "target.jpg", "target.gif"}) {
+		ImageData expected, actual;
+		try (InputStream stream = SwtTestUtil.class.getResourceAsStream(fileName)) {
+			Image image = new Image(display, new ImageData(stream));
+			expected = image.getImageData();
+			image.dispose();
+		}
+		try (InputStream stream = SwtTestUtil.class.getResourceAsStream(fileName)) {
+			Image image = new Image(display, stream);
+			actual = image.getImageData();
+			image.dispose();
+		}
+		assertEquals(fileName, expected.width, actual.width);
+		assertEquals(fileName, expected.height, actual.height);
+		for (int y = 0; y < expected.height; y++) {
+			for (int x = 0; x < expected.width; x++) {
+				assertEquals(fileName, expected.getAlpha(x, y), actual.getAlpha(x, y));
+				assertEquals(fileName, expected.palette.getRGB(expected.getPixel(x, y)), actual.palette.getRGB(actual.getPixel(x, y)));
+			}
+		}
+	}
+}
+
+@Test
+public void test_ConstructorLorg_eclipse_swt_graphics_DeviceLjava_io_InputStream_decoderFormat() {
+	byte[] bytes = ImageTestUtil.SWTX_IMAGE;
+	ImageFormatDecoder decoder = ImageTestUtil.SWTX_DECODER;
+	ImageLoader.addImageFormatDecoder(decoder);
+	try {
+		Image image = new Image(display, new ByteArrayInputStream(bytes));
+		Rectangle bounds = image.getBounds();
+		image.dispose();
+		assertEquals(5, bounds.width);
+		assertEquals(7, bounds.height);
+	} finally {
+		ImageLoader.removeImageFormatDecoder(decoder);
+	}
+}
+
 @Test
 public void test_ConstructorLorg_eclipse_swt_graphics_DeviceLjava_lang_String() {
 	String fileName = null;
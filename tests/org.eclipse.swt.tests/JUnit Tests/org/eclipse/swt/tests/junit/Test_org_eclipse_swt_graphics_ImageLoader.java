@@ -25,14 +25,25 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
 import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageFormatDecoder;
 import org.eclipse.swt.graphics.ImageLoader;
 import org.eclipse.swt.graphics.ImageLoaderEvent;
 import org.eclipse.swt.graphics.ImageLoaderListener;
 import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
 import org.eclipse.swt.widgets.Display;
 import org.junit.Test;
 
@@ -48,6 +59,48 @@ public void test_Constructor() {
 	new ImageLoader();
 }
 
+@Test
+public void test_addImageFormatDecoderLorg_eclipse_swt_graphics_ImageFormatDecoder() throws IOException {
+	try {
+		ImageLoader.addImageFormatDecoder(null);
+		fail("No exception thrown for decoder == null");
+	} catch (IllegalArgumentException e) {
+	}
+
+	byte[] bytes = ImageTestUtil.SWTX_IMAGE;
+	ImageFormatDecoder decoder = ImageTestUtil.SWTX_DECODER;
+	try {
+		new ImageLoader().load(new ByteArrayInputStream(bytes));
+		fail("No exception thrown for an unsupported format");
+	} catch (SWTException e) {
+		assertEquals(SWT.ERROR_UNSUPPORTED_FORMAT, e.code);
+	}
+	ImageLoader.addImageFormatDecoder(decoder);
+	try {
+		ImageData[] data = new ImageLoader().load(new ByteArrayInputStream(bytes));
+		assertEquals(1, data.length);
+		assertEquals(5, data[0].width);
+		assertEquals(7, data[0].height);
+		Iterator<ImageData> frames = new ImageLoader().loadFrames(new ByteArrayInputStream(bytes));
+		assertEquals(5, frames.next().width);
+		assertFalse(frames.hasNext());
+		// the built-in formats are not affected
+		for (String format : SwtTestUtil.imageFormats) {
+			try (InputStream stream = SwtTestUtil.class.getResourceAsStream("target." + format)) {
+				assertEquals(format, 24, new ImageLoader().load(stream)[0].width);
+			}
+		}
+	} finally {
+		ImageLoader.removeImageFormatDecoder(decoder);
+	}
+	try {
+		new ImageLoader().load(new ByteArrayInputStream(bytes));
+		fail("No exception thrown for a format whose decoder was removed");
+	} catch (SWTException e) {
+		assertEquals(SWT.ERROR_UNSUPPORTED_FORMAT, e.code);
+	}
+}
+
 @Test
 public void test_addImageLoaderListenerLorg_eclipse_swt_graphics_ImageLoaderListener() {
 	ImageLoader loader = new ImageLoader();
@@ -109,6 +162,140 @@ public void test_loadLjava_io_InputStream() {
 		}
 }
 
+@Test
+public void test_loadLjava_io_InputStreamI() throws IOException {
+	ImageLoader loader = new ImageLoader();
+	try {
+		loader.load(null, 2);
+		fail("No exception thrown for load inputStream == null");
+	} catch (IllegalArgumentException e) {
+	}
+
+	ImageData full;
+	try (InputStream stream = SwtTestUtil.class.getResourceAsStream("target.jpg")) {
+		full = loader.load(stream, 1)[0];
+	}
+	for (int scaleDenominator : new int[] {3, 0, -2, 16}) {
+		try (InputStream stream = SwtTestUtil.class.getResourceAsStream("target.jpg")) {
+			loader.load(stream, scaleDenominator);
+			fail("No exception thrown for scaleDenominator == " + scaleDenominator);
+		} catch (IllegalArgumentException e) {
+		}
+	}
+	for (String format : new String[] {"jpg", "png", "gif", "bmp"}) {
+		for (int scaleDenominator : new int[] {2, 4, 8}) {
+			try (InputStream stream = SwtTestUtil.class.getResourceAsStream("target." + format)) {
+				ImageData data = loader.load(stream, scaleDenominator)[0];
+				assertEquals(format, (full.width + scaleDenominator - 1) / scaleDenominator, data.width);
+				assertEquals(format, (full.height + scaleDenominator - 1) / scaleDenominator, data.height);
+			}
+		}
+	}
+}
+
+@Test
+public void test_loadFramesLjava_io_InputStream() throws IOException {
+	ImageLoader loader = new ImageLoader();
+	try {
+		loader.loadFrames(null);
+		fail("No exception thrown for load inputStream == null");
+	} catch (IllegalArgumentException e) {
+	}
+
+	// an animation with more frames than used to be loaded
+	int frameCount = 40;
+	ImageLoader saver = new ImageLoader();
+	saver.data = new ImageData[frameCount];
+	RGB[] rgbs = {new RGB(0, 0, 0), new RGB(255, 255, 255)};
+	for (int i = 0; i < frameCount; i++) {
+		ImageData frame = new ImageData(16, 12, 1, new PaletteData(rgbs));
+		frame.setPixel(i % 16, i % 12, 1);
+		frame.delayTime = 5;
+		saver.data[i] = frame;
+	}
+	saver.logicalScreenWidth = 16;
+	saver.logicalScreenHeight = 12;
+	ByteArrayOutputStream out = new ByteArrayOutputStream();
+	saver.save(out, SWT.IMAGE_GIF);
+	byte[] bytes = out.toByteArray();
+
+	assertEquals(frameCount, loader.load(new ByteArrayInputStream(bytes)).length);
+	int[] events = new int[1];
+	loader.addImageLoaderListener(e -> events[0]++);
+	Iterator<ImageData> frames = loader.loadFrames(new ByteArrayInputStream(bytes));
+	int count = 0;
+	while (frames.hasNext()) {
+		ImageData frame = frames.next();
+		assertEquals(16, frame.width);
+		assertEquals(12, frame.height);
+		assertEquals(5, frame.delayTime);
+		count++;
+	}
+	assertEquals(frameCount, count);
+	assertEquals(frameCount, events[0]);
+	assertEquals(null, loader.data);
+	try {
+		frames.next();
+		fail("No exception thrown for next() after the last frame");
+	} catch (NoSuchElementException e) {
+	}
+
+	for (String format : SwtTestUtil.imageFormats) {
+		try (InputStream stream = SwtTestUtil.class.getResourceAsStream("target." + format)) {
+			frames = new ImageLoader().loadFrames(stream);
+			assertTrue(format, frames.hasNext());
+			assertEquals(format, 24, frames.next().width);
+			assertFalse(format, frames.hasNext());
+		}
+	}
+}
+
+@Test
+public void test_loadAllLjava_util_CollectionLjava_util_concurrent_Executor() throws IOException {
+	ExecutorService executor = Executors.newFixedThreadPool(4);
+	try {
+		try {
+			ImageLoader.loadAll(null, executor);
+			fail("No exception thrown for streams == null");
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			ImageLoader.loadAll(new ArrayList<>(), null);
+			fail("No exception thrown for executor == null");
+		} catch (IllegalArgumentException e) {
+		}
+
+		List<Supplier<InputStream>> streams = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			for (String format : SwtTestUtil.imageFormats) {
+				streams.add(() -> SwtTestUtil.class.getResourceAsStream("target." + format));
+			}
+		}
+		streams.add(() -> new ByteArrayInputStream(new byte[] {1, 2, 3, 4}));
+		List<CompletableFuture<ImageData[]>> futures = ImageLoader.loadAll(streams, executor);
+		assertEquals(streams.size(), futures.size());
+		for (int i = 0; i < streams.size() - 1; i++) {
+			String format = SwtTestUtil.imageFormats[i % SwtTestUtil.imageFormats.length];
+			ImageData expected;
+			try (InputStream stream = SwtTestUtil.class.getResourceAsStream("target." + format)) {
+				expected = new ImageLoader().load(stream)[0];
+			}
+			ImageData data = futures.get(i).join()[0];
+			assertEquals(format, expected.width, data.width);
+			assertEquals(format, expected.height, data.height);
+			assertArrayEquals(format, expected.data, data.data);
+		}
+		try {
+			futures.get(streams.size() - 1).join();
+			fail("No exception thrown for an unsupported format");
+		} catch (CompletionException e) {
+			assertEquals(SWT.ERROR_UNSUPPORTED_FORMAT, ((SWTException) e.getCause()).code);
+		}
+	} finally {
+		executor.shutdown();
+	}
+}
+
 @Test
 public void test_loadLjava_lang_String() {
 	ImageLoader loader = new ImageLoader();
@@ -167,6 +354,45 @@ public void test_saveLjava_io_OutputStreamI() {
 	}
 }
 
+@Test
+public void test_saveLjava_io_OutputStreamI_pngCompression() {
+	// large enough to be compressed in several parts, smooth so that they refer to each other
+	int width = 600, height = 500;
+	ImageData direct = new ImageData(width, height, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+	direct.alphaData = new byte[width * height];
+	RGB[] rgbs = new RGB[256];
+	for (int i = 0; i < rgbs.length; i++) {
+		rgbs[i] = new RGB(i, 255 - i, (i * 7) & 0xFF);
+	}
+	ImageData indexed = new ImageData(width, height, 8, new PaletteData(rgbs));
+	for (int y = 0; y < height; y++) {
+		for (int x = 0; x < width; x++) {
+			direct.setPixel(x, y, ((x / 3) & 0xFF) << 16 | ((y / 2) & 0xFF) << 8 | ((x + y) & 0xFF));
+			direct.setAlpha(x, y, (x * y) & 0xFF);
+			indexed.setPixel(x, y, ((x / 4) ^ (y / 4)) & 0xFF);
+		}
+	}
+	for (ImageData data : new ImageData[] {direct, indexed}) {
+		for (int compression = 0; compression <= 3; compression++) {
+			ImageLoader loader = new ImageLoader();
+			loader.data = new ImageData[] {data};
+			loader.compression = compression;
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			loader.save(out, SWT.IMAGE_PNG);
+			ImageData loaded = new ImageLoader().load(new ByteArrayInputStream(out.toByteArray()))[0];
+			assertEquals(width, loaded.width);
+			assertEquals(height, loaded.height);
+			for (int y = 0; y < height; y++) {
+				for (int x = 0; x < width; x++) {
+					String message = "compression " + compression + ", depth " + data.depth + " at " + x + ", " + y;
+					assertEquals(message, data.palette.getRGB(data.getPixel(x, y)), loaded.palette.getRGB(loaded.getPixel(x, y)));
+					assertEquals(message, data.getAlpha(x, y), loaded.getAlpha(x, y));
+				}
+			}
+		}
+	}
+}
+
 @Test
 public void test_saveLjava_lang_StringI() {
 	ImageLoader loader = new ImageLoader();
@@ -24,6 +24,8 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -226,6 +228,138 @@ public void test_asyncExecLjava_lang_Runnable_dispose() {
 	}
 }
 
+@Test
+public void test_asyncExecLjava_lang_ObjectLjava_lang_Runnable() {
+	final Display display = new Display();
+	try {
+		try {
+			display.asyncExec("key", null);
+			fail("No exception thrown for asyncExec with key and null runnable");
+		} catch (IllegalArgumentException e) {
+			assertSWTProblem("Incorrect exception thrown for asyncExec with key and null runnable", SWT.ERROR_NULL_ARGUMENT, e);
+		}
+
+		List<String> ran = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			final int index = i;
+			display.asyncExec("a", () -> ran.add("a" + index));
+			display.asyncExec("b", () -> ran.add("b" + index));
+		}
+		display.asyncExec(null, () -> ran.add("unkeyed"));
+		while (display.readAndDispatch()) {}
+		assertEquals(List.of("a99", "b99", "unkeyed"), ran);
+
+		// once run, a key can be submitted again
+		display.asyncExec("a", () -> ran.add("again"));
+		while (display.readAndDispatch()) {}
+		assertEquals(List.of("a99", "b99", "unkeyed", "again"), ran);
+	} finally {
+		display.dispose();
+	}
+}
+
+@Test
+public void test_asyncExecAllLjava_util_Collection() throws InterruptedException {
+	final Display display = new Display();
+	try {
+		try {
+			display.asyncExecAll(null);
+			fail("No exception thrown for asyncExecAll with null argument");
+		} catch (IllegalArgumentException e) {
+			assertSWTProblem("Incorrect exception thrown for asyncExecAll with null argument", SWT.ERROR_NULL_ARGUMENT, e);
+		}
+
+		final int count = 1000;
+		List<Integer> ran = new ArrayList<>();
+		List<Runnable> runnables = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			final int index = i;
+			runnables.add(() -> ran.add(index));
+			if (i % 100 == 0) runnables.add(null);
+		}
+		Thread thread = new Thread(() -> display.asyncExecAll(runnables));
+		thread.start();
+		thread.join();
+		long end = System.currentTimeMillis() + 10000;
+		while (ran.size() < count && System.currentTimeMillis() < end) {
+			if (!display.readAndDispatch()) display.sleep();
+		}
+		assertEquals(count, ran.size());
+		for (int i = 0; i < count; i++) {
+			assertEquals(i, ran.get(i).intValue());
+		}
+	} finally {
+		display.dispose();
+	}
+}
+
+@Test
+public void test_asyncExecAll_overriddenAsyncExec() {
+	final Display display = new Display();
+	try {
+		class CountingSynchronizer extends Synchronizer {
+			int invoked;
+			CountingSynchronizer(Display d) {
+				super(d);
+			}
+			@Override
+			protected void asyncExec(Runnable runnable) {
+				invoked++;
+				super.asyncExec(runnable);
+			}
+		}
+		// a subclass of the overriding class must still go through asyncExec
+		CountingSynchronizer synchronizer = new CountingSynchronizer(display) {};
+		display.setSynchronizer(synchronizer);
+		int[] ran = new int[1];
+		display.asyncExecAll(List.of(() -> ran[0]++, () -> ran[0]++, () -> ran[0]++));
+		assertEquals(3, synchronizer.invoked);
+		while (display.readAndDispatch()) {}
+		assertEquals(3, ran[0]);
+	} finally {
+		display.dispose();
+	}
+}
+
+@Test
+public void test_setMessageBudget() {
+	final Display display = new Display();
+	try {
+		Synchronizer synchronizer = display.getSynchronizer();
+		try {
+			synchronizer.setMessageBudget(0, 0);
+			fail("No exception thrown for setMessageBudget with zero count");
+		} catch (IllegalArgumentException e) {
+			assertSWTProblem("Incorrect exception thrown for setMessageBudget with zero count", SWT.ERROR_INVALID_ARGUMENT, e);
+		}
+		try {
+			synchronizer.setMessageBudget(1, -1);
+			fail("No exception thrown for setMessageBudget with negative time");
+		} catch (IllegalArgumentException e) {
+			assertSWTProblem("Incorrect exception thrown for setMessageBudget with negative time", SWT.ERROR_INVALID_ARGUMENT, e);
+		}
+
+		synchronizer.setMessageBudget(64, 10);
+		final int count = 500;
+		List<Integer> ran = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			final int index = i;
+			display.asyncExec(() -> ran.add(index));
+		}
+		int calls = 0;
+		while (display.readAndDispatch()) {
+			calls++;
+		}
+		assertEquals(count, ran.size());
+		assertTrue("messages were not run in batches", calls < count);
+		for (int i = 0; i < count; i++) {
+			assertEquals(i, ran.get(i).intValue());
+		}
+	} finally {
+		display.dispose();
+	}
+}
+
 @Test
 public void test_beep() {
 	Display display = new Display();
@@ -1565,6 +1699,79 @@ public void test_timerExecILjava_lang_Runnable() {
 	}
 }
 
+@Test
+public void test_timerExec_manyTimers() {
+	final Display display = new Display();
+	try {
+		final int count = 100;
+		final List<Integer> ran = new ArrayList<>();
+		Runnable[] runnables = new Runnable[count];
+		for (int i = 0; i < count; i++) {
+			final int index = i;
+			runnables[i] = () -> ran.add(index);
+			display.timerExec(1000, runnables[i]);
+		}
+		// reschedule every timer so that they expire in reverse order
+		for (int i = 0; i < count; i++) {
+			display.timerExec((count - i) * 20, runnables[i]);
+		}
+		// cancel every third timer
+		for (int i = 0; i < count; i += 3) {
+			display.timerExec(-1, runnables[i]);
+		}
+		long end = System.currentTimeMillis() + 10000;
+		while (ran.size() < count - (count + 2) / 3 && System.currentTimeMillis() < end) {
+			if (!display.readAndDispatch()) display.sleep();
+		}
+		// give cancelled and rescheduled timers a chance to run again
+		end = System.currentTimeMillis() + 1000;
+		while (System.currentTimeMillis() < end) {
+			if (!display.readAndDispatch()) display.sleep();
+		}
+		assertEquals(count - (count + 2) / 3, ran.size());
+		int previous = count;
+		for (int index : ran) {
+			assertTrue("cancelled timer did execute", index % 3 != 0);
+			if (SwtTestUtil.isGTK) {
+				assertTrue("timers did not execute in deadline order", index < previous);
+			}
+			previous = index;
+		}
+	} finally {
+		display.dispose();
+	}
+}
+
+@Test
+public void test_timerExec_nestedEventLoop() {
+	final Display display = new Display();
+	try {
+		final AtomicBoolean dueRan = new AtomicBoolean();
+		final AtomicBoolean laterRan = new AtomicBoolean();
+		final AtomicBoolean nestedLoopEnded = new AtomicBoolean();
+		// a timer that runs a nested event loop, like a modal dialog
+		display.timerExec(0, () -> {
+			long end = System.currentTimeMillis() + 10000;
+			while (!(dueRan.get() && laterRan.get()) && System.currentTimeMillis() < end) {
+				if (!display.readAndDispatch()) display.sleep();
+			}
+			nestedLoopEnded.set(true);
+		});
+		// due in the same dispatch as the nested loop timer
+		display.timerExec(0, () -> dueRan.set(!nestedLoopEnded.get()));
+		// due while the nested loop is running
+		display.timerExec(100, () -> laterRan.set(!nestedLoopEnded.get()));
+		long end = System.currentTimeMillis() + 15000;
+		while (!nestedLoopEnded.get() && System.currentTimeMillis() < end) {
+			if (!display.readAndDispatch()) display.sleep();
+		}
+		assertTrue("due timer did not run in the nested event loop", dueRan.get());
+		assertTrue("later timer did not run in the nested event loop", laterRan.get());
+	} finally {
+		display.dispose();
+	}
+}
+
 @Test
 public void test_update() {
 	Display display = new Display();
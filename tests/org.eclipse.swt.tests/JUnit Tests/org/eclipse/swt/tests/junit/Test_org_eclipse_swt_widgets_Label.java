@@ -17,6 +17,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.widgets.Label;
 import org.junit.Before;
@@ -69,6 +70,29 @@ public void test_getAlignment(){
 	}
 }
 
+@Test
+public void test_setBackgroundSameColorOnOtherLabels() {
+	Color red = new Color(255, 0, 0);
+	Color green = new Color(0, 255, 0);
+	Color blue = new Color(0, 0, 255);
+	Label other = new Label(shell, 0);
+	Label third = new Label(shell, 0);
+	label.setBackground(red);
+	other.setBackground(red);
+	third.setBackground(red);
+	other.setBackground(green);
+	assertEquals(red, label.getBackground());
+	assertEquals(green, other.getBackground());
+	assertEquals(red, third.getBackground());
+	label.dispose();
+	third.setForeground(blue);
+	assertEquals(red, third.getBackground());
+	assertEquals(blue, third.getForeground());
+	assertEquals(green, other.getBackground());
+	other.setBackground(red);
+	assertEquals(red, other.getBackground());
+}
+
 @Test
 public void test_getImage(){
 	Image[] cases = {null, new Image(null, 100, 100)};
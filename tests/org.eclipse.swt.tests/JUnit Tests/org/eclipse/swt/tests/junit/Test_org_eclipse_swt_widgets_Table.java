@@ -27,6 +27,8 @@ import java.util.List;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
 import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.graphics.FontData;
 import org.eclipse.swt.layout.FillLayout;
 import org.eclipse.swt.widgets.Table;
 import org.eclipse.swt.widgets.TableColumn;
@@ -1897,6 +1899,55 @@ public void test_Virtual() {
 			dataCounter[0] > visibleCount / 2 && dataCounter[0] <= visibleCount * 3);
 }
 
+@Test
+public void test_MeasureItem_gcStateOfEachCell() {
+	Font font = new Font(shell.getDisplay(), new FontData("Sans", 20, SWT.BOLD));
+	try {
+		for (int i = 0; i < 10; i++) {
+			TableItem item = new TableItem(table, 0);
+			item.setText("Item " + i);
+			if (i % 2 == 1) item.setFont(font);
+		}
+		List<String> errors = new ArrayList<>();
+		int[] measured = { 0 };
+		Color[] colors = new Color[2];
+		table.addListener(SWT.MeasureItem, event -> {
+			TableItem item = (TableItem) event.item;
+			if (colors[0] == null) {
+				colors[0] = event.gc.getForeground();
+				colors[1] = event.gc.getBackground();
+			}
+			if (!event.gc.getFont().equals(item.getFont())) errors.add("font of " + item.getText());
+			if (event.gc.getAlpha() != 255) errors.add("alpha of " + item.getText());
+			if (!event.gc.getForeground().equals(colors[0])) errors.add("foreground of " + item.getText());
+			if (!event.gc.getBackground().equals(colors[1])) errors.add("background of " + item.getText());
+			if (event.gc.getLineWidth() != 0) errors.add("line width of " + item.getText());
+			if (event.gc.getLineStyle() != SWT.LINE_SOLID) errors.add("line style of " + item.getText());
+			if (event.gc.getXORMode()) errors.add("XOR mode of " + item.getText());
+			if (event.gc.getFillRule() != SWT.FILL_EVEN_ODD) errors.add("fill rule of " + item.getText());
+			if (event.gc.isClipped()) errors.add("clipping of " + item.getText());
+			event.gc.setAlpha(100);
+			event.gc.setFont(shell.getDisplay().getSystemFont());
+			event.gc.setForeground(shell.getDisplay().getSystemColor(SWT.COLOR_RED));
+			event.gc.setBackground(shell.getDisplay().getSystemColor(SWT.COLOR_GREEN));
+			event.gc.setLineWidth(5);
+			event.gc.setLineStyle(SWT.LINE_DOT);
+			event.gc.setXORMode(true);
+			event.gc.setFillRule(SWT.FILL_WINDING);
+			event.gc.setClipping(0, 0, 1, 1);
+			measured[0]++;
+		});
+		shell.setLayout(new FillLayout());
+		shell.setSize(200, 400);
+		shell.open();
+		SwtTestUtil.processEvents();
+		assertTrue("no cell measured", measured[0] > 0);
+		assertEquals(new ArrayList<>(), errors);
+	} finally {
+		font.dispose();
+	}
+}
+
 @Test
 public void test_setTopIndex() {
 	for (int i = 0; i < 10; i++) {
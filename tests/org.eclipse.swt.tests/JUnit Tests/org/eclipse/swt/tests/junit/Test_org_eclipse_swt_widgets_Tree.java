@@ -1023,6 +1023,43 @@ public void test_emptinessChanged() {
 	assertEquals(2, count[EMPTY]);
 }
 
+@Test
+public void test_setItemCount_virtualItemsOnDemand() {
+	tree.dispose();
+	tree = new Tree(shell, SWT.VIRTUAL);
+	setWidget(tree);
+	int[] dataCounter = { 0 };
+	tree.addListener(SWT.SetData, event -> {
+		TreeItem item = (TreeItem) event.item;
+		TreeItem parentItem = item.getParentItem();
+		if (parentItem == null) {
+			item.setText(Integer.toString(tree.indexOf(item)));
+		} else {
+			item.setText(parentItem.getText() + "." + parentItem.indexOf(item));
+		}
+		dataCounter[0]++;
+	});
+
+	tree.setItemCount(3);
+	TreeItem item = tree.getItem(2);
+	item.setItemCount(100_000);
+	assertEquals(100_000, item.getItemCount());
+	// only the requested items are created
+	TreeItem child = item.getItem(99_999);
+	assertEquals(item, child.getParentItem());
+	assertEquals(99_999, item.indexOf(child));
+	assertEquals("2.99999", child.getText());
+	assertEquals(2, dataCounter[0]);
+
+	item.setItemCount(50_000);
+	assertEquals(50_000, item.getItemCount());
+	assertTrue(child.isDisposed());
+	assertEquals("2.49999", item.getItem(49_999).getText());
+	item.setItemCount(0);
+	assertEquals(0, item.getItemCount());
+	assertEquals("2", item.getText());
+}
+
 private void testTreeRegularAndVirtual(Runnable runnable) {
 	runnable.run();
 
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit.performance;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
+
+/**
+ * Measures how long {@link ImageLoader#loadAll} needs to decode the images of
+ * the test data, repeated to about as many images as the icons of a large
+ * application, on 1, 4 and 16 threads.
+ */
+public class BenchmarkImageLoaderLoadAll {
+	private static final int IMAGE_COUNT = 4_000;
+	private static final int[] THREAD_COUNTS = { 1, 4, 16 };
+	private static final int RUNS = 10;
+
+	/**
+	 * manual performance test
+	 *
+	 * @param args the directory of the test data, <code>data</code> by default
+	 */
+	public static void main(String[] args) throws IOException {
+		Path directory = Paths.get(args.length > 0 ? args[0] : "data");
+		List<byte[]> images = new ArrayList<>();
+		try (Stream<Path> files = Files.list(directory)) {
+			for (Path file : (Iterable<Path>) files.sorted()::iterator) {
+				String name = file.getFileName().toString();
+				if (name.startsWith("corrupt") || !name.matches(".*\\.(png|gif|jpg|bmp)")) continue;
+				images.add(Files.readAllBytes(file));
+			}
+		}
+		List<Supplier<InputStream>> streams = new ArrayList<>(IMAGE_COUNT);
+		for (int i = 0; i < IMAGE_COUNT; i++) {
+			byte[] bytes = images.get(i % images.size());
+			streams.add(() -> new ByteArrayInputStream(bytes));
+		}
+
+		for (int threadCount : THREAD_COUNTS) {
+			ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+			try {
+				long best = Long.MAX_VALUE;
+				for (int run = 0; run < RUNS; run++) {
+					long start = System.nanoTime();
+					int pixels = 0;
+					for (CompletableFuture<ImageData[]> future : ImageLoader.loadAll(streams, executor)) {
+						ImageData data = future.join()[0];
+						pixels += data.width * data.height;
+					}
+					long duration = System.nanoTime() - start;
+					best = Math.min(best, duration);
+					System.out.println(String.format("%2d threads  %,6d images  %,10d pixels  duration: %,15d ns",
+							threadCount, IMAGE_COUNT, pixels, duration));
+				}
+				System.out.println(String.format("%2d threads  best: %,15d ns", threadCount, best));
+			} finally {
+				executor.shutdown();
+			}
+		}
+	}
+}
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit.performance;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableColumn;
+import org.eclipse.swt.widgets.TableItem;
+import org.eclipse.swt.widgets.Tree;
+import org.eclipse.swt.widgets.TreeColumn;
+import org.eclipse.swt.widgets.TreeItem;
+
+/**
+ * Measures the time per scroll frame of an owner-drawn Table and Tree with
+ * 30 columns whose cells are measured, erased and painted by listeners.
+ */
+public class BenchmarkOwnerDrawScroll {
+	private static final int COLUMN_COUNT = 30;
+	private static final int ITEM_COUNT = 5_000;
+	private static final int FRAMES = 200;
+
+	/**
+	 * manual performance test
+	 */
+	public static void main(String[] args) {
+		Display display = new Display();
+		Shell shell = new Shell(display);
+		shell.setLayout(new FillLayout());
+		shell.setSize(1600, 1000);
+		Table table = new Table(shell, SWT.FULL_SELECTION);
+		table.setHeaderVisible(true);
+		for (int i = 0; i < COLUMN_COUNT; i++) {
+			new TableColumn(table, SWT.NONE).setWidth(50);
+		}
+		for (int i = 0; i < ITEM_COUNT; i++) {
+			new TableItem(table, SWT.NONE).setText(texts(i));
+		}
+		hookOwnerDraw(table);
+		shell.open();
+		measure(display, "Table", () -> table.setTopIndex((table.getTopIndex() + 1) % (ITEM_COUNT / 2)), table);
+		table.dispose();
+
+		Tree tree = new Tree(shell, SWT.FULL_SELECTION);
+		tree.setHeaderVisible(true);
+		for (int i = 0; i < COLUMN_COUNT; i++) {
+			new TreeColumn(tree, SWT.NONE).setWidth(50);
+		}
+		TreeItem[] items = new TreeItem[ITEM_COUNT];
+		for (int i = 0; i < ITEM_COUNT; i++) {
+			items[i] = new TreeItem(tree, SWT.NONE);
+			items[i].setText(texts(i));
+		}
+		hookOwnerDraw(tree);
+		shell.layout();
+		int[] top = { 0 };
+		measure(display, "Tree", () -> tree.setTopItem(items[top[0]++ % (ITEM_COUNT / 2)]), tree);
+		display.dispose();
+	}
+
+	private static String[] texts(int row) {
+		String[] texts = new String[COLUMN_COUNT];
+		for (int i = 0; i < COLUMN_COUNT; i++) {
+			texts[i] = row + ":" + i;
+		}
+		return texts;
+	}
+
+	private static void hookOwnerDraw(Composite control) {
+		Listener listener = event -> {
+			String text = event.item instanceof TableItem ? ((TableItem) event.item).getText(event.index)
+					: ((TreeItem) event.item).getText(event.index);
+			switch (event.type) {
+			case SWT.MeasureItem:
+				Point extent = event.gc.textExtent(text);
+				event.width = extent.x + 4;
+				event.height = Math.max(event.height, extent.y + 4);
+				break;
+			case SWT.EraseItem:
+				event.detail &= ~SWT.FOREGROUND;
+				break;
+			case SWT.PaintItem:
+				event.gc.drawText(text, event.x + 2, event.y + 2, true);
+				break;
+			}
+		};
+		control.addListener(SWT.MeasureItem, listener);
+		control.addListener(SWT.EraseItem, listener);
+		control.addListener(SWT.PaintItem, listener);
+	}
+
+	private static void measure(Display display, String name, Runnable scroll, Composite control) {
+		long best = Long.MAX_VALUE, total = 0;
+		for (int frame = 0; frame < FRAMES; frame++) {
+			long start = System.nanoTime();
+			scroll.run();
+			control.update();
+			while (display.readAndDispatch()) {
+				// process the events of the frame
+			}
+			long duration = System.nanoTime() - start;
+			best = Math.min(best, duration);
+			total += duration;
+		}
+		System.out.println(String.format("%-5s  average: %,12d ns/frame  best: %,12d ns/frame", name, total / FRAMES, best));
+	}
+}
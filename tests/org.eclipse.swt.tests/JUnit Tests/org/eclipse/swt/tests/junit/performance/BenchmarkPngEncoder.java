@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit.performance;
+
+import java.io.ByteArrayOutputStream;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Measures the time needed to save a 4K screenshot as PNG, and the size of
+ * the file, for each value of {@link ImageLoader#compression}.
+ */
+public class BenchmarkPngEncoder {
+	private static final int WIDTH = 3840;
+	private static final int HEIGHT = 2160;
+	private static final int RUNS = 5;
+
+	/**
+	 * manual performance test
+	 *
+	 * @param args a PNG file to save instead of a screenshot
+	 */
+	public static void main(String[] args) {
+		ImageData data;
+		if (args.length > 0) {
+			data = new ImageLoader().load(args[0])[0];
+		} else {
+			data = takeScreenshot();
+		}
+		System.out.println(String.format("%d x %d pixels, depth %d", data.width, data.height, data.depth));
+		for (int compression = 0; compression <= 3; compression++) {
+			ImageLoader loader = new ImageLoader();
+			loader.data = new ImageData[] { data };
+			loader.compression = compression;
+			long best = Long.MAX_VALUE;
+			int size = 0;
+			for (int run = 0; run < RUNS; run++) {
+				ByteArrayOutputStream out = new ByteArrayOutputStream();
+				long start = System.nanoTime();
+				loader.save(out, SWT.IMAGE_PNG);
+				best = Math.min(best, System.nanoTime() - start);
+				size = out.size();
+			}
+			System.out.println(String.format("compression %d  best: %,15d ns  size: %,12d bytes", compression, best, size));
+		}
+	}
+
+	/**
+	 * Copies the screen into a 4K image, repeating it if the screen is smaller.
+	 */
+	private static ImageData takeScreenshot() {
+		Display display = new Display();
+		try {
+			Rectangle bounds = display.getBounds();
+			Image screen = new Image(display, bounds.width, bounds.height);
+			GC gc = new GC(display);
+			gc.copyArea(screen, bounds.x, bounds.y);
+			gc.dispose();
+			Image image = new Image(display, WIDTH, HEIGHT);
+			gc = new GC(image);
+			for (int y = 0; y < HEIGHT; y += bounds.height) {
+				for (int x = 0; x < WIDTH; x += bounds.width) {
+					gc.drawImage(screen, x, y);
+				}
+			}
+			gc.dispose();
+			ImageData data = image.getImageData();
+			image.dispose();
+			screen.dispose();
+			return data;
+		} finally {
+			display.dispose();
+		}
+	}
+}
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit.performance;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Shell;
+
+/**
+ * Measures how long it takes to create 10,000 labels with a background and
+ * a foreground out of a small palette, and to recolor all of them, like a
+ * dashboard whose cells are colored by their state.
+ */
+public class BenchmarkRecolorWidgets {
+	private static final int WIDGET_COUNT = 10_000;
+	private static final int COLOR_COUNT = 16;
+	private static final int RUNS = 5;
+
+	/**
+	 * manual performance test
+	 */
+	public static void main(String[] args) {
+		Display display = new Display();
+		Color[] palette = new Color[COLOR_COUNT];
+		for (int i = 0; i < COLOR_COUNT; i++) {
+			palette[i] = new Color(i * 255 / COLOR_COUNT, 128, 255 - i * 255 / COLOR_COUNT);
+		}
+		long bestCreate = Long.MAX_VALUE, bestRecolor = Long.MAX_VALUE;
+		for (int run = 0; run < RUNS; run++) {
+			Shell shell = new Shell(display);
+			shell.setLayout(new GridLayout(100, true));
+			Label[] labels = new Label[WIDGET_COUNT];
+
+			long start = System.nanoTime();
+			for (int i = 0; i < WIDGET_COUNT; i++) {
+				labels[i] = new Label(shell, SWT.NONE);
+				labels[i].setText("0");
+				labels[i].setBackground(palette[i % COLOR_COUNT]);
+				labels[i].setForeground(palette[(i + 1) % COLOR_COUNT]);
+			}
+			long create = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			for (int i = 0; i < WIDGET_COUNT; i++) {
+				labels[i].setBackground(palette[(i + run + 1) % COLOR_COUNT]);
+				labels[i].setForeground(palette[(i + run + 2) % COLOR_COUNT]);
+			}
+			long recolor = System.nanoTime() - start;
+
+			shell.dispose();
+			bestCreate = Math.min(bestCreate, create);
+			bestRecolor = Math.min(bestRecolor, recolor);
+			System.out.println(String.format("create: %,15d ns  recolor: %,15d ns", create, recolor));
+		}
+		System.out.println(String.format("best create: %,15d ns  best recolor: %,15d ns", bestCreate, bestRecolor));
+		display.dispose();
+	}
+}
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit.performance;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.PieceTableContent;
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.custom.StyledTextContent;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+
+/**
+ * Compares the default content of {@link StyledText} with
+ * {@link PieceTableContent} on log-like documents of growing size.
+ */
+public class BenchmarkStyledTextContent {
+	private static final int[] LINE_COUNTS = { 100_000, 1_000_000, 5_000_000 };
+	private static final int OPERATIONS = 100_000;
+	private static final int EDITS = 1_000;
+
+	/**
+	 * manual performance test
+	 *
+	 * @param args ignored
+	 */
+	public static void main(String[] args) {
+		final Display display = new Display();
+		try {
+			for (int lineCount : LINE_COUNTS) {
+				String text = createLog(lineCount);
+				Shell shell = new Shell(display);
+				run("DefaultContent", () -> new StyledText(shell, SWT.NONE).getContent(), text);
+				shell.dispose();
+				run("PieceTableContent", PieceTableContent::new, text);
+			}
+		} finally {
+			display.dispose();
+		}
+	}
+
+	private static void run(String name, Supplier<StyledTextContent> factory, String text) {
+		StyledTextContent content = factory.get();
+		Random random = new Random(0);
+		long heap = usedMemory();
+
+		long start = System.nanoTime();
+		content.setText(text);
+		long setText = System.nanoTime() - start;
+		heap = usedMemory() - heap;
+
+		int lineCount = content.getLineCount();
+		start = System.nanoTime();
+		for (int i = 0; i < OPERATIONS; i++) {
+			content.getLine(random.nextInt(lineCount));
+		}
+		long getLine = System.nanoTime() - start;
+
+		int charCount = content.getCharCount();
+		start = System.nanoTime();
+		for (int i = 0; i < OPERATIONS; i++) {
+			content.getLineAtOffset(random.nextInt(charCount + 1));
+		}
+		long getLineAtOffset = System.nanoTime() - start;
+
+		// edits scattered over the whole document
+		start = System.nanoTime();
+		for (int i = 0; i < EDITS; i++) {
+			int offset = content.getOffsetAtLine(random.nextInt(content.getLineCount()));
+			content.replaceTextRange(offset, 0, "inserted\n");
+		}
+		long replace = System.nanoTime() - start;
+
+		// tailing a log
+		start = System.nanoTime();
+		for (int i = 0; i < EDITS; i++) {
+			content.replaceTextRange(content.getCharCount(), 0, "appended line " + i + "\n");
+		}
+		long append = System.nanoTime() - start;
+
+		System.out.println(String.format("%-18s %,10d lines  heap: %,15d bytes  setText: %,15d ns  getLine: %,12d ns  getLineAtOffset: %,12d ns  replace: %,15d ns  append: %,15d ns",
+				name, lineCount, heap, setText, getLine, getLineAtOffset, replace, append));
+	}
+
+	private static String createLog(int lineCount) {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < lineCount; i++) {
+			builder.append("2026-01-01 00:00:00 INFO  [worker-").append(i % 16).append("] processed request ").append(i).append('\n');
+		}
+		return builder.toString();
+	}
+
+	private static long usedMemory() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit.performance;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.ScrollBar;
+import org.eclipse.swt.widgets.Shell;
+
+/**
+ * Measures how long a word wrapping {@link StyledText} needs to measure all
+ * lines of a large document in the background, that is, until its vertical
+ * scroll bar is accurate.
+ */
+public class BenchmarkStyledTextLineMetrics {
+	private static final int[] LINE_COUNTS = { 10_000, 100_000, 1_000_000 };
+
+	/**
+	 * manual performance test
+	 *
+	 * @param args ignored
+	 */
+	public static void main(String[] args) {
+		final Display display = new Display();
+		try {
+			for (int lineCount : LINE_COUNTS) {
+				run(display, lineCount);
+			}
+		} finally {
+			display.dispose();
+		}
+	}
+
+	private static void run(Display display, int lineCount) {
+		Shell shell = new Shell(display);
+		shell.setLayout(new FillLayout());
+		shell.setSize(800, 600);
+		StyledText text = new StyledText(shell, SWT.V_SCROLL | SWT.WRAP);
+		shell.open();
+		while (display.readAndDispatch()) {
+		}
+		ScrollBar bar = text.getVerticalBar();
+
+		long start = System.nanoTime();
+		text.setText(createText(lineCount));
+		long setText = System.nanoTime() - start;
+
+		// the idle measuring is done once no more runnables are queued
+		int updates = 0;
+		int maximum = bar.getMaximum();
+		long firstUpdate = 0;
+		while (display.readAndDispatch()) {
+			if (bar.getMaximum() != maximum) {
+				maximum = bar.getMaximum();
+				if (updates++ == 0) firstUpdate = System.nanoTime() - start;
+			}
+		}
+		long accurate = System.nanoTime() - start;
+
+		System.out.println(String.format("%,10d lines  setText: %,15d ns  first scroll bar update: %,15d ns  accurate scroll bar: %,15d ns  scroll bar updates: %,5d",
+				lineCount, setText, firstUpdate, accurate, updates));
+		shell.dispose();
+	}
+
+	private static String createText(int lineCount) {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < lineCount; i++) {
+			builder.append("line ").append(i).append(' ');
+			for (int j = 0; j < i % 40; j++) {
+				builder.append("word ");
+			}
+			builder.append('\n');
+		}
+		return builder.toString();
+	}
+}
@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit.performance;
+
+import java.util.function.IntUnaryOperator;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.StyleRange;
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+
+/**
+ * Measures the time per typed character in a StyledText with 500,000 style
+ * ranges, like a large source file with semantic highlighting, when typing
+ * at the start and in the middle of the text.
+ */
+public class BenchmarkStyledTextTyping {
+	private static final int STYLE_COUNT = 500_000;
+	private static final int KEYSTROKES = 2_000;
+
+	/**
+	 * manual performance test
+	 */
+	public static void main(String[] args) {
+		Display display = new Display();
+		Shell shell = new Shell(display);
+		shell.setLayout(new FillLayout());
+		StyledText text = new StyledText(shell, SWT.MULTI | SWT.V_SCROLL);
+		Color[] colors = { display.getSystemColor(SWT.COLOR_BLUE), display.getSystemColor(SWT.COLOR_DARK_GREEN),
+				display.getSystemColor(SWT.COLOR_DARK_MAGENTA) };
+		StringBuilder builder = new StringBuilder();
+		StyleRange[] styles = new StyleRange[STYLE_COUNT];
+		for (int i = 0; i < STYLE_COUNT; i++) {
+			styles[i] = new StyleRange(builder.length(), 4, colors[i % colors.length], null);
+			builder.append((i % 10 == 9) ? "word\n" : "word ");
+		}
+		text.setText(builder.toString());
+		text.setStyleRanges(styles);
+		shell.setSize(800, 600);
+		shell.open();
+
+		measure(display, "start", text, i -> 0);
+		int middle = text.getCharCount() / 2;
+		measure(display, "middle", text, i -> middle + i);
+		display.dispose();
+	}
+
+	private static void measure(Display display, String name, StyledText text, IntUnaryOperator offset) {
+		long start = System.nanoTime();
+		for (int i = 0; i < KEYSTROKES; i++) {
+			text.replaceTextRange(offset.applyAsInt(i), 0, "x");
+		}
+		while (display.readAndDispatch()) {
+			// process the paints
+		}
+		long duration = System.nanoTime() - start;
+		System.out.println(String.format("%-6s  %,12d ns/keystroke", name, duration / KEYSTROKES));
+	}
+}
@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.swt.tests.junit.performance;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -29,9 +31,10 @@ public class BenchmarkSwtMultithreading {
 	 * manual performance test
 	 * see https://github.com/eclipse-platform/eclipse.platform.swt/issues/74
 	 *
-	 * @param args ignored
+	 * @param args <code>batched</code> to schedule with {@link Display#asyncExecAll}
 	 */
 	public static void main(String[] args) throws InterruptedException {
+		final boolean batched = args.length > 0 && "batched".equals(args[0]);
 		final Display display = new Display();
 		try {
 			for (int runs = 0; runs < 100; runs++) {
@@ -39,7 +42,8 @@ public class BenchmarkSwtMultithreading {
 				AtomicLong schedulingNanos = new AtomicLong();
 				Thread thread = new Thread(() -> {
 					// scheduling:
-					schedulingNanos.set(new BenchmarkSwtMultithreading().scheduleAsyncEvents());
+					BenchmarkSwtMultithreading benchmark = new BenchmarkSwtMultithreading();
+					schedulingNanos.set(batched ? benchmark.scheduleAsyncEventsBatched() : benchmark.scheduleAsyncEvents());
 				}, "test");
 				thread.start();
 				thread.join();
@@ -77,4 +81,23 @@ public class BenchmarkSwtMultithreading {
 		long durationNanos = nanoTime2 - nanoTime;
 		return durationNanos;
 	}
+
+	/**
+	 * @return nanoTime
+	 */
+	public long scheduleAsyncEventsBatched() {
+		long nanoTime = System.nanoTime();
+		Display display = Display.getDefault();
+		List<Runnable> batch = new ArrayList<>(BATCH_SIZE);
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			batch.add(() -> {
+				Display.getCurrent();
+				countdown.decrementAndGet();
+			});
+		}
+		display.asyncExecAll(batch);
+		long nanoTime2 = System.nanoTime();
+		long durationNanos = nanoTime2 - nanoTime;
+		return durationNanos;
+	}
 }
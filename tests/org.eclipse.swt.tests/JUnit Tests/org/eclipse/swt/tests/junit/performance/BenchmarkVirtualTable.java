@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit.performance;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableColumn;
+import org.eclipse.swt.widgets.TableItem;
+
+/**
+ * Measures the cost of populating and clearing a {@link SWT#VIRTUAL} table
+ * with a growing number of rows.
+ */
+public class BenchmarkVirtualTable {
+	private static final int[] ROW_COUNTS = { 10_000, 100_000, 1_000_000, 10_000_000 };
+	private static final int COLUMN_COUNT = 3;
+
+	/**
+	 * manual performance test
+	 *
+	 * @param args ignored
+	 */
+	public static void main(String[] args) {
+		final Display display = new Display();
+		try {
+			for (int rowCount : ROW_COUNTS) {
+				new BenchmarkVirtualTable().run(display, rowCount);
+			}
+		} finally {
+			display.dispose();
+		}
+	}
+
+	private void run(Display display, int rowCount) {
+		Shell shell = new Shell(display);
+		shell.setLayout(new FillLayout());
+		shell.setSize(800, 600);
+		Table table = new Table(shell, SWT.VIRTUAL | SWT.MULTI | SWT.BORDER);
+		table.setHeaderVisible(true);
+		for (int i = 0; i < COLUMN_COUNT; i++) {
+			TableColumn column = new TableColumn(table, SWT.NONE);
+			column.setText("Column " + i);
+			column.setWidth(200);
+		}
+		table.addListener(SWT.SetData, event -> {
+			TableItem item = (TableItem) event.item;
+			for (int i = 0; i < COLUMN_COUNT; i++) {
+				item.setText(i, "Item " + event.index + " / " + i);
+			}
+		});
+		shell.open();
+		processEvents(display);
+
+		long start = System.nanoTime();
+		table.setItemCount(rowCount);
+		long setItemCount = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		processEvents(display);
+		long firstPaint = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		table.clearAll();
+		processEvents(display);
+		long clearAll = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		table.removeAll();
+		processEvents(display);
+		long removeAll = System.nanoTime() - start;
+
+		System.out.println(String.format("%,12d rows  setItemCount: %,15d ns  first paint: %,15d ns  clearAll: %,15d ns  removeAll: %,15d ns",
+				rowCount, setItemCount, firstPaint, clearAll, removeAll));
+		shell.dispose();
+	}
+
+	private static void processEvents(Display display) {
+		while (display.readAndDispatch()) {
+			// process pending paint and SetData events
+		}
+	}
+}
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit.performance;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.reflect.Method;
+import java.util.function.IntFunction;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.tests.junit.SwtTestUtil;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Shell;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestName;
+
+/**
+ * Verifies that the deferred event queue of the display scales linearly with
+ * the number of queued events.
+ */
+public class Test_org_eclipse_swt_widgets_Display {
+	@Rule
+	public final TestName name = new TestName();
+	private Display display;
+	private Shell shell;
+	private Method postEvent;
+	private Method runDeferredEvents;
+	private int received;
+
+	@Before
+	public void setUp() throws ReflectiveOperationException {
+		assumeTrue("Deferred event queue is a ring buffer on GTK only", SwtTestUtil.isGTK);
+		display = Display.getDefault();
+		shell = new Shell(display);
+		shell.addListener(SWT.Modify, event -> received++);
+		postEvent = Display.class.getDeclaredMethod("postEvent", Event.class);
+		postEvent.setAccessible(true);
+		runDeferredEvents = Display.class.getDeclaredMethod("runDeferredEvents");
+		runDeferredEvents.setAccessible(true);
+	}
+
+	@After
+	public void tearDown() {
+		if (shell != null) shell.dispose();
+	}
+
+	@Test
+	public void postAndRunDeferredEvents() {
+		assertMaximumDegree(1.3, n -> measureNanos(() -> {
+			received = 0;
+			for (int i = 0; i < n; i++) {
+				post(shell);
+			}
+			runDeferred();
+			assertEquals(n, received);
+		}));
+	}
+
+	@Test
+	public void postWhileRunningDeferredEvents() {
+		// every delivered event posts two more, so the queue grows while it is drained
+		assertMaximumDegree(1.3, n -> {
+			Shell reposting = new Shell(display);
+			try {
+				int[] remaining = { n };
+				reposting.addListener(SWT.Modify, event -> {
+					if (--remaining[0] > 0) {
+						post(reposting);
+						post(reposting);
+					}
+				});
+				return measureNanos(() -> {
+					post(reposting);
+					runDeferred();
+				});
+			} finally {
+				reposting.dispose();
+			}
+		});
+	}
+
+	private void assertMaximumDegree(double maximumDegree, IntFunction<Double> function) {
+		int elementCount[] = new int[] { 10_000, 100_000 };
+		function.apply(elementCount[0]); // warmup
+		double elapsed[] = new double[] { function.apply(elementCount[0]), 0 };
+		elapsed[1] = function.apply(elementCount[1]);
+		double degree = Math.log(elapsed[1] / elapsed[0]) / Math.log(elementCount[1] / elementCount[0]);
+		String error = String.format(
+				"Execution time should grow as %f degree polynom. \nTime for %d elements: %f ns\nTime for %d elements: %f ns\nDegree: %f\n",
+				maximumDegree, elementCount[0], elapsed[0], elementCount[1], elapsed[1], degree);
+		System.out.println(name.getMethodName() + "\n" + error);
+		assertTrue(error, degree < maximumDegree);
+	}
+
+	private double measureNanos(Runnable runnable) {
+		long start = System.nanoTime();
+		runnable.run();
+		return System.nanoTime() - start;
+	}
+
+	private void post(Shell target) {
+		Event event = new Event();
+		event.type = SWT.Modify;
+		event.display = display;
+		event.widget = target;
+		try {
+			postEvent.invoke(display, event);
+		} catch (ReflectiveOperationException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	private void runDeferred() {
+		try {
+			runDeferredEvents.invoke(display);
+		} catch (ReflectiveOperationException e) {
+			throw new AssertionError(e);
+		}
+	}
+}
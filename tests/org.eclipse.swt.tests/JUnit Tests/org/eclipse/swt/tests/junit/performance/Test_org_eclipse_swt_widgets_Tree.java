@@ -184,6 +184,25 @@ public class Test_org_eclipse_swt_widgets_Tree {
 		});
 	}
 
+	@Test
+	public void repopulate() {
+		// Bug 548982 and bug 575787: items added with redraw enabled, reusing the ids of removed items
+		assertMaximumDegree(1.2, n -> {
+			Tree tree = new Tree(shell, virtual ? SWT.VIRTUAL : SWT.NONE);
+			shell.layout();
+			TreeItem root = new TreeItem(tree, SWT.NONE);
+			root.setItemCount(n);
+			return measureNanos(() -> {
+				root.removeAll();
+				for (int i = 0; i < n; i++) {
+					initializeItem(new TreeItem(root, SWT.NONE, i));
+				}
+				root.setItemCount(0);
+				root.setItemCount(n);
+			});
+		});
+	}
+
 	@Test
 	public void traverse() {
 		assertMaximumDegree(2.1, n -> {
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.manual;
+
+import java.util.function.Supplier;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.dnd.Clipboard;
+import org.eclipse.swt.dnd.ImageTransfer;
+import org.eclipse.swt.dnd.TextTransfer;
+import org.eclipse.swt.dnd.Transfer;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Shell;
+
+/**
+ * Copies text and a large image with content providers, which print when
+ * they are asked for their data, and pastes text without blocking the UI.
+ * <ol>
+ * <li>Press "Copy": nothing is printed yet.</li>
+ * <li>Paste text in another application: only the text provider is called.</li>
+ * <li>Press "Paste": the label shows the text, the counter keeps running
+ * while another application takes its time to provide the text.</li>
+ * </ol>
+ */
+public class SnippetClipboardAsync {
+
+	public static void main(String[] args) {
+		Display display = new Display();
+		Shell shell = new Shell(display);
+		shell.setLayout(new GridLayout(3, false));
+		Clipboard clipboard = new Clipboard(display);
+
+		Button copy = new Button(shell, SWT.PUSH);
+		copy.setText("Copy");
+		copy.addListener(SWT.Selection, e -> {
+			Supplier<String> text = () -> {
+				System.out.println("text requested");
+				return "Hello World";
+			};
+			Supplier<ImageData> image = () -> {
+				System.out.println("image requested");
+				Image picture = new Image(display, 2000, 2000);
+				GC gc = new GC(picture);
+				gc.drawText("Hello World", 10, 10);
+				gc.dispose();
+				ImageData data = picture.getImageData();
+				picture.dispose();
+				return data;
+			};
+			clipboard.setContentProviders(new Supplier<?>[] { text, image },
+					new Transfer[] { TextTransfer.getInstance(), ImageTransfer.getInstance() });
+		});
+
+		Label pasted = new Label(shell, SWT.NONE);
+		pasted.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false));
+		Button paste = new Button(shell, SWT.PUSH);
+		paste.setText("Paste");
+		paste.addListener(SWT.Selection, e -> {
+			pasted.setText("...");
+			clipboard.getContentsAsync(TextTransfer.getInstance()).whenComplete((data, error) -> {
+				if (!pasted.isDisposed()) pasted.setText(error != null ? error.toString() : String.valueOf(data));
+			});
+		});
+
+		Label counter = new Label(shell, SWT.NONE);
+		counter.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false, 3, 1));
+		Runnable tick = new Runnable() {
+			int count;
+			@Override
+			public void run() {
+				if (counter.isDisposed()) return;
+				counter.setText("UI is responsive: " + count++);
+				display.timerExec(100, this);
+			}
+		};
+		tick.run();
+
+		shell.setSize(400, 150);
+		shell.open();
+		while (!shell.isDisposed()) {
+			if (!display.readAndDispatch()) display.sleep();
+		}
+		clipboard.dispose();
+		display.dispose();
+	}
+}